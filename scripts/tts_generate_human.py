@@ -21,6 +21,7 @@ import sys
 import json
 import random
 import re
+import struct
 import wave
 import numpy as np
 from pathlib import Path
@@ -730,6 +731,114 @@ class EmotionalVoiceEngine:
         return output_path
 
 
+# ============================================================================
+# RESIDENT WORKER MODE - Used by the Java TTSWorkerPool
+# ============================================================================
+
+# Frame types shared with TTSProtocol.java
+# Requests (java -> worker)
+FRAME_SYNTHESIZE = 1
+# Responses (worker -> java)
+FRAME_READY = 0
+FRAME_AUDIO = 1
+FRAME_ERROR = 2
+
+SAMPLE_RATE = 22050
+MAX_FRAME_BYTES = 16 * 1024 * 1024
+
+
+def read_exact(stream, n):
+    """Read exactly n bytes, or return None on a clean end of stream."""
+    data = b''
+    while len(data) < n:
+        chunk = stream.read(n - len(data))
+        if not chunk:
+            if data:
+                raise EOFError('truncated frame')
+            return None
+        data += chunk
+    return data
+
+
+def read_request(stream):
+    """
+    Read one request frame: u32 length, u8 type, then text, emotion, urgency and
+    relationship as u32-length-prefixed UTF-8 strings (all big-endian).
+    Returns None when the Java side closes the pipe.
+    """
+    header = read_exact(stream, 4)
+    if header is None:
+        return None
+    (length,) = struct.unpack('>I', header)
+    if length > MAX_FRAME_BYTES:
+        raise ValueError(f'request frame too large: {length} bytes')
+    payload = read_exact(stream, length)
+    if payload is None:
+        raise EOFError('truncated frame')
+
+    frame_type = payload[0]
+    if frame_type != FRAME_SYNTHESIZE:
+        raise ValueError(f'unknown request type: {frame_type}')
+
+    fields = []
+    offset = 1
+    for _ in range(4):
+        (size,) = struct.unpack_from('>I', payload, offset)
+        offset += 4
+        fields.append(payload[offset:offset + size].decode('utf-8'))
+        offset += size
+    return fields
+
+
+def write_frame(stream, frame_type, body=b''):
+    """Write one response frame: u32 length, u8 type, body."""
+    stream.write(struct.pack('>IB', len(body) + 1, frame_type))
+    stream.write(body)
+    stream.flush()
+
+
+def to_pcm16(audio):
+    """Convert float samples in [-1, 1] to 16-bit little-endian PCM bytes."""
+    return (np.clip(audio, -1.0, 1.0) * 32767).astype('<i2').tobytes()
+
+
+def serve(model_name, use_gpu=False):
+    """
+    Run as a long-lived worker that loads the TTS model once and then
+    synthesizes requests read from stdin.
+
+    Requests and responses use the length-prefixed binary framing described
+    in TTSProtocol.java. Audio is returned as raw PCM (u32 sample rate,
+    u16 channels, u16 bits per sample, then 16-bit little-endian samples),
+    so nothing is written to disk.
+
+    Everything else the engine prints is redirected to stderr so stdout
+    carries protocol frames only.
+    """
+    protocol_in = sys.stdin.buffer
+    protocol_out = sys.stdout.buffer
+    sys.stdout = sys.stderr
+
+    engine = EmotionalVoiceEngine(model_name=model_name, use_gpu=use_gpu)
+    write_frame(protocol_out, FRAME_READY)
+
+    while True:
+        request = read_request(protocol_in)
+        if request is None:
+            break
+        text, emotion, urgency, relationship = request
+        try:
+            audio = engine.synthesize(text, emotion, True, urgency, relationship)
+            body = struct.pack('>IHH', SAMPLE_RATE, 1, 16) + to_pcm16(audio)
+            write_frame(protocol_out, FRAME_AUDIO, body)
+        except Exception as e:
+            message = str(e)
+            print(f"ERROR: {message}", file=sys.stderr)
+            write_frame(protocol_out, FRAME_ERROR, message.encode('utf-8'))
+
+    return 0
+
+
 # ============================================================================
 # COMMAND LINE INTERFACE
 # ============================================================================
@@ -754,6 +863,9 @@ Examples:
   # List available emotions
   python3 tts_generate_human.py --list-emotions
   
+  # Resident worker mode (used by the Java worker pool)
+  python3 tts_generate_human.py --server
+  
 Available emotions: """ + ', '.join(EMOTION_PROFILES.keys())
     )
     
@@ -777,6 +889,8 @@ Available emotions: """ + ', '.join(EMOTION_PROFILES.keys())
                        help='Disable micro-variations for consistent output')
     parser.add_argument('--list-emotions', action='store_true',
                        help='List available emotion profiles')
+    parser.add_argument('--server', action='store_true',
+                       help='Run as a resident worker reading requests from stdin')
     
     args = parser.parse_args()
     
@@ -793,6 +907,14 @@ Available emotions: """ + ', '.join(EMOTION_PROFILES.keys())
         print("Relationship Stages: hostile, curious, cooperative")
         return 0
     
+    # Resident worker mode keeps the model loaded between requests
+    if args.server:
+        if not TTS_AVAILABLE:
+            print("ERROR: TTS library not installed. Install with:", file=sys.stderr)
+            print("  pip install TTS", file=sys.stderr)
+            return 1
+        return serve(args.model, args.gpu)
+    
     # Validate required arguments
     if not args.text or not args.output:
         parser.error("--text and --output are required (unless using --list-emotions)")
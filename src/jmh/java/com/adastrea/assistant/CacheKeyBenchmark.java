@@ -0,0 +1,44 @@
+package com.adastrea.assistant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the TTS cache key derivation in CoquiTTSAudioManager, which
+ * runs for every spoken line (bank lookup, coalescing and cache lookup).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheKeyBenchmark {
+
+    @Param({
+        "Warning! Oxygen at 25%.",
+        "Oxygen is essential for survival in space. Monitor your oxygen meter and refill at oxygen "
+            + "stations or return to your spacecraft."
+    })
+    public String text;
+
+    @Benchmark
+    public String generateHash() {
+        return CoquiTTSAudioManager.generateHash(text + "worried" + "high" + "cooperative");
+    }
+
+    @Benchmark
+    public String cacheKey() {
+        return CoquiTTSAudioManager.cacheKey(text, "worried", "high", "cooperative");
+    }
+}
@@ -0,0 +1,54 @@
+package com.adastrea.assistant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks ContextTracker recording in steady state: the history is
+ * filled first, so every call also evicts the oldest entry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextTrackerBenchmark {
+
+    private ContextTracker tracker;
+
+    @Setup
+    public void setUp() {
+        tracker = new ContextTracker();
+        for (int i = 0; i < 100; i++) {
+            tracker.recordInteraction("Player", "Warm-up message " + i, ContextTracker.InteractionType.PLAYER_QUERY);
+            tracker.recordEvent("warmup", "Warm-up event " + i, ContextTracker.EventSeverity.LOW);
+        }
+    }
+
+    @Benchmark
+    public void recordInteraction() {
+        tracker.recordInteraction("Player", "How much oxygen do I have left?",
+            ContextTracker.InteractionType.PLAYER_QUERY);
+    }
+
+    @Benchmark
+    public void recordEvent() {
+        tracker.recordEvent("low_oxygen", "Oxygen at 25%", ContextTracker.EventSeverity.HIGH);
+    }
+
+    @Benchmark
+    public boolean wasRecentlyDiscussed() {
+        return tracker.wasRecentlyDiscussed("oxygen");
+    }
+}
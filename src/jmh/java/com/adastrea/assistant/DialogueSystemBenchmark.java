@@ -0,0 +1,48 @@
+package com.adastrea.assistant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks DialogueSystem.generateResponse for each relationship stage,
+ * with a query that matches an early keyword and one that falls through to
+ * the default reply.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DialogueSystemBenchmark {
+
+    @Param({"HOSTILE", "CURIOUS", "COOPERATIVE"})
+    public RelationshipStage stage;
+
+    @Param({"Can you help me?", "What should I build next to my base on this moon?"})
+    public String query;
+
+    private DialogueSystem dialogueSystem;
+
+    @Setup
+    public void setUp() {
+        dialogueSystem = new DialogueSystem();
+        dialogueSystem.setCurrentStage(stage);
+    }
+
+    @Benchmark
+    public String generateResponse() {
+        return dialogueSystem.generateResponse(query);
+    }
+}
@@ -0,0 +1,102 @@
+package com.adastrea.assistant;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the GameStateIntegration event handlers.
+ *
+ * The "suppressed" benchmarks repeat a reading that keeps the current alert
+ * level, which is what a game polling every tick mostly hits. The "fired"
+ * benchmarks alternate a reading across the hysteresis band, with the
+ * warning cooldowns disabled, so every operation is one silent recovery
+ * plus one warning taking the full path: context recording, speech
+ * scheduling and subtitles. Console output is discarded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameStateIntegrationBenchmark {
+
+    private AIAssistant assistant;
+    private GameStateIntegration integration;
+    private GameStateIntegration firedIntegration;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        QuietConsole.silence();
+        assistant = new AIAssistant("Mittenz");
+        integration = new GameStateIntegration(assistant);
+        // Start every cooldown so later calls are suppressed
+        integration.onLowOxygen(25, 120);
+        integration.onLowHealth(40, "radiation");
+        integration.onTemperatureWarning(120.0, true);
+
+        firedIntegration = new GameStateIntegration(assistant);
+        WarningCooldowns cooldowns = firedIntegration.getWarningCooldowns();
+        // Cooldowns belong to the mailbox, which drains on this thread
+        assistant.post(() -> {
+            cooldowns.setCooldown(cooldowns.getId("oxygen"), 0, TimeUnit.MILLISECONDS);
+            cooldowns.setCooldown(cooldowns.getId("temperature"), 0, TimeUnit.MILLISECONDS);
+        });
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        QuietConsole.restore();
+    }
+
+    @Benchmark
+    public void lowOxygenSuppressed() {
+        integration.onLowOxygen(25, 120);
+    }
+
+    @Benchmark
+    public void lowHealthSuppressed() {
+        integration.onLowHealth(40, "radiation");
+    }
+
+    @Benchmark
+    public void lowOxygenFired() {
+        // Above the warning threshold plus hysteresis, then back below it
+        firedIntegration.onLowOxygen(40, 300);
+        firedIntegration.onLowOxygen(25, 120);
+    }
+
+    @Benchmark
+    public void temperatureFired() {
+        firedIntegration.onTemperatureWarning(90.0, false);
+        firedIntegration.onTemperatureWarning(120.0, true);
+    }
+
+    @Benchmark
+    public void locationEntered() {
+        integration.onLocationEntered("Kepler Station", "space_station");
+    }
+
+    @Benchmark
+    public void discovery() {
+        integration.onDiscovery("mineral", "Titanium Ore");
+    }
+
+    @Benchmark
+    public void itemCrafted() {
+        integration.onItemCrafted("Oxygen Tank", false);
+    }
+}
@@ -0,0 +1,30 @@
+package com.adastrea.assistant;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Silences System.out while a benchmark runs. The assistant's placeholder
+ * audio and visual managers print every line they handle, and measuring
+ * console I/O would swamp the code under test.
+ */
+final class QuietConsole {
+    private static PrintStream original;
+
+    private QuietConsole() {
+    }
+
+    static synchronized void silence() {
+        if (original == null) {
+            original = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+
+    static synchronized void restore() {
+        if (original != null) {
+            System.setOut(original);
+            original = null;
+        }
+    }
+}
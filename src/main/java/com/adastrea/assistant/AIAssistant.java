@@ -3,10 +3,19 @@ package com.adastrea.assistant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 /**
  * Main AI Assistant class that coordinates audio, visual, and dialogue components
  * to provide companionship, reminders, and teaching to players in-game.
+ *
+ * The assistant's state is not synchronized. Code running on other threads
+ * (game tick threads, TTS completions) should hand work to the assistant's
+ * {@link AssistantMailbox} with {@link #post(Runnable)} or
+ * {@link #submit(Supplier)}, which run it one task at a time without locking
+ * or blocking the caller. GameStateIntegration does this for every event.
  */
 public class AIAssistant {
     private final AudioManager audioManager;
@@ -15,6 +24,12 @@ public class AIAssistant {
     private final ReminderSystem reminderSystem;
     private final TeachingSystem teachingSystem;
     private final ContextTracker contextTracker;
+    private final SpeechScheduler speechScheduler;
+    private final AssistantMailbox mailbox;
+    private final AssistantMetrics.Counter speakCount;
+    private final AssistantMetrics.Counter queryCount;
+    private final AssistantMetrics.Histogram queryNanos;
+    private final AssistantMetrics.Histogram speechQueueDepth;
     private boolean isEnabled;
     private String assistantName;
     private int interactionCount;
@@ -25,13 +40,45 @@ public class AIAssistant {
     }
 
     public AIAssistant(String name) {
+        this(name, new AudioManager());
+    }
+
+    /**
+     * Create an assistant that speaks through the given audio manager
+     * @param name The assistant's name
+     * @param audioManager The audio backend (e.g. a CoquiTTSAudioManager)
+     */
+    public AIAssistant(String name, AudioManager audioManager) {
+        this(name, audioManager, new DialogueSystem(), new TeachingSystem(), new ContextTracker(),
+            new AssistantMailbox());
+    }
+
+    /**
+     * Create an assistant from prepared components. Used by AssistantHub to
+     * give every session its own mutable state around shared content.
+     * @param name The assistant's name
+     * @param audioManager The audio backend
+     * @param dialogueSystem The session's dialogue system
+     * @param teachingSystem The teaching system (may be shared)
+     * @param contextTracker The session's context tracker
+     * @param mailbox The mailbox that serializes the session's work
+     */
+    AIAssistant(String name, AudioManager audioManager, DialogueSystem dialogueSystem,
+                TeachingSystem teachingSystem, ContextTracker contextTracker, AssistantMailbox mailbox) {
         this.assistantName = name;
-        this.audioManager = new AudioManager();
+        this.audioManager = audioManager;
         this.visualManager = new VisualManager();
-        this.dialogueSystem = new DialogueSystem();
+        this.dialogueSystem = dialogueSystem;
         this.reminderSystem = new ReminderSystem();
-        this.teachingSystem = new TeachingSystem();
-        this.contextTracker = new ContextTracker();
+        this.teachingSystem = teachingSystem;
+        this.contextTracker = contextTracker;
+        this.speechScheduler = new SpeechScheduler(audioManager);
+        this.mailbox = mailbox;
+        AssistantMetrics metrics = AssistantMetrics.getDefault();
+        this.speakCount = metrics.counter("assistant.speak");
+        this.queryCount = metrics.counter("assistant.queries");
+        this.queryNanos = metrics.histogram("assistant.query.nanos");
+        this.speechQueueDepth = metrics.histogram("assistant.speech.queue.depth");
         this.isEnabled = true;
         this.interactionCount = 0;
         this.profile = null;
@@ -57,6 +104,35 @@ public class AIAssistant {
         return profile;
     }
 
+    /**
+     * Run an action on the assistant's mailbox. Safe to call from any thread;
+     * never blocks.
+     * @param action The action, which may use the assistant freely
+     */
+    public void post(Runnable action) {
+        mailbox.execute(action);
+    }
+
+    /**
+     * Run an action that produces a result on the assistant's mailbox. Safe
+     * to call from any thread; never blocks.
+     * @param action The action, which may use the assistant freely
+     * @param <T> The result type
+     * @return Future completing with the action's result
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> action) {
+        return mailbox.submit(action);
+    }
+
+    /**
+     * Respond to a player query from any thread
+     * @param query The player's question or statement
+     * @return Future completing with the assistant's response
+     */
+    public CompletableFuture<String> respondToQueryAsync(String query) {
+        return submit(() -> respondToQuery(query));
+    }
+
     /**
      * Initialize the assistant and greet the player
      */
@@ -69,12 +145,26 @@ public class AIAssistant {
     }
 
     /**
-     * Make the assistant speak a message
+     * Make the assistant speak a message at normal (MEDIUM) priority
      * @param message The message to speak
      */
     public void speak(String message) {
+        speak(message, ContextTracker.EventSeverity.MEDIUM);
+    }
+
+    /**
+     * Make the assistant speak a message. Lines are spoken one at a time in
+     * severity order; a CRITICAL line cuts off queued INFO/LOW chatter.
+     * @param message The message to speak
+     * @param severity How urgent the message is
+     */
+    public void speak(String message, ContextTracker.EventSeverity severity) {
         if (isEnabled) {
-            audioManager.playVoice(message);
+            // Voice delivery follows the current relationship stage
+            audioManager.setRelationshipStage(getRelationshipStage());
+            speechScheduler.submit(message, severity);
+            speakCount.increment();
+            speechQueueDepth.record(speechScheduler.getQueuedCount());
             visualManager.showSubtitle(message);
             
             // Track in context
@@ -89,7 +179,7 @@ public class AIAssistant {
     public void provideCompanionDialogue() {
         if (isEnabled) {
             String dialogue = dialogueSystem.getRandomCompanionDialogue();
-            speak(dialogue);
+            speak(dialogue, ContextTracker.EventSeverity.INFO);
             trackInteraction();
         }
     }
@@ -120,6 +210,16 @@ public class AIAssistant {
         reminderSystem.addReminder(message, delayMinutes);
     }
 
+    /**
+     * Speak reminders as soon as they are due instead of waiting for
+     * checkReminders() to be polled. When a reminder comes due the timer posts
+     * checkReminders() to this assistant's mailbox.
+     * @param timer The scheduler for the reminder timer, or null to go back to polling
+     */
+    public void enableReminderPush(ScheduledExecutorService timer) {
+        reminderSystem.setDueCallback(timer, () -> post(this::checkReminders));
+    }
+
     /**
      * Check and trigger any pending reminders
      */
@@ -141,6 +241,8 @@ public class AIAssistant {
         if (!isEnabled) {
             return "";
         }
+        long start = System.nanoTime();
+        queryCount.increment();
         
         // Track player query in context
         contextTracker.recordInteraction("Player", query, 
@@ -149,6 +251,7 @@ public class AIAssistant {
         String response = dialogueSystem.generateResponse(query);
         speak(response);
         trackInteraction();
+        queryNanos.recordSince(start);
         return response;
     }
 
@@ -314,4 +417,12 @@ public class AIAssistant {
     public ContextTracker getContextTracker() {
         return contextTracker;
     }
+
+    public SpeechScheduler getSpeechScheduler() {
+        return speechScheduler;
+    }
+
+    public AssistantMailbox getMailbox() {
+        return mailbox;
+    }
 }
@@ -0,0 +1,22 @@
+package com.adastrea.assistant;
+
+/**
+ * How far a monitored player reading (oxygen, health, temperature) is from safe.
+ * Levels are declared from least to most severe.
+ */
+public enum AlertLevel {
+    /**
+     * The reading is in its safe range
+     */
+    NORMAL,
+    
+    /**
+     * The reading has crossed its warning threshold
+     */
+    WARNING,
+    
+    /**
+     * The reading has crossed its critical threshold
+     */
+    CRITICAL
+}
@@ -17,6 +17,16 @@ public class AssistantConfig {
     private int subtitleDuration;
     private int companionDialogueIntervalMinutes;
     private String assistantName;
+    private int ttsWorkerCount;
+    private int ttsCacheMemoryMb;
+    private int ttsCacheDiskMb;
+    private int ttsExecutorThreads;
+    private int ttsExecutorQueueCapacity;
+    private String ttsExecutorRejectionPolicy;
+    private boolean ttsExecutorVirtualThreads;
+    private boolean ttsStreaming;
+    private int contextInteractionHistory;
+    private int contextRecentEvents;
 
     public AssistantConfig() {
         // Default settings
@@ -27,6 +37,16 @@ public class AssistantConfig {
         this.subtitleDuration = 5000;
         this.companionDialogueIntervalMinutes = 10;
         this.assistantName = "Assistant";
+        this.ttsWorkerCount = 2;
+        this.ttsCacheMemoryMb = 32;
+        this.ttsCacheDiskMb = 256;
+        this.ttsExecutorThreads = 2;
+        this.ttsExecutorQueueCapacity = 32;
+        this.ttsExecutorRejectionPolicy = "abort";
+        this.ttsExecutorVirtualThreads = false;
+        this.ttsStreaming = true;
+        this.contextInteractionHistory = ContextTracker.DEFAULT_INTERACTION_HISTORY;
+        this.contextRecentEvents = ContextTracker.DEFAULT_RECENT_EVENTS;
     }
 
     public boolean isEnabled() {
@@ -85,6 +105,86 @@ public class AssistantConfig {
         this.assistantName = assistantName;
     }
 
+    public int getTtsWorkerCount() {
+        return ttsWorkerCount;
+    }
+
+    public void setTtsWorkerCount(int ttsWorkerCount) {
+        this.ttsWorkerCount = ttsWorkerCount;
+    }
+
+    public int getTtsCacheMemoryMb() {
+        return ttsCacheMemoryMb;
+    }
+
+    public void setTtsCacheMemoryMb(int ttsCacheMemoryMb) {
+        this.ttsCacheMemoryMb = ttsCacheMemoryMb;
+    }
+
+    public int getTtsCacheDiskMb() {
+        return ttsCacheDiskMb;
+    }
+
+    public void setTtsCacheDiskMb(int ttsCacheDiskMb) {
+        this.ttsCacheDiskMb = ttsCacheDiskMb;
+    }
+
+    public int getTtsExecutorThreads() {
+        return ttsExecutorThreads;
+    }
+
+    public void setTtsExecutorThreads(int ttsExecutorThreads) {
+        this.ttsExecutorThreads = ttsExecutorThreads;
+    }
+
+    public int getTtsExecutorQueueCapacity() {
+        return ttsExecutorQueueCapacity;
+    }
+
+    public void setTtsExecutorQueueCapacity(int ttsExecutorQueueCapacity) {
+        this.ttsExecutorQueueCapacity = ttsExecutorQueueCapacity;
+    }
+
+    public String getTtsExecutorRejectionPolicy() {
+        return ttsExecutorRejectionPolicy;
+    }
+
+    public void setTtsExecutorRejectionPolicy(String ttsExecutorRejectionPolicy) {
+        this.ttsExecutorRejectionPolicy = ttsExecutorRejectionPolicy;
+    }
+
+    public boolean isTtsExecutorVirtualThreads() {
+        return ttsExecutorVirtualThreads;
+    }
+
+    public void setTtsExecutorVirtualThreads(boolean ttsExecutorVirtualThreads) {
+        this.ttsExecutorVirtualThreads = ttsExecutorVirtualThreads;
+    }
+
+    public boolean isTtsStreaming() {
+        return ttsStreaming;
+    }
+
+    public void setTtsStreaming(boolean ttsStreaming) {
+        this.ttsStreaming = ttsStreaming;
+    }
+
+    public int getContextInteractionHistory() {
+        return contextInteractionHistory;
+    }
+
+    public void setContextInteractionHistory(int contextInteractionHistory) {
+        this.contextInteractionHistory = contextInteractionHistory;
+    }
+
+    public int getContextRecentEvents() {
+        return contextRecentEvents;
+    }
+
+    public void setContextRecentEvents(int contextRecentEvents) {
+        this.contextRecentEvents = contextRecentEvents;
+    }
+
     /**
      * Load configuration from a properties file
      * @param propertiesPath Path to the properties file
@@ -121,6 +221,18 @@ public class AssistantConfig {
         this.subtitleDuration = Integer.parseInt(props.getProperty("assistant.visual.subtitle.duration", "5000"));
         this.companionDialogueIntervalMinutes = Integer.parseInt(props.getProperty("assistant.companion.interval.minutes", "10"));
         this.assistantName = props.getProperty("assistant.name", "Assistant");
+        this.ttsWorkerCount = Integer.parseInt(props.getProperty("assistant.tts.workers", "2"));
+        this.ttsCacheMemoryMb = Integer.parseInt(props.getProperty("assistant.tts.cache.memory.mb", "32"));
+        this.ttsCacheDiskMb = Integer.parseInt(props.getProperty("assistant.tts.cache.disk.mb", "256"));
+        this.ttsExecutorThreads = Integer.parseInt(props.getProperty("assistant.tts.executor.threads", "2"));
+        this.ttsExecutorQueueCapacity = Integer.parseInt(props.getProperty("assistant.tts.executor.queue", "32"));
+        this.ttsExecutorRejectionPolicy = props.getProperty("assistant.tts.executor.rejection", "abort");
+        this.ttsExecutorVirtualThreads = Boolean.parseBoolean(props.getProperty("assistant.tts.executor.virtual", "false"));
+        this.ttsStreaming = Boolean.parseBoolean(props.getProperty("assistant.tts.streaming", "true"));
+        this.contextInteractionHistory = Integer.parseInt(props.getProperty("assistant.context.interactions",
+            String.valueOf(ContextTracker.DEFAULT_INTERACTION_HISTORY)));
+        this.contextRecentEvents = Integer.parseInt(props.getProperty("assistant.context.events",
+            String.valueOf(ContextTracker.DEFAULT_RECENT_EVENTS)));
     }
 
     /**
@@ -137,6 +249,16 @@ public class AssistantConfig {
         props.setProperty("assistant.visual.subtitle.duration", String.valueOf(subtitleDuration));
         props.setProperty("assistant.companion.interval.minutes", String.valueOf(companionDialogueIntervalMinutes));
         props.setProperty("assistant.name", assistantName);
+        props.setProperty("assistant.tts.workers", String.valueOf(ttsWorkerCount));
+        props.setProperty("assistant.tts.cache.memory.mb", String.valueOf(ttsCacheMemoryMb));
+        props.setProperty("assistant.tts.cache.disk.mb", String.valueOf(ttsCacheDiskMb));
+        props.setProperty("assistant.tts.executor.threads", String.valueOf(ttsExecutorThreads));
+        props.setProperty("assistant.tts.executor.queue", String.valueOf(ttsExecutorQueueCapacity));
+        props.setProperty("assistant.tts.executor.rejection", ttsExecutorRejectionPolicy);
+        props.setProperty("assistant.tts.executor.virtual", String.valueOf(ttsExecutorVirtualThreads));
+        props.setProperty("assistant.tts.streaming", String.valueOf(ttsStreaming));
+        props.setProperty("assistant.context.interactions", String.valueOf(contextInteractionHistory));
+        props.setProperty("assistant.context.events", String.valueOf(contextRecentEvents));
 
         try (FileOutputStream fos = new FileOutputStream(propertiesPath)) {
             props.store(fos, "Adastrea AI Assistant Configuration");
@@ -0,0 +1,376 @@
+package com.adastrea.assistant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Hosts one assistant session per player in a single JVM.
+ *
+ * Content that never changes per player is created once and shared by every
+ * session: the dialogue corpus, the teaching system, Mittenz's precomputed
+ * companion tables and the clip cache behind each session's AudioManager.
+ * Sessions get a plain AudioManager by default. To voice them with Coqui TTS
+ * on one set of workers, pass an audio manager factory such as
+ * {@code cache -> voice.newSession()}, where {@code voice} is a
+ * CoquiTTSAudioManager whose cache is also given to the hub.
+ * Each session keeps only its mutable state: relationship stage and skill,
+ * context, reminders, notifications and the speech queue.
+ *
+ * Sessions are addressed by int handles. A handle packs the session's slot
+ * with a generation counter, so a handle to a closed session is rejected even
+ * after its slot has been reused. Slots of closed sessions are recycled.
+ *
+ * The hub's methods are thread-safe. A session's AIAssistant is not: hand
+ * work to it from other threads with AIAssistant.post or submit, which queue
+ * it on the session's mailbox. Mailboxes are drained on the hub's mailbox
+ * executor, by default the submitting thread.
+ */
+public class AssistantHub {
+    // Handle layout: generation in the high bits, slot in the low SLOT_BITS
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = Integer.MAX_VALUE >>> SLOT_BITS;
+    /** Maximum number of open sessions */
+    public static final int MAX_SESSIONS = 1 << SLOT_BITS;
+
+    // Footprint estimate: 64-bit layout with 16-byte headers and 8-byte references
+    private static final long OBJECT_HEADER_BYTES = 16;
+    private static final long REFERENCE_BYTES = 8;
+    // Assistant, managers, scheduler, tracker and their empty collections
+    private static final long SESSION_BASE_BYTES = 1536;
+    // Map entry, BitSet and word String per indexed word
+    private static final long INDEXED_WORD_BYTES = 128;
+
+    private final AssistantConfig config;
+    private final DialogueCorpus corpus;
+    private final TeachingSystem teachingSystem;
+    private final AudioCache audioCache;
+    private final Map<RelationshipStage, List<List<String>>> mittenzTables;
+    private final Executor mailboxExecutor;
+    private final Function<AudioCache, AudioManager> audioManagerFactory;
+
+    private AIAssistant[] sessions;
+    private int[] generations;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotsUsed;
+    private int sessionCount;
+
+    public AssistantHub() {
+        this(new AssistantConfig(), DialogueCorpus.getDefault());
+    }
+
+    /**
+     * Create a hub
+     * @param config Settings applied to every session (e.g. context window sizes)
+     * @param corpus The dialogue corpus shared by every session
+     */
+    public AssistantHub(AssistantConfig config, DialogueCorpus corpus) {
+        this(config, corpus, new AudioCache(AudioManager.DEFAULT_CACHE_BYTES));
+    }
+
+    /**
+     * Create a hub
+     * @param config Settings applied to every session
+     * @param corpus The dialogue corpus shared by every session
+     * @param audioCache The clip cache shared by every session's AudioManager
+     */
+    public AssistantHub(AssistantConfig config, DialogueCorpus corpus, AudioCache audioCache) {
+        this(config, corpus, audioCache, Runnable::run);
+    }
+
+    /**
+     * Create a hub
+     * @param config Settings applied to every session
+     * @param corpus The dialogue corpus shared by every session
+     * @param audioCache The clip cache shared by every session's AudioManager
+     * @param mailboxExecutor Executor that drains session mailboxes (e.g. a
+     *                        shared pool, so game threads never run assistant work)
+     */
+    public AssistantHub(AssistantConfig config, DialogueCorpus corpus, AudioCache audioCache,
+                        Executor mailboxExecutor) {
+        this(config, corpus, audioCache, mailboxExecutor, AudioManager::new);
+    }
+
+    /**
+     * Create a hub
+     * @param config Settings applied to every session
+     * @param corpus The dialogue corpus shared by every session
+     * @param audioCache The clip cache, passed to the audio manager factory
+     * @param mailboxExecutor Executor that drains session mailboxes
+     * @param audioManagerFactory Creates each session's AudioManager from the
+     *                            hub's clip cache (e.g. {@code cache -> voice.newSession()}
+     *                            for sessions sharing one CoquiTTSAudioManager's workers)
+     */
+    public AssistantHub(AssistantConfig config, DialogueCorpus corpus, AudioCache audioCache,
+                        Executor mailboxExecutor, Function<AudioCache, AudioManager> audioManagerFactory) {
+        this.config = config;
+        this.corpus = corpus;
+        this.teachingSystem = new TeachingSystem(corpus);
+        this.audioCache = audioCache;
+        this.mittenzTables = MittenzProfile.buildCompanionTables(corpus);
+        this.mailboxExecutor = mailboxExecutor;
+        this.audioManagerFactory = audioManagerFactory;
+        this.sessions = new AIAssistant[16];
+        this.generations = new int[16];
+        this.freeSlots = new int[16];
+    }
+
+    /**
+     * Open a session without a profile
+     * @param name The assistant's name
+     * @return The session handle
+     */
+    public int openSession(String name) {
+        return openSession(name, null);
+    }
+
+    /**
+     * Open a session with a Mittenz profile that shares the hub's tables
+     * @return The session handle
+     */
+    public int openMittenzSession() {
+        return openSession("Mittenz", new MittenzProfile(corpus, mittenzTables));
+    }
+
+    /**
+     * Open a session
+     * @param name The assistant's name
+     * @param profile The session's own profile, or null for none
+     * @return The session handle
+     * @throws IllegalStateException If MAX_SESSIONS sessions are open
+     */
+    public int openSession(String name, AssistantProfile profile) {
+        AIAssistant assistant = new AIAssistant(name, audioManagerFactory.apply(audioCache),
+            new DialogueSystem(corpus), teachingSystem, new ContextTracker(config),
+            new AssistantMailbox(mailboxExecutor));
+        assistant.setEnabled(config.isEnabled());
+        assistant.getAudioManager().setAudioEnabled(config.isAudioEnabled());
+        assistant.getAudioManager().setVolume(config.getVolume());
+        assistant.getVisualManager().setVisualEnabled(config.isVisualEnabled());
+        assistant.getVisualManager().setSubtitleDuration(config.getSubtitleDuration());
+        if (profile != null) {
+            assistant.setProfile(profile);
+        }
+        return register(assistant);
+    }
+
+    private synchronized int register(AIAssistant assistant) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotsUsed == MAX_SESSIONS) {
+                throw new IllegalStateException("Assistant hub is full (" + MAX_SESSIONS + " sessions)");
+            }
+            if (slotsUsed == sessions.length) {
+                int capacity = Math.min(sessions.length * 2, MAX_SESSIONS);
+                sessions = Arrays.copyOf(sessions, capacity);
+                generations = Arrays.copyOf(generations, capacity);
+            }
+            slot = slotsUsed++;
+        }
+        sessions[slot] = assistant;
+        sessionCount++;
+        return (generations[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Get a session's assistant
+     * @param handle The session handle
+     * @return The assistant
+     * @throws IllegalArgumentException If the handle is unknown or the session is closed
+     */
+    public synchronized AIAssistant getSession(int handle) {
+        int slot = slotOf(handle);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Unknown or closed session handle: " + handle);
+        }
+        return sessions[slot];
+    }
+
+    /**
+     * Check whether a handle refers to an open session
+     * @param handle The session handle
+     * @return true if the session is open
+     */
+    public synchronized boolean isOpen(int handle) {
+        return slotOf(handle) >= 0;
+    }
+
+    /**
+     * Close a session, dropping any speech it still has queued
+     * @param handle The session handle
+     * @return true if the session was open
+     */
+    public boolean closeSession(int handle) {
+        AIAssistant assistant;
+        synchronized (this) {
+            int slot = slotOf(handle);
+            if (slot < 0) {
+                return false;
+            }
+            assistant = sessions[slot];
+            sessions[slot] = null;
+            generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            sessionCount--;
+        }
+        assistant.getSpeechScheduler().clear();
+        return true;
+    }
+
+    /**
+     * Get the number of open sessions
+     * @return The session count
+     */
+    public synchronized int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Get the handles of every open session
+     * @return Array of session handles
+     */
+    public synchronized int[] getSessionHandles() {
+        int[] handles = new int[sessionCount];
+        int count = 0;
+        for (int slot = 0; slot < slotsUsed; slot++) {
+            if (sessions[slot] != null) {
+                handles[count++] = (generations[slot] << SLOT_BITS) | slot;
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Estimate the heap held by one session, excluding content shared through
+     * the hub. Counts the session's objects, its history and collection slots
+     * and the Strings they reference. Strings that are also in the shared
+     * corpus are counted too, so the estimate errs high.
+     *
+     * The session's state is read on its mailbox, so this waits for the
+     * session's queued work to finish.
+     * @param handle The session handle
+     * @return Estimated bytes
+     * @throws IllegalArgumentException If the handle is unknown or the session is closed
+     */
+    public long getSessionFootprint(int handle) {
+        return footprintOnMailbox(getSession(handle)).join();
+    }
+
+    /**
+     * Estimate the heap held by every open session together. Each session is
+     * measured on its own mailbox.
+     * @return Estimated bytes
+     */
+    public long getTotalFootprint() {
+        List<CompletableFuture<Long>> estimates = new ArrayList<>();
+        for (int handle : getSessionHandles()) {
+            AIAssistant assistant;
+            synchronized (this) {
+                int slot = slotOf(handle);
+                if (slot < 0) {
+                    continue;
+                }
+                assistant = sessions[slot];
+            }
+            estimates.add(footprintOnMailbox(assistant));
+        }
+        long total = 0;
+        for (CompletableFuture<Long> estimate : estimates) {
+            total += estimate.join();
+        }
+        return total;
+    }
+
+    public AssistantConfig getConfig() {
+        return config;
+    }
+
+    public DialogueCorpus getCorpus() {
+        return corpus;
+    }
+
+    public TeachingSystem getTeachingSystem() {
+        return teachingSystem;
+    }
+
+    public AudioCache getAudioCache() {
+        return audioCache;
+    }
+
+    private int slotOf(int handle) {
+        int slot = handle & SLOT_MASK;
+        if (handle < 0 || slot >= slotsUsed || sessions[slot] == null
+                || generations[slot] != handle >>> SLOT_BITS) {
+            return -1;
+        }
+        return slot;
+    }
+
+    /**
+     * Run the footprint estimate on the session's mailbox, which owns the
+     * state it reads. Called from one of the session's own tasks, the estimate
+     * runs directly instead, since queueing behind that task would never finish.
+     */
+    private static CompletableFuture<Long> footprintOnMailbox(AIAssistant assistant) {
+        if (assistant.getMailbox().isDrainingThread()) {
+            return CompletableFuture.completedFuture(estimateFootprint(assistant));
+        }
+        return assistant.submit(() -> estimateFootprint(assistant));
+    }
+
+    static long estimateFootprint(AIAssistant assistant) {
+        long bytes = SESSION_BASE_BYTES + stringBytes(assistant.getAssistantName());
+
+        ContextTracker context = assistant.getContextTracker();
+        // Ring buffer slots plus the keyword index's per-slot text
+        bytes += REFERENCE_BYTES * (2L * context.getInteractionHistoryCapacity() + context.getRecentEventsCapacity());
+        for (ContextTracker.Interaction interaction : context.getInteractionHistory()) {
+            // The message is held twice: as spoken and normalized in the keyword index
+            bytes += OBJECT_HEADER_BYTES + 3 * REFERENCE_BYTES + 8
+                + stringBytes(interaction.getSpeaker()) + 2 * stringBytes(interaction.getMessage());
+        }
+        for (ContextTracker.GameEvent event : context.getRecentEvents()) {
+            bytes += OBJECT_HEADER_BYTES + 3 * REFERENCE_BYTES + 8
+                + stringBytes(event.getEventType()) + stringBytes(event.getDescription());
+        }
+        bytes += INDEXED_WORD_BYTES * context.getIndexedWordCount();
+        bytes += 9L * context.getPlayerState().snapshot().asMap().size();
+        bytes += stringBytes(context.getCurrentLocation()) + stringBytes(context.getCurrentActivity());
+
+        for (ReminderSystem.Reminder reminder : assistant.getReminderSystem().getAllReminders()) {
+            // Reminder plus its LocalDateTime, LocalDate and LocalTime
+            bytes += 4 * OBJECT_HEADER_BYTES + 6 * REFERENCE_BYTES + stringBytes(reminder.getMessage());
+        }
+
+        VisualManager visual = assistant.getVisualManager();
+        for (String notification : visual.getActiveNotifications()) {
+            bytes += REFERENCE_BYTES + stringBytes(notification);
+        }
+        bytes += stringBytes(visual.getCurrentSubtitle());
+
+        bytes += assistant.getSpeechScheduler().getQueuedCount() * (OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES);
+
+        if (assistant.getProfile() instanceof MittenzProfile) {
+            for (String system : ((MittenzProfile) assistant.getProfile()).getLearnedSystems()) {
+                bytes += REFERENCE_BYTES + stringBytes(system);
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String s) {
+        // String object plus its backing array, at two bytes per char
+        return s == null ? 0 : 2 * OBJECT_HEADER_BYTES + 8 + 2L * s.length();
+    }
+}
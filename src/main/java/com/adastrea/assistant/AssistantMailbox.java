@@ -0,0 +1,117 @@
+package com.adastrea.assistant;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Serializes work for one assistant, actor style.
+ *
+ * Any thread may submit tasks; they run one at a time, in submission order,
+ * so the assistant's state is only ever touched by one thread at a time
+ * without taking locks. Submitting never blocks: the task goes onto a
+ * lock-free queue, and a work-in-progress counter elects exactly one drainer.
+ * The drainer runs on the mailbox's executor; with the default (the calling
+ * thread) the first submitter runs queued tasks until the queue is empty,
+ * while concurrent submitters return immediately.
+ *
+ * A task submitted from inside another task runs after it, never nested.
+ * Anything thrown by a task, Errors included, is reported and does not stop
+ * the mailbox.
+ */
+public class AssistantMailbox implements Executor {
+    private final Queue<Runnable> queue;
+    private final AtomicInteger wip;
+    private final Executor drainExecutor;
+    private volatile Thread drainer;
+
+    /**
+     * Create a mailbox drained by whichever thread submits to an idle mailbox
+     */
+    public AssistantMailbox() {
+        this(Runnable::run);
+    }
+
+    /**
+     * Create a mailbox drained on an executor
+     * @param drainExecutor Executor that runs the drain loop (e.g. a shared pool)
+     */
+    public AssistantMailbox(Executor drainExecutor) {
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.wip = new AtomicInteger();
+        this.drainExecutor = drainExecutor;
+    }
+
+    /**
+     * Queue a task
+     * @param task The task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        queue.offer(task);
+        if (wip.getAndIncrement() == 0) {
+            drainExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Queue a task that produces a result
+     * @param task The task to run
+     * @param <T> The result type
+     * @return Future completing with the task's result, or exceptionally if it throws
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        execute(() -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Check whether the calling thread is the one running the mailbox's tasks
+     * @return true if called from inside a task
+     */
+    public boolean isDrainingThread() {
+        return drainer == Thread.currentThread();
+    }
+
+    /**
+     * Check whether the mailbox has no queued or running tasks
+     * @return true if idle
+     */
+    public boolean isIdle() {
+        return wip.get() == 0;
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            drainer = Thread.currentThread();
+            Runnable task;
+            while ((task = queue.poll()) != null) {
+                run(task);
+            }
+            // Cleared before releasing: once wip reaches 0 another thread may start draining
+            drainer = null;
+            // Every counted submission has been run; exit unless more arrived meanwhile
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            // Errors too: one escaping drain() would leave wip raised and the mailbox stuck
+            AssistantOutput.err("[ERROR] Assistant task failed: " + e);
+        }
+    }
+}
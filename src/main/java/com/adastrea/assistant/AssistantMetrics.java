@@ -0,0 +1,318 @@
+package com.adastrea.assistant;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process metrics for the assistant: counters, latency histograms and gauges.
+ *
+ * Components look their metrics up by name once and keep the returned
+ * objects, so recording on a hot path is a LongAdder increment or an atomic
+ * bucket increment: no lookup, no lock and no allocation. {@link #snapshot()}
+ * reads everything into an immutable {@link Snapshot}, whose toString() is a
+ * plain "name value" export.
+ *
+ * The assistant's own components record to {@link #getDefault()}:
+ * - assistant.speak, assistant.queries: counters
+ * - assistant.query.nanos: respondToQuery latency
+ * - assistant.speech.queue.depth: speech queue depth seen by each speak()
+ * - tts.bank.hits, tts.cache.hits, tts.cache.misses, tts.coalesced, tts.failures: counters
+ * - tts.synthesis.nanos: Coqui synthesis latency, cache misses only
+ * - tts.inflight: gauge of lines being synthesized
+ * - warnings.given, warnings.suppressed: GameStateIntegration cooldown decisions
+ * - reminders.added, reminders.fired: counters
+ * - reminders.lateness.nanos: how long after its deadline a reminder was collected
+ */
+public class AssistantMetrics {
+    private static final AssistantMetrics DEFAULT = new AssistantMetrics();
+
+    private final Map<String, Counter> counters;
+    private final Map<String, Histogram> histograms;
+    private final Map<String, LongSupplier> gauges;
+
+    public AssistantMetrics() {
+        this.counters = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+        this.gauges = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the registry the assistant's components record to
+     * @return The process-wide registry
+     */
+    public static AssistantMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get or create a counter
+     * @param name The counter name
+     * @return The counter; the same instance for every call with this name
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Get or create a histogram
+     * @param name The histogram name (by convention ending in its unit, e.g. ".nanos")
+     * @return The histogram; the same instance for every call with this name
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Register a gauge, replacing any gauge with the same name
+     * @param name The gauge name
+     * @param value Read when a snapshot is taken; must be thread-safe
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Remove a gauge if it is still the one registered under its name
+     * @param name The gauge name
+     * @param value The gauge that was registered
+     */
+    public void removeGauge(String name, LongSupplier value) {
+        gauges.remove(name, value);
+    }
+
+    /**
+     * Read every metric. Each metric is read atomically enough for
+     * monitoring; metrics are not frozen against each other.
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsLong()));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new Snapshot(counterValues, gaugeValues, histogramValues);
+    }
+
+    /**
+     * Monotonic counter
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * Histogram of non-negative values with HDR-style log-linear buckets.
+     *
+     * Each power of two is split into 16 equal buckets,
+     * so a percentile is reported within 1/16 (about 6%) of the true value
+     * over the whole long range, in a fixed table of under a thousand
+     * buckets. Values below 32 are counted exactly. Negative values are
+     * recorded as 0.
+     */
+    public static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private Histogram() {
+        }
+
+        /**
+         * Record a value
+         * @param value The value (e.g. a latency in nanoseconds)
+         */
+        public void record(long value) {
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(bucketIndex(v));
+            sum.add(v);
+            max.accumulate(v);
+        }
+
+        /**
+         * Record the time elapsed since a System.nanoTime() reading
+         * @param startNanos The reading taken when the operation started
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        /**
+         * Read the histogram
+         * @return Immutable copy of the bucket counts
+         */
+        public HistogramSnapshot snapshot() {
+            long[] counts = new long[BUCKET_COUNT];
+            long count = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+                count += counts[i];
+            }
+            return new HistogramSnapshot(counts, count, sum.sum(), max.get());
+        }
+
+        static int bucketIndex(long value) {
+            if (value < 2 * SUB_BUCKETS) {
+                return (int) value;
+            }
+            // Keep the leading bit and the next SUB_BUCKET_BITS bits
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return SUB_BUCKETS * shift + (int) (value >>> shift);
+        }
+
+        static long bucketUpperBound(int index) {
+            if (index < 2 * SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+            return (mantissa << shift) + (1L << shift) - 1;
+        }
+    }
+
+    /**
+     * Immutable reading of a histogram
+     */
+    public static final class HistogramSnapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        private HistogramSnapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Get the mean of the recorded values
+         * @return The mean, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Get a percentile
+         * @param percentile The percentile, from 0 to 100 (e.g. 99.9)
+         * @return The highest value in the bucket holding the percentile, capped
+         *         at the maximum recorded; 0 if nothing was recorded
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(Histogram.bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+    }
+
+    /**
+     * Immutable reading of every metric, sorted by name
+     */
+    public static final class Snapshot {
+        private final Map<String, Long> counters;
+        private final Map<String, Long> gauges;
+        private final Map<String, HistogramSnapshot> histograms;
+
+        private Snapshot(Map<String, Long> counters, Map<String, Long> gauges,
+                         Map<String, HistogramSnapshot> histograms) {
+            this.counters = Collections.unmodifiableMap(counters);
+            this.gauges = Collections.unmodifiableMap(gauges);
+            this.histograms = Collections.unmodifiableMap(histograms);
+        }
+
+        public Map<String, Long> getCounters() {
+            return counters;
+        }
+
+        public Map<String, Long> getGauges() {
+            return gauges;
+        }
+
+        public Map<String, HistogramSnapshot> getHistograms() {
+            return histograms;
+        }
+
+        /**
+         * Get a counter's value
+         * @param name The counter name
+         * @return The value, or 0 if there is no such counter
+         */
+        public long getCounter(String name) {
+            return counters.getOrDefault(name, 0L);
+        }
+
+        /**
+         * Export as text, one "name value" line per metric. Histograms are
+         * written as name.count, name.mean, name.p50, name.p90, name.p99 and
+         * name.max lines.
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            counters.forEach((name, value) -> line(text, name, value));
+            gauges.forEach((name, value) -> line(text, name, value));
+            histograms.forEach((name, histogram) -> {
+                line(text, name + ".count", histogram.getCount());
+                line(text, name + ".mean", Math.round(histogram.getMean()));
+                line(text, name + ".p50", histogram.getPercentile(50));
+                line(text, name + ".p90", histogram.getPercentile(90));
+                line(text, name + ".p99", histogram.getPercentile(99));
+                line(text, name + ".max", histogram.getMax());
+            });
+            return text.toString();
+        }
+
+        private static void line(StringBuilder text, String name, long value) {
+            text.append(name).append(' ').append(value).append('\n');
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.adastrea.assistant;
+
+/**
+ * Where the assistant's console lines go.
+ *
+ * Lines are written to {@link OutputSink#CONSOLE} until another sink is set,
+ * e.g. an {@link AsyncOutputSink} on a busy server:
+ * <pre>
+ * AsyncOutputSink sink = new AsyncOutputSink();
+ * AssistantOutput.setSink(sink);
+ * ...
+ * sink.close(); // on shutdown, writes whatever is still queued
+ * </pre>
+ */
+public final class AssistantOutput {
+    private static volatile OutputSink sink = OutputSink.CONSOLE;
+
+    private AssistantOutput() {
+    }
+
+    /**
+     * Get the current sink
+     * @return The sink lines are written to
+     */
+    public static OutputSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Replace the sink. Lines already handed to the previous sink stay there.
+     * @param newSink The new sink, or null for the console
+     * @return The previous sink
+     */
+    public static OutputSink setSink(OutputSink newSink) {
+        OutputSink previous = sink;
+        sink = newSink == null ? OutputSink.CONSOLE : newSink;
+        return previous;
+    }
+
+    /**
+     * Write an informational line to the current sink
+     * @param line The line
+     */
+    public static void out(String line) {
+        sink.out(line);
+    }
+
+    /**
+     * Write a warning or error line to the current sink
+     * @param line The line
+     */
+    public static void err(String line) {
+        sink.err(line);
+    }
+}
@@ -58,10 +58,30 @@ public abstract class AssistantProfile {
     
     /**
      * Get profile-specific companion dialogues
-     * @return List of companion dialogue options
+     * @return List of companion dialogue options (may be unmodifiable)
      */
     public abstract List<String> getProfileCompanionDialogues();
     
+    /**
+     * Get the number of profile-specific companion dialogues. Profiles that
+     * keep precomputed lines should override this and
+     * {@link #getProfileCompanionDialogue(int)} so picking a line does not
+     * build a list.
+     * @return The number of companion dialogue options
+     */
+    public int getProfileCompanionDialogueCount() {
+        return getProfileCompanionDialogues().size();
+    }
+    
+    /**
+     * Get a profile-specific companion dialogue by index
+     * @param index Index from 0 to getProfileCompanionDialogueCount() - 1
+     * @return The companion dialogue
+     */
+    public String getProfileCompanionDialogue(int index) {
+        return getProfileCompanionDialogues().get(index);
+    }
+    
     /**
      * Check if the assistant has a specific ability
      * @param ability The ability to check for
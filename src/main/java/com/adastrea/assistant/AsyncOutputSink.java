@@ -0,0 +1,220 @@
+package com.adastrea.assistant;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Output sink that keeps console writes off the calling threads.
+ *
+ * Writers put their line into a bounded lock-free ring buffer and return
+ * immediately: a slot is claimed with one compare-and-set and published
+ * through its sequence number, so writers never take a lock or block. A single
+ * daemon thread drains the ring and writes everything queued to each stream
+ * as one batch, so the console's lock is taken once per batch instead of once
+ * per line.
+ *
+ * When the ring is full, lines are dropped rather than stalling the writer;
+ * {@link #getDroppedCount()} says how many. Lines keep their order within each
+ * stream.
+ */
+public class AsyncOutputSink implements OutputSink, AutoCloseable {
+    /** Ring capacity used when none is given */
+    public static final int DEFAULT_CAPACITY = 4096;
+    // How long the drain thread sleeps when the ring is empty
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final int mask;
+    private final String[] lines;
+    private final boolean[] errorLines;
+    // Slot i is free for claim number n when sequences[i] == n, and holds
+    // claim n's line when sequences[i] == n + 1
+    private final AtomicLongArray sequences;
+    private final AtomicLong claimed;
+    private final LongAdder dropped;
+    private final Thread drainThread;
+    private final StringBuilder outBatch;
+    private final StringBuilder errBatch;
+    private volatile long drained;
+    private volatile boolean closed;
+
+    /**
+     * Create a sink writing to System.out and System.err
+     */
+    public AsyncOutputSink() {
+        this(System.out, System.err, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a sink
+     * @param out Stream for informational lines
+     * @param err Stream for warning and error lines
+     * @param capacity Number of lines that can be queued; rounded up to a power of two
+     */
+    public AsyncOutputSink(PrintStream out, PrintStream err, int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.out = out;
+        this.err = err;
+        this.mask = size - 1;
+        this.lines = new String[size];
+        this.errorLines = new boolean[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.claimed = new AtomicLong();
+        this.dropped = new LongAdder();
+        this.outBatch = new StringBuilder();
+        this.errBatch = new StringBuilder();
+        this.drainThread = new Thread(this::drainLoop, "assistant-output");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @Override
+    public void out(String line) {
+        offer(line, false);
+    }
+
+    @Override
+    public void err(String line) {
+        offer(line, true);
+    }
+
+    /**
+     * Wait until every line queued so far has been written. Lines queued
+     * after close() has returned are written by the caller.
+     */
+    @Override
+    public void flush() {
+        long target = claimed.get();
+        while (drained - target < 0 && drainThread.isAlive()) {
+            LockSupport.unpark(drainThread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        if (!drainThread.isAlive()) {
+            synchronized (this) {
+                drainBatch();
+            }
+        }
+    }
+
+    /**
+     * Stop the drain thread after writing everything still queued
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Get the number of lines dropped because the ring was full
+     * @return The dropped line count
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Get the number of lines that can be queued
+     * @return The ring capacity
+     */
+    public int getCapacity() {
+        return lines.length;
+    }
+
+    private void offer(String line, boolean error) {
+        long claim = claimed.get();
+        int slot;
+        while (true) {
+            slot = (int) claim & mask;
+            long available = sequences.get(slot) - claim;
+            if (available == 0) {
+                if (claimed.compareAndSet(claim, claim + 1)) {
+                    break;
+                }
+                claim = claimed.get();
+            } else if (available < 0) {
+                // The slot still holds a line from one lap ago: the ring is full
+                dropped.increment();
+                return;
+            } else {
+                // Another writer took this claim number
+                claim = claimed.get();
+            }
+        }
+        lines[slot] = line;
+        errorLines[slot] = error;
+        sequences.set(slot, claim + 1);
+    }
+
+    private void drainLoop() {
+        while (true) {
+            boolean stopping = closed;
+            int written;
+            synchronized (this) {
+                written = drainBatch();
+            }
+            if (written == 0) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Write every published line as one batch per stream
+     * @return The number of lines written
+     */
+    private int drainBatch() {
+        long next = drained;
+        int count = 0;
+        while (true) {
+            int slot = (int) next & mask;
+            if (sequences.get(slot) != next + 1) {
+                break;
+            }
+            StringBuilder batch = errorLines[slot] ? errBatch : outBatch;
+            batch.append(lines[slot]).append(System.lineSeparator());
+            lines[slot] = null;
+            // Free the slot for the claim one lap ahead
+            sequences.set(slot, next + lines.length);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            write(out, outBatch);
+            write(err, errBatch);
+            drained = next;
+        }
+        return count;
+    }
+
+    private static void write(PrintStream stream, StringBuilder batch) {
+        if (batch.length() > 0) {
+            stream.print(batch);
+            stream.flush();
+            batch.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.adastrea.assistant;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only archive of audio clips, looked up by key.
+ *
+ * A bank is a single file: a fixed-size header, an open-addressing hash
+ * table with one slot per clip, the UTF-8 keys, and the raw PCM of every
+ * clip. Files are memory-mapped, so opening a bank costs one mmap instead of
+ * one open/read per clip, a lookup is a hash probe into the table, and the
+ * returned clip is a slice of the mapping (no copying). Banks are written by
+ * {@link AudioBankWriter}.
+ *
+ * Layout (big-endian):
+ * - header: u32 magic "ADAB", u16 version, u16 reserved, u32 clip count,
+ *   u32 slot count (a power of two)
+ * - slots, 32 bytes each: u64 key hash (0 = empty), u32 key offset,
+ *   u32 key length, u32 data offset, u32 data length, u32 sample rate,
+ *   u16 channels, u16 bits per sample (offsets are from start of file)
+ * - keys, then PCM data (little-endian samples, as in a WAV data chunk)
+ *
+ * Keys are hashed with 64-bit FNV-1a over their UTF-8 bytes and probed
+ * linearly.
+ */
+public class AudioBank {
+    static final int MAGIC = 0x41444142; // "ADAB"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 16;
+    static final int SLOT_BYTES = 32;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int slotMask;
+
+    private AudioBank(ByteBuffer buffer, int count, int slots) {
+        this.buffer = buffer;
+        this.count = count;
+        this.slotMask = slots - 1;
+    }
+
+    /**
+     * Memory-map a bank file.
+     *
+     * @param path The bank file
+     * @return The bank
+     * @throws IOException If the file cannot be mapped or is not a valid bank
+     */
+    public static AudioBank open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return fromBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Load a bank from a classpath resource. Resources on the file system
+     * (e.g. when running from the build directory) are memory-mapped; those
+     * inside a jar are read into memory once.
+     *
+     * @param resourcePath Absolute resource path (e.g. "/audio/clips.bank")
+     * @return The bank, or null if the resource does not exist
+     * @throws IOException If the resource is not a valid bank
+     */
+    public static AudioBank loadResource(String resourcePath) throws IOException {
+        URL url = AudioBank.class.getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return open(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                // Fall through to a stream read
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return fromBuffer(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    /**
+     * Wrap a bank image. Only the header is checked up front; clips are
+     * validated as they are looked up.
+     *
+     * @param buffer The bank bytes
+     * @return The bank
+     * @throws IOException If the data is not a valid bank
+     */
+    public static AudioBank fromBuffer(ByteBuffer buffer) throws IOException {
+        ByteBuffer bank = buffer.slice();
+        if (bank.remaining() < HEADER_BYTES || bank.getInt(0) != MAGIC) {
+            throw new IOException("Not an audio bank");
+        }
+        int version = bank.getShort(4) & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported audio bank version " + version + "; rebuild the bank");
+        }
+        int count = bank.getInt(8);
+        int slots = bank.getInt(12);
+        if (count < 0 || slots <= 0 || Integer.bitCount(slots) != 1 || count > slots
+                || HEADER_BYTES + (long) slots * SLOT_BYTES > bank.limit()) {
+            throw new IOException("Corrupt audio bank header");
+        }
+        return new AudioBank(bank, count, slots);
+    }
+
+    /**
+     * Look up a clip.
+     *
+     * @param key The clip key
+     * @return The clip (a view of the bank's memory), or null if the bank does not contain it
+     */
+    public SynthesizedAudio get(String key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        int base = slotBase(slot);
+        int offset = buffer.getInt(base + 16);
+        int length = buffer.getInt(base + 20);
+        if (offset < 0 || length < 0 || (long) offset + length > buffer.limit()) {
+            AssistantOutput.err("[WARNING] Audio bank clip out of range: " + key);
+            return null;
+        }
+        ByteBuffer pcm = buffer.duplicate();
+        pcm.position(offset).limit(offset + length);
+        return new SynthesizedAudio(buffer.getInt(base + 24), buffer.getShort(base + 28) & 0xFFFF,
+            buffer.getShort(base + 30) & 0xFFFF, pcm);
+    }
+
+    public boolean contains(String key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Get the number of clips in the bank
+     * @return The clip count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Get the keys of all clips in the bank
+     * @return Unmodifiable list of keys, in slot order
+     */
+    public List<String> keys() {
+        List<String> keys = new ArrayList<>(count);
+        for (int slot = 0; slot <= slotMask; slot++) {
+            int base = slotBase(slot);
+            if (buffer.getLong(base) != 0) {
+                byte[] key = new byte[buffer.getInt(base + 12)];
+                buffer.get(buffer.getInt(base + 8), key);
+                keys.add(new String(key, StandardCharsets.UTF_8));
+            }
+        }
+        return Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * Derive the bank key for a loose clip file: its directory name and file
+     * name without extension, e.g. "audio/greetings/hello.wav" becomes
+     * "greetings/hello".
+     *
+     * @param path Path to the clip file
+     * @return The bank key
+     */
+    public static String clipKey(String path) {
+        String normalized = path.replace('\\', '/');
+        int slash = normalized.lastIndexOf('/');
+        String name = normalized.substring(slash + 1);
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) {
+            name = name.substring(0, dot);
+        }
+        if (slash <= 0) {
+            return name;
+        }
+        String directory = normalized.substring(normalized.lastIndexOf('/', slash - 1) + 1, slash);
+        return directory + "/" + name;
+    }
+
+    /**
+     * Find the slot holding a key.
+     *
+     * @return The slot index, or -1 if the key is not in the bank
+     */
+    private int find(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+        int slot = (int) hash & slotMask;
+        for (int probes = 0; probes <= slotMask; probes++) {
+            int base = slotBase(slot);
+            long stored = buffer.getLong(base);
+            if (stored == 0) {
+                return -1;
+            }
+            if (stored == hash && keyEquals(base, bytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        return -1;
+    }
+
+    private boolean keyEquals(int base, byte[] key) {
+        int offset = buffer.getInt(base + 8);
+        int length = buffer.getInt(base + 12);
+        if (length != key.length || offset < 0 || (long) offset + length > buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slotBase(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    /**
+     * 64-bit FNV-1a. Never returns 0, which marks an empty slot.
+     */
+    static long hash(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+}
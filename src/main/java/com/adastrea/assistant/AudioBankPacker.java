@@ -0,0 +1,69 @@
+package com.adastrea.assistant;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Build-time tool that packs the loose clip WAVs under
+ * src/main/resources/audio/{dialogue,greetings,notifications,sounds} into a
+ * single {@link AudioBank}. Clips are keyed by {@link AudioBank#clipKey(String)},
+ * e.g. "greetings/hello".
+ *
+ * Run via the Gradle task: gradle packAudioBank (runs before processResources)
+ * Usage: AudioBankPacker &lt;audioDir&gt; &lt;output.bank&gt;
+ */
+public class AudioBankPacker {
+    // Directories under the audio resource root that hold shipped clips
+    static final String[] CLIP_DIRECTORIES = {"dialogue", "greetings", "notifications", "sounds"};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AudioBankPacker <audioDir> <output.bank>");
+            System.exit(2);
+        }
+        int packed = pack(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("[SUCCESS] Packed " + packed + " clips into " + args[1]);
+    }
+
+    /**
+     * Pack every PCM WAV in the clip directories. Files that are not PCM WAVs
+     * are skipped with a warning.
+     *
+     * @param audioDir The audio resource root
+     * @param output The bank file to write
+     * @return The number of clips packed
+     * @throws IOException If a directory cannot be listed or the bank cannot be written
+     */
+    public static int pack(Path audioDir, Path output) throws IOException {
+        AudioBankWriter writer = new AudioBankWriter();
+        for (String directory : CLIP_DIRECTORIES) {
+            Path dir = audioDir.resolve(directory);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.wav")) {
+                for (Path file : stream) {
+                    files.add(file);
+                }
+            }
+            // Stable order so the bank is reproducible
+            Collections.sort(files);
+            for (Path file : files) {
+                try {
+                    writer.add(AudioBank.clipKey(audioDir.relativize(file).toString()), SynthesizedAudio.readWav(file));
+                } catch (IOException e) {
+                    System.err.println("[WARNING] Skipping " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        writer.write(output);
+        return writer.size();
+    }
+}
@@ -0,0 +1,158 @@
+package com.adastrea.assistant;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an {@link AudioBank} file from individual clips.
+ */
+public class AudioBankWriter {
+    private final Map<String, SynthesizedAudio> clips;
+
+    public AudioBankWriter() {
+        this.clips = new LinkedHashMap<>();
+    }
+
+    /**
+     * Add a clip. Adding a key twice replaces the earlier clip.
+     *
+     * @param key The cache key the clip is looked up by
+     * @param audio The clip
+     */
+    public void add(String key, SynthesizedAudio audio) {
+        if (key.getBytes(StandardCharsets.UTF_8).length > 0xFFFF) {
+            throw new IllegalArgumentException("Audio bank key too long: " + key);
+        }
+        clips.put(key, audio);
+    }
+
+    /**
+     * Get the number of clips added so far
+     * @return The clip count
+     */
+    public int size() {
+        return clips.size();
+    }
+
+    /**
+     * Write the bank to a file. The file is written under a temporary name and
+     * moved into place, so a running game never sees a partial bank.
+     *
+     * @param path The destination file
+     * @throws IOException If the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            write(out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write the bank to a stream.
+     *
+     * @param stream The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+
+        // Keep the table at most half full so probes stay short
+        int slots = Integer.highestOneBit(Math.max(1, clips.size() * 2 - 1)) << 1;
+        byte[][] keys = new byte[clips.size()][];
+        int i = 0;
+        long keyBytes = 0;
+        for (String key : clips.keySet()) {
+            keys[i] = key.getBytes(StandardCharsets.UTF_8);
+            keyBytes += keys[i].length;
+            i++;
+        }
+        long keysStart = AudioBank.HEADER_BYTES + (long) slots * AudioBank.SLOT_BYTES;
+        // Align PCM to 8 bytes
+        long dataStart = (keysStart + keyBytes + 7) & ~7L;
+
+        // Place every clip in the hash table
+        long[] slotHash = new long[slots];
+        int[] slotClip = new int[slots];
+        i = 0;
+        for (byte[] key : keys) {
+            long hash = AudioBank.hash(key);
+            int slot = (int) hash & (slots - 1);
+            while (slotHash[slot] != 0) {
+                slot = (slot + 1) & (slots - 1);
+            }
+            slotHash[slot] = hash;
+            slotClip[slot] = i++;
+        }
+
+        List<SynthesizedAudio> audio = new ArrayList<>(clips.values());
+        long[] keyOffsets = new long[keys.length];
+        long[] dataOffsets = new long[keys.length];
+        long keyOffset = keysStart;
+        long dataOffset = dataStart;
+        for (i = 0; i < keys.length; i++) {
+            keyOffsets[i] = keyOffset;
+            keyOffset += keys[i].length;
+            dataOffsets[i] = dataOffset;
+            dataOffset += audio.get(i).getByteCount();
+        }
+        if (dataOffset > Integer.MAX_VALUE) {
+            throw new IOException("Audio bank exceeds 2 GB");
+        }
+
+        out.writeInt(AudioBank.MAGIC);
+        out.writeShort(AudioBank.VERSION);
+        out.writeShort(0);
+        out.writeInt(clips.size());
+        out.writeInt(slots);
+
+        for (int slot = 0; slot < slots; slot++) {
+            if (slotHash[slot] == 0) {
+                out.write(new byte[AudioBank.SLOT_BYTES]);
+                continue;
+            }
+            int clip = slotClip[slot];
+            SynthesizedAudio entry = audio.get(clip);
+            out.writeLong(slotHash[slot]);
+            out.writeInt((int) keyOffsets[clip]);
+            out.writeInt(keys[clip].length);
+            out.writeInt((int) dataOffsets[clip]);
+            out.writeInt(entry.getByteCount());
+            out.writeInt(entry.getSampleRate());
+            out.writeShort(entry.getChannels());
+            out.writeShort(entry.getBitsPerSample());
+        }
+
+        for (byte[] key : keys) {
+            out.write(key);
+        }
+        out.write(new byte[(int) (dataStart - keysStart - keyBytes)]);
+
+        byte[] chunk = new byte[8192];
+        for (SynthesizedAudio entry : audio) {
+            ByteBuffer pcm = entry.getPcm();
+            while (pcm.hasRemaining()) {
+                int n = Math.min(chunk.length, pcm.remaining());
+                pcm.get(chunk, 0, n);
+                out.write(chunk, 0, n);
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,424 @@
+package com.adastrea.assistant;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Two-tier cache for decoded audio clips.
+ *
+ * The memory tier is an LRU of decoded PCM bounded by total bytes, so cache
+ * hits need no filesystem access at all. The optional disk tier keeps clips
+ * as WAV files in a directory, also bounded by total bytes with least recently
+ * used files deleted first. Clips evicted from memory are re-read from disk on
+ * the next request and promoted back into memory.
+ *
+ * Clips can also be registered from external files (e.g. shipped resources).
+ * Those are loaded into memory but never deleted by disk eviction.
+ *
+ * Read-only {@link AudioBank}s can be attached as well. They are checked after
+ * the memory tier; bank clips are views of the mapped bank, so they are served
+ * without copying and are not counted against the memory budget. A registered
+ * path that is not on disk falls back to the bank clip with the same
+ * {@link AudioBank#clipKey(String) clip key}.
+ *
+ * All methods are thread-safe. File I/O happens outside the cache lock.
+ */
+public class AudioCache {
+    private static final String FILE_SUFFIX = ".wav";
+
+    private final long memoryCapacityBytes;
+    private final Path diskDirectory;
+    private final long diskCapacityBytes;
+
+    private final LinkedHashMap<String, SynthesizedAudio> memory;
+    private final LinkedHashMap<String, Long> disk;
+    private final Map<String, String> registered;
+    private final Map<String, String> bankAliases;
+    private final List<AudioBank> banks;
+    private long memoryBytes;
+    private long diskBytes;
+
+    private long memoryHits;
+    private long diskHits;
+    private long bankHits;
+    private long misses;
+    private long memoryEvictions;
+    private long diskEvictions;
+
+    /**
+     * Create a memory-only cache.
+     *
+     * @param memoryCapacityBytes Maximum total PCM bytes kept in memory
+     */
+    public AudioCache(long memoryCapacityBytes) {
+        this(memoryCapacityBytes, null, 0);
+    }
+
+    /**
+     * Create a cache with a memory tier and a disk tier. Existing WAV files in
+     * the directory are adopted, oldest first, and trimmed to the disk budget.
+     *
+     * @param memoryCapacityBytes Maximum total PCM bytes kept in memory
+     * @param diskDirectory Directory for the disk tier, or null for memory only
+     * @param diskCapacityBytes Maximum total file bytes kept on disk
+     */
+    public AudioCache(long memoryCapacityBytes, Path diskDirectory, long diskCapacityBytes) {
+        this.memoryCapacityBytes = Math.max(0, memoryCapacityBytes);
+        this.diskDirectory = diskDirectory;
+        this.diskCapacityBytes = Math.max(0, diskCapacityBytes);
+        this.memory = new LinkedHashMap<>(16, 0.75f, true);
+        this.disk = new LinkedHashMap<>(16, 0.75f, true);
+        this.registered = new HashMap<>();
+        this.bankAliases = new HashMap<>();
+        this.banks = new ArrayList<>();
+
+        if (diskDirectory != null) {
+            loadDiskIndex();
+        }
+    }
+
+    /**
+     * Look up a clip, checking memory first and then disk.
+     *
+     * @param key The cache key
+     * @return The decoded clip, or null on a miss
+     */
+    public SynthesizedAudio get(String key) {
+        Path file;
+        synchronized (this) {
+            SynthesizedAudio audio = memory.get(key);
+            if (audio != null) {
+                memoryHits++;
+                return audio;
+            }
+            audio = findInBanks(bankAliases.getOrDefault(key, key));
+            if (audio != null) {
+                bankHits++;
+                return audio;
+            }
+            file = locateFile(key);
+            if (file == null) {
+                misses++;
+                return null;
+            }
+        }
+
+        SynthesizedAudio audio;
+        try {
+            audio = SynthesizedAudio.readWav(file);
+        } catch (IOException e) {
+            synchronized (this) {
+                misses++;
+                // Drop unreadable files we own so they are regenerated
+                Long size = disk.remove(key);
+                if (size != null) {
+                    diskBytes -= size;
+                    deleteQuietly(file);
+                }
+            }
+            return null;
+        }
+
+        synchronized (this) {
+            diskHits++;
+            putInMemory(key, audio);
+        }
+        return audio;
+    }
+
+    /**
+     * Store a clip in memory and, if a disk tier is configured, on disk.
+     * The file is written atomically so readers never see a partial clip.
+     *
+     * @param key The cache key (also used as the file name on disk)
+     * @param audio The clip to cache
+     */
+    public void put(String key, SynthesizedAudio audio) {
+        synchronized (this) {
+            putInMemory(key, audio);
+        }
+        if (diskDirectory == null || diskCapacityBytes == 0) {
+            return;
+        }
+
+        Path file = diskDirectory.resolve(key + FILE_SUFFIX);
+        try {
+            audio.writeWav(file);
+        } catch (IOException e) {
+            AssistantOutput.err("[WARNING] Could not write cached audio " + file + ": " + e.getMessage());
+            return;
+        }
+
+        long size = audio.getByteCount() + 44L;
+        synchronized (this) {
+            Long previous = disk.put(key, size);
+            diskBytes += size - (previous == null ? 0 : previous);
+            evictDisk();
+        }
+    }
+
+    /**
+     * Register an external audio file under a key. If the file exists and is a
+     * PCM WAV it is decoded into the memory tier right away.
+     *
+     * @param key The cache key
+     * @param audioPath Path to the audio file
+     */
+    public void register(String key, String audioPath) {
+        synchronized (this) {
+            registered.put(key, audioPath);
+            SynthesizedAudio stale = memory.remove(key);
+            if (stale != null) {
+                memoryBytes -= stale.getByteCount();
+            }
+        }
+
+        Path file = Paths.get(audioPath);
+        if (!Files.isRegularFile(file)) {
+            // Loose file not shipped; serve the packed copy if a bank has one
+            String clipKey = AudioBank.clipKey(audioPath);
+            synchronized (this) {
+                if (findInBanks(clipKey) != null) {
+                    bankAliases.put(key, clipKey);
+                }
+            }
+        } else {
+            try {
+                SynthesizedAudio audio = SynthesizedAudio.readWav(file);
+                synchronized (this) {
+                    putInMemory(key, audio);
+                }
+            } catch (IOException e) {
+                // Not a PCM WAV; the path is still available via getLocation
+            }
+        }
+    }
+
+    /**
+     * Attach a read-only bank. Banks are searched in the order they were added;
+     * attaching a bank that is already attached has no effect.
+     *
+     * @param bank The bank to attach
+     */
+    public synchronized void addBank(AudioBank bank) {
+        if (!banks.contains(bank)) {
+            banks.add(bank);
+        }
+    }
+
+    /**
+     * Get the file backing a key, if any.
+     *
+     * @param key The cache key
+     * @return The registered path or the disk tier file path, or null if none
+     */
+    public synchronized String getLocation(String key) {
+        String path = registered.get(key);
+        if (path != null) {
+            return path;
+        }
+        // get() rather than containsKey() so the lookup refreshes disk recency
+        if (diskDirectory != null && disk.get(key) != null) {
+            return diskDirectory.resolve(key + FILE_SUFFIX).toString();
+        }
+        return null;
+    }
+
+    /**
+     * Check whether a key is held in either tier without counting a hit or miss.
+     *
+     * @param key The cache key
+     * @return true if the key is cached
+     */
+    public synchronized boolean contains(String key) {
+        return memory.containsKey(key) || findInBanks(bankAliases.getOrDefault(key, key)) != null
+            || registered.containsKey(key) || (diskDirectory != null && disk.containsKey(key));
+    }
+
+    /**
+     * Remove all clips from memory. Disk files are kept.
+     */
+    public synchronized void clearMemory() {
+        memory.clear();
+        memoryBytes = 0;
+    }
+
+    /**
+     * Get a snapshot of the cache counters.
+     *
+     * @return The current statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(memoryHits, diskHits, bankHits, misses, memoryEvictions, diskEvictions,
+            memory.size(), memoryBytes, disk.size(), diskBytes);
+    }
+
+    public long getMemoryCapacityBytes() {
+        return memoryCapacityBytes;
+    }
+
+    public long getDiskCapacityBytes() {
+        return diskCapacityBytes;
+    }
+
+    public Path getDiskDirectory() {
+        return diskDirectory;
+    }
+
+    private SynthesizedAudio findInBanks(String key) {
+        for (AudioBank bank : banks) {
+            SynthesizedAudio audio = bank.get(key);
+            if (audio != null) {
+                return audio;
+            }
+        }
+        return null;
+    }
+
+    private Path locateFile(String key) {
+        String path = registered.get(key);
+        if (path != null) {
+            return Paths.get(path);
+        }
+        if (diskDirectory != null && disk.get(key) != null) {
+            return diskDirectory.resolve(key + FILE_SUFFIX);
+        }
+        return null;
+    }
+
+    private void putInMemory(String key, SynthesizedAudio audio) {
+        long size = audio.getByteCount();
+        if (size > memoryCapacityBytes) {
+            return;
+        }
+        SynthesizedAudio previous = memory.put(key, audio);
+        memoryBytes += size - (previous == null ? 0 : previous.getByteCount());
+
+        Iterator<Map.Entry<String, SynthesizedAudio>> it = memory.entrySet().iterator();
+        while (memoryBytes > memoryCapacityBytes && it.hasNext()) {
+            Map.Entry<String, SynthesizedAudio> eldest = it.next();
+            it.remove();
+            memoryBytes -= eldest.getValue().getByteCount();
+            memoryEvictions++;
+        }
+    }
+
+    private void evictDisk() {
+        Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+        while (diskBytes > diskCapacityBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            diskBytes -= eldest.getValue();
+            diskEvictions++;
+            deleteQuietly(diskDirectory.resolve(eldest.getKey() + FILE_SUFFIX));
+        }
+    }
+
+    /**
+     * Adopt WAV files left by earlier runs, least recently modified first.
+     */
+    private void loadDiskIndex() {
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.createDirectories(diskDirectory);
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(diskDirectory, "*" + FILE_SUFFIX)) {
+                for (Path file : stream) {
+                    files.add(file);
+                }
+            }
+            files.sort((a, b) -> Long.compare(lastModified(a), lastModified(b)));
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long size = Files.size(file);
+                disk.put(name.substring(0, name.length() - FILE_SUFFIX.length()), size);
+                diskBytes += size;
+            }
+        } catch (IOException e) {
+            AssistantOutput.err("[WARNING] Could not index audio cache directory: " + e.getMessage());
+        }
+        evictDisk();
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for the next startup scan to trim
+        }
+    }
+
+    /**
+     * Point-in-time cache statistics.
+     */
+    public static class Stats {
+        private final long memoryHits;
+        private final long diskHits;
+        private final long bankHits;
+        private final long misses;
+        private final long memoryEvictions;
+        private final long diskEvictions;
+        private final int memoryEntries;
+        private final long memoryBytes;
+        private final int diskEntries;
+        private final long diskBytes;
+
+        public Stats(long memoryHits, long diskHits, long bankHits, long misses, long memoryEvictions,
+                     long diskEvictions, int memoryEntries, long memoryBytes, int diskEntries, long diskBytes) {
+            this.memoryHits = memoryHits;
+            this.diskHits = diskHits;
+            this.bankHits = bankHits;
+            this.misses = misses;
+            this.memoryEvictions = memoryEvictions;
+            this.diskEvictions = diskEvictions;
+            this.memoryEntries = memoryEntries;
+            this.memoryBytes = memoryBytes;
+            this.diskEntries = diskEntries;
+            this.diskBytes = diskBytes;
+        }
+
+        public long getMemoryHits() { return memoryHits; }
+        public long getDiskHits() { return diskHits; }
+        public long getBankHits() { return bankHits; }
+        public long getMisses() { return misses; }
+        public long getMemoryEvictions() { return memoryEvictions; }
+        public long getDiskEvictions() { return diskEvictions; }
+        public int getMemoryEntries() { return memoryEntries; }
+        public long getMemoryBytes() { return memoryBytes; }
+        public int getDiskEntries() { return diskEntries; }
+        public long getDiskBytes() { return diskBytes; }
+
+        /**
+         * Fraction of lookups served from memory, a bank or disk
+         * @return Hit rate between 0.0 and 1.0
+         */
+        public double getHitRate() {
+            long hits = memoryHits + diskHits + bankHits;
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d (memory %d, bank %d, disk %d) misses=%d memory=%d clips/%d B disk=%d clips/%d B",
+                memoryHits + bankHits + diskHits, memoryHits, bankHits, diskHits, misses,
+                memoryEntries, memoryBytes, diskEntries, diskBytes);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.adastrea.assistant;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages audio playback for the AI assistant including voice synthesis and sound effects.
@@ -10,18 +10,37 @@ import java.util.Map;
  * Minecraft mod integration, extend this class and override playVoice() and playSoundEffect()
  * to implement actual TTS and sound playback using Minecraft's sound system.
  * 
- * The audioCache is reserved for future use by integrators who want to implement
- * audio preloading functionality.
+ * Preloaded clips are held in an {@link AudioCache}, which subclasses can
+ * configure with a disk tier (see CoquiTTSAudioManager). The packed clip bank
+ * (/audio/clips.bank, built by AudioBankPacker) is attached to every cache, so
+ * shipped clips are served from a single mapping instead of per-file reads.
  */
 public class AudioManager {
+    // Default memory budget for preloaded clips
+    static final long DEFAULT_CACHE_BYTES = 16L * 1024 * 1024;
+    private static final String CLIP_BANK_RESOURCE = "/audio/clips.bank";
+
     private boolean audioEnabled;
     private float volume;
-    private Map<String, String> audioCache;
+    private RelationshipStage relationshipStage;
+    private final AudioCache audioCache;
 
     public AudioManager() {
+        this(new AudioCache(DEFAULT_CACHE_BYTES));
+    }
+
+    /**
+     * Create an audio manager backed by the given clip cache
+     * @param audioCache The cache used for preloaded and generated clips
+     */
+    protected AudioManager(AudioCache audioCache) {
         this.audioEnabled = true;
         this.volume = 1.0f;
-        this.audioCache = new HashMap<>();
+        this.relationshipStage = RelationshipStage.COOPERATIVE;
+        this.audioCache = audioCache;
+        if (ClipBankHolder.BANK != null) {
+            audioCache.addBank(ClipBankHolder.BANK);
+        }
     }
 
     /**
@@ -34,7 +53,23 @@ public class AudioManager {
         }
         // Placeholder implementation - outputs to console
         // In a real implementation, override this method to use TTS API
-        System.out.println("[AUDIO] Assistant speaks: " + message);
+        AssistantOutput.out("[AUDIO] Assistant speaks: " + message);
+    }
+
+    /**
+     * Play a voice message and report when it has finished. Used by the
+     * SpeechScheduler to speak one line at a time. The default implementation
+     * plays synchronously via playVoice(); subclasses that synthesize in the
+     * background should override this and may use the severity to shape
+     * delivery. Cancelling the returned future should stop the line if it
+     * has not started playing yet.
+     * @param message The message to speak
+     * @param severity The urgency of the message
+     * @return Future completing when playback has finished
+     */
+    public CompletableFuture<Void> playVoiceAsync(String message, ContextTracker.EventSeverity severity) {
+        playVoice(message);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -45,16 +80,17 @@ public class AudioManager {
         if (!audioEnabled) {
             return;
         }
-        System.out.println("[AUDIO] Playing sound: " + soundName);
+        AssistantOutput.out("[AUDIO] Playing sound: " + soundName);
     }
 
     /**
-     * Preload audio for faster playback (reserved for future use by integrators)
+     * Preload audio for faster playback. PCM WAV files are decoded into the
+     * memory cache immediately.
      * @param key The cache key
      * @param audioPath The path to the audio file
      */
     public void preloadAudio(String key, String audioPath) {
-        audioCache.put(key, audioPath);
+        audioCache.register(key, audioPath);
     }
 
     /**
@@ -63,9 +99,26 @@ public class AudioManager {
      * @return The audio path, or null if not found
      */
     public String getPreloadedAudio(String key) {
+        return audioCache.getLocation(key);
+    }
+
+    /**
+     * Get a decoded clip from the cache
+     * @param key The cache key
+     * @return The decoded clip, or null if it is not cached or not a PCM WAV
+     */
+    public SynthesizedAudio getCachedAudio(String key) {
         return audioCache.get(key);
     }
 
+    /**
+     * Get the clip cache backing this manager
+     * @return The audio cache
+     */
+    public AudioCache getAudioCache() {
+        return audioCache;
+    }
+
     public boolean isAudioEnabled() {
         return audioEnabled;
     }
@@ -74,6 +127,24 @@ public class AudioManager {
         this.audioEnabled = enabled;
     }
 
+    /**
+     * Get the relationship stage the voice is currently pitched for
+     * @return The current relationship stage
+     */
+    public RelationshipStage getRelationshipStage() {
+        return relationshipStage;
+    }
+
+    /**
+     * Set the relationship stage used to shape voice delivery
+     * @param stage The relationship stage (ignored if null)
+     */
+    public void setRelationshipStage(RelationshipStage stage) {
+        if (stage != null) {
+            this.relationshipStage = stage;
+        }
+    }
+
     public float getVolume() {
         return volume;
     }
@@ -81,4 +152,20 @@ public class AudioManager {
     public void setVolume(float volume) {
         this.volume = Math.max(0.0f, Math.min(1.0f, volume));
     }
+
+    /**
+     * Loads the shared clip bank once, on first use
+     */
+    private static class ClipBankHolder {
+        static final AudioBank BANK = load();
+
+        private static AudioBank load() {
+            try {
+                return AudioBank.loadResource(CLIP_BANK_RESOURCE);
+            } catch (IOException e) {
+                AssistantOutput.err("[WARNING] Could not load clip bank: " + e.getMessage());
+                return null;
+            }
+        }
+    }
 }
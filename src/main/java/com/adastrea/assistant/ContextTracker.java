@@ -1,30 +1,66 @@
 package com.adastrea.assistant;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Tracks conversation context and recent interactions to enable context-aware responses.
  * Maintains short-term memory of recent events and player state for more natural dialogue.
+ * 
+ * Interactions and events are kept in fixed-capacity ring buffers, so recording is
+ * constant-time regardless of how large the windows are configured. The words of
+ * remembered interactions are kept in a KeywordIndex, so topic checks do not scan
+ * the history.
+ * 
+ * High-rate readings can be kept outside the tracker by a player state source,
+ * which copies its latest values into the player state whenever it is read.
  */
 public class ContextTracker {
     
-    private static final int MAX_INTERACTION_HISTORY = 10;
-    private static final int MAX_RECENT_EVENTS = 5;
+    static final int DEFAULT_INTERACTION_HISTORY = 10;
+    static final int DEFAULT_RECENT_EVENTS = 5;
     
-    private final List<Interaction> interactionHistory;
-    private final List<GameEvent> recentEvents;
-    private final Map<String, Object> playerState;
+    private final RingBuffer<Interaction> interactionHistory;
+    private final RingBuffer<GameEvent> recentEvents;
+    private final List<Interaction> interactionHistoryView;
+    private final List<GameEvent> recentEventsView;
+    private final KeywordIndex interactionKeywords;
+    private int nextInteractionSlot;
+    private final PlayerState playerState;
+    private final List<Consumer<PlayerState>> playerStateSources;
     private String currentLocation;
     private String currentActivity;
     private long lastInteractionTime;
     
     public ContextTracker() {
-        this.interactionHistory = new ArrayList<>();
-        this.recentEvents = new ArrayList<>();
-        this.playerState = new HashMap<>();
+        this(DEFAULT_INTERACTION_HISTORY, DEFAULT_RECENT_EVENTS);
+    }
+    
+    /**
+     * Create a tracker with window sizes from the assistant configuration
+     * @param config The assistant configuration
+     */
+    public ContextTracker(AssistantConfig config) {
+        this(config.getContextInteractionHistory(), config.getContextRecentEvents());
+    }
+    
+    /**
+     * Create a tracker with custom window sizes
+     * @param maxInteractionHistory Number of recent interactions to remember
+     * @param maxRecentEvents Number of recent game events to remember
+     */
+    public ContextTracker(int maxInteractionHistory, int maxRecentEvents) {
+        this.interactionHistory = new RingBuffer<>(maxInteractionHistory);
+        this.recentEvents = new RingBuffer<>(maxRecentEvents);
+        this.interactionHistoryView = Collections.unmodifiableList(interactionHistory);
+        this.recentEventsView = Collections.unmodifiableList(recentEvents);
+        this.interactionKeywords = new KeywordIndex(maxInteractionHistory);
+        this.playerState = new PlayerState();
+        this.playerStateSources = new CopyOnWriteArrayList<>();
         this.lastInteractionTime = System.currentTimeMillis();
     }
     
@@ -36,13 +72,13 @@ public class ContextTracker {
             throw new IllegalArgumentException("Parameters cannot be null");
         }
         
+        // Overwrites the oldest interaction once the window is full
         Interaction interaction = new Interaction(speaker, message, type, System.currentTimeMillis());
         interactionHistory.add(interaction);
         
-        // Keep only recent interactions
-        while (interactionHistory.size() > MAX_INTERACTION_HISTORY) {
-            interactionHistory.remove(0);
-        }
+        // The index slots advance in step with the ring buffer, replacing the evicted message's words
+        interactionKeywords.put(nextInteractionSlot, message);
+        nextInteractionSlot = (nextInteractionSlot + 1) % interactionHistory.capacity();
         
         lastInteractionTime = System.currentTimeMillis();
     }
@@ -55,27 +91,63 @@ public class ContextTracker {
             throw new IllegalArgumentException("Parameters cannot be null");
         }
         
+        // Overwrites the oldest event once the window is full
         GameEvent event = new GameEvent(eventType, description, severity, System.currentTimeMillis());
         recentEvents.add(event);
-        
-        // Keep only recent events
-        while (recentEvents.size() > MAX_RECENT_EVENTS) {
-            recentEvents.remove(0);
-        }
     }
     
     /**
      * Update player state information
      */
     public void updatePlayerState(String key, Object value) {
-        playerState.put(key, value);
+        playerState.set(key, value);
+    }
+    
+    /**
+     * Update an int-typed player state value without boxing
+     */
+    public void updatePlayerState(PlayerState.Key key, int value) {
+        playerState.set(key, value);
+    }
+    
+    /**
+     * Update a double-typed player state value without boxing
+     */
+    public void updatePlayerState(PlayerState.Key key, double value) {
+        playerState.set(key, value);
+    }
+    
+    /**
+     * Register a source of player state. Before the player state is read, each
+     * source writes its latest values into it, so a source can take readings on
+     * any thread without posting each one (e.g. GameStateIntegration's vitals).
+     * @param source Writes the source's current values into the store; runs on
+     *               the thread reading the tracker
+     */
+    public void addPlayerStateSource(Consumer<PlayerState> source) {
+        playerStateSources.add(source);
     }
     
     /**
      * Get player state value
      */
     public Object getPlayerState(String key) {
-        return playerState.get(key);
+        return syncPlayerState().get(key);
+    }
+    
+    /**
+     * Get the typed player state store, with the sources' latest values
+     */
+    public PlayerState getPlayerState() {
+        return syncPlayerState();
+    }
+    
+    private PlayerState syncPlayerState() {
+        // Indexed loop: no iterator allocation on the read path
+        for (int i = 0; i < playerStateSources.size(); i++) {
+            playerStateSources.get(i).accept(playerState);
+        }
+        return playerState;
     }
     
     /**
@@ -115,30 +187,50 @@ public class ContextTracker {
     }
     
     /**
-     * Get recent interaction history
+     * Get recent interaction history, oldest first. The list is a read-only
+     * live view (no copy is made); copy it to keep a snapshot.
      */
     public List<Interaction> getInteractionHistory() {
-        return new ArrayList<>(interactionHistory);
+        return interactionHistoryView;
     }
     
     /**
-     * Get recent game events
+     * Get recent game events, oldest first. The list is a read-only live
+     * view (no copy is made); copy it to keep a snapshot.
      */
     public List<GameEvent> getRecentEvents() {
-        return new ArrayList<>(recentEvents);
+        return recentEventsView;
+    }
+    
+    /**
+     * Get the number of interactions remembered
+     */
+    public int getInteractionHistoryCapacity() {
+        return interactionHistory.capacity();
     }
     
     /**
-     * Check if a specific topic was recently discussed
+     * Get the number of game events remembered
+     */
+    public int getRecentEventsCapacity() {
+        return recentEvents.capacity();
+    }
+    
+    /**
+     * Get the number of distinct words indexed from the interaction history
+     * @return The indexed word count
+     */
+    int getIndexedWordCount() {
+        return interactionKeywords.getWordCount();
+    }
+    
+    /**
+     * Check if a specific topic was recently discussed. Matching is
+     * case-insensitive and on whole words; a multi-word topic must appear
+     * as a phrase.
      */
     public boolean wasRecentlyDiscussed(String topic) {
-        String lowerTopic = topic.toLowerCase();
-        for (Interaction interaction : interactionHistory) {
-            if (interaction.getMessage().toLowerCase().contains(lowerTopic)) {
-                return true;
-            }
-        }
-        return false;
+        return interactionKeywords.containsTopic(topic);
     }
     
     /**
@@ -189,7 +281,7 @@ public class ContextTracker {
             getMinutesSinceLastInteraction(),
             hasRecentEmergency(),
             interactionHistory.size(),
-            new HashMap<>(playerState)
+            syncPlayerState().snapshot()
         );
     }
     
@@ -198,6 +290,8 @@ public class ContextTracker {
      */
     public void clear() {
         interactionHistory.clear();
+        interactionKeywords.clear();
+        nextInteractionSlot = 0;
         recentEvents.clear();
         playerState.clear();
         currentLocation = null;
@@ -258,6 +352,7 @@ public class ContextTracker {
         private final int minutesSinceLastInteraction;
         private final boolean hasEmergency;
         private final int interactionCount;
+        private final PlayerState.Snapshot playerStateSnapshot;
         private final Map<String, Object> playerState;
         
         public ContextSummary(String location, String activity, int minutesSinceLastInteraction,
@@ -267,7 +362,19 @@ public class ContextTracker {
             this.minutesSinceLastInteraction = minutesSinceLastInteraction;
             this.hasEmergency = hasEmergency;
             this.interactionCount = interactionCount;
-            this.playerState = playerState;
+            this.playerStateSnapshot = null;
+            this.playerState = Collections.unmodifiableMap(new HashMap<>(playerState));
+        }
+        
+        public ContextSummary(String location, String activity, int minutesSinceLastInteraction,
+                            boolean hasEmergency, int interactionCount, PlayerState.Snapshot playerState) {
+            this.location = location;
+            this.activity = activity;
+            this.minutesSinceLastInteraction = minutesSinceLastInteraction;
+            this.hasEmergency = hasEmergency;
+            this.interactionCount = interactionCount;
+            this.playerStateSnapshot = playerState;
+            this.playerState = playerState.asMap();
         }
         
         public String getLocation() { return location; }
@@ -275,7 +382,10 @@ public class ContextTracker {
         public int getMinutesSinceLastInteraction() { return minutesSinceLastInteraction; }
         public boolean hasEmergency() { return hasEmergency; }
         public int getInteractionCount() { return interactionCount; }
-        public Map<String, Object> getPlayerState() { return new HashMap<>(playerState); }
+        /** Read-only view of the player state when the summary was taken */
+        public Map<String, Object> getPlayerState() { return playerState; }
+        /** Typed player state, or null if the summary was built from a map */
+        public PlayerState.Snapshot getPlayerStateSnapshot() { return playerStateSnapshot; }
     }
     
     /**
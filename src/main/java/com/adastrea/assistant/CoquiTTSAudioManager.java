@@ -1,17 +1,20 @@
 package com.adastrea.assistant;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
 
 /**
  * Integrates Coqui TTS with the AudioManager for human-like voice synthesis.
@@ -23,8 +26,11 @@ import java.util.concurrent.TimeUnit;
  * - Emotional voice synthesis (hostile, curious, cooperative, etc.)
  * - Natural prosody and intonation
  * - Human-like variations and imperfections
- * - Asynchronous audio generation
- * - Caching of generated audio
+ * - Asynchronous audio generation, with identical concurrent requests coalesced
+ * - Resident worker pool (model is loaded once per worker, not per line)
+ * - Two-tier (memory + disk) cache of generated audio
+ * - Static dialogue served from a bank pre-rendered at build time
+ * - Streaming playback of long lines, one sentence at a time
  * 
  * Requirements:
  * - Python 3.9+ with Coqui TTS installed (pip install TTS librosa soundfile scipy)
@@ -38,10 +44,28 @@ public class CoquiTTSAudioManager extends AudioManager {
     private static final String DEFAULT_URGENCY = "normal";
     private static final String DEFAULT_RELATIONSHIP = "cooperative";
     
+    // Static lines pre-rendered at build time (see DialoguePreSynthesizer)
+    static final String DIALOGUE_BANK_RESOURCE = "/audio/dialogue.bank";
+    
     private final String ttsScriptPath;
     private final String audioOutputDir;
     private final boolean usePythonTTS;
     private final String pythonExecutable;
+    private final TTSWorkerPool workerPool;
+    private final AudioBank dialogueBank;
+    private final TTSExecutor ttsExecutor;
+    private final ConcurrentHashMap<String, CompletableFuture<SynthesizedAudio>> inFlight;
+    private final AtomicLong coalescedRequests;
+    private final boolean streaming;
+    private final AssistantMetrics.Counter bankHits;
+    private final AssistantMetrics.Counter cacheHits;
+    private final AssistantMetrics.Counter cacheMisses;
+    private final AssistantMetrics.Counter coalescedCount;
+    private final AssistantMetrics.Counter failures;
+    private final AssistantMetrics.Histogram synthesisNanos;
+    private final LongSupplier inFlightGauge;
+    // False for session managers, which share another manager's backend
+    private final boolean ownsBackend;
     
     /**
      * Create a new CoquiTTSAudioManager with default settings.
@@ -52,6 +76,16 @@ public class CoquiTTSAudioManager extends AudioManager {
         this(projectRoot, "python3", true);
     }
     
+    /**
+     * Create a new CoquiTTSAudioManager using TTS settings from the assistant configuration.
+     * 
+     * @param projectRoot The root directory of the project (where scripts/ is located)
+     * @param config The assistant configuration (worker pool size, etc.)
+     */
+    public CoquiTTSAudioManager(String projectRoot, AssistantConfig config) {
+        this(projectRoot, "python3", true, config);
+    }
+    
     /**
      * Create a new CoquiTTSAudioManager with custom settings.
      * 
@@ -60,17 +94,113 @@ public class CoquiTTSAudioManager extends AudioManager {
      * @param enableTTS Whether to enable TTS generation (false = fallback to console output)
      */
     public CoquiTTSAudioManager(String projectRoot, String pythonExecutable, boolean enableTTS) {
-        super();
+        this(projectRoot, pythonExecutable, enableTTS, new AssistantConfig());
+    }
+    
+    /**
+     * Create a new CoquiTTSAudioManager with custom settings.
+     * 
+     * @param projectRoot The root directory of the project
+     * @param pythonExecutable The Python executable to use (e.g., "python3", "python")
+     * @param enableTTS Whether to enable TTS generation (false = fallback to console output)
+     * @param config The assistant configuration (worker pool size, etc.)
+     */
+    public CoquiTTSAudioManager(String projectRoot, String pythonExecutable, boolean enableTTS,
+                                AssistantConfig config) {
+        super(createCache(projectRoot, config));
         this.pythonExecutable = pythonExecutable;
         this.ttsScriptPath = Paths.get(projectRoot, "scripts", "tts_generate_human.py").toString();
-        this.audioOutputDir = Paths.get(projectRoot, "src", "main", "resources", "audio", "generated").toString();
+        this.audioOutputDir = outputDir(projectRoot).toString();
         this.usePythonTTS = enableTTS && checkTTSAvailability();
+        this.dialogueBank = loadDialogueBank();
+        
+        // Resident workers load the model once instead of once per line
+        this.workerPool = usePythonTTS
+            ? new TTSWorkerPool(pythonExecutable, ttsScriptPath, config.getTtsWorkerCount())
+            : null;
+        // Blocking synthesis runs on its own bounded executor, not the common pool
+        this.ttsExecutor = new TTSExecutor(config);
+        this.inFlight = new ConcurrentHashMap<>();
+        this.coalescedRequests = new AtomicLong();
+        this.streaming = config.isTtsStreaming();
         
-        // Create output directory if it doesn't exist
+        AssistantMetrics metrics = AssistantMetrics.getDefault();
+        this.bankHits = metrics.counter("tts.bank.hits");
+        this.cacheHits = metrics.counter("tts.cache.hits");
+        this.cacheMisses = metrics.counter("tts.cache.misses");
+        this.coalescedCount = metrics.counter("tts.coalesced");
+        this.failures = metrics.counter("tts.failures");
+        this.synthesisNanos = metrics.histogram("tts.synthesis.nanos");
+        this.inFlightGauge = inFlight::size;
+        metrics.gauge("tts.inflight", inFlightGauge);
+        this.ownsBackend = true;
+    }
+    
+    /**
+     * Create a session manager on another manager's backend.
+     */
+    private CoquiTTSAudioManager(CoquiTTSAudioManager backend) {
+        super(backend.getAudioCache());
+        this.pythonExecutable = backend.pythonExecutable;
+        this.ttsScriptPath = backend.ttsScriptPath;
+        this.audioOutputDir = backend.audioOutputDir;
+        this.usePythonTTS = backend.usePythonTTS;
+        this.dialogueBank = backend.dialogueBank;
+        this.workerPool = backend.workerPool;
+        this.ttsExecutor = backend.ttsExecutor;
+        this.inFlight = backend.inFlight;
+        this.coalescedRequests = backend.coalescedRequests;
+        this.streaming = backend.streaming;
+        this.bankHits = backend.bankHits;
+        this.cacheHits = backend.cacheHits;
+        this.cacheMisses = backend.cacheMisses;
+        this.coalescedCount = backend.coalescedCount;
+        this.failures = backend.failures;
+        this.synthesisNanos = backend.synthesisNanos;
+        this.inFlightGauge = backend.inFlightGauge;
+        this.ownsBackend = false;
+    }
+    
+    /**
+     * Create a manager for one more player that shares this manager's TTS
+     * workers, executor, clip cache, dialogue bank and in-flight syntheses, so
+     * an identical line requested by several players is synthesized once.
+     * Volume, relationship stage and the audio toggle are the new manager's
+     * own. Shutting the new manager down does nothing; shut down this one
+     * when every session is done.
+     * 
+     * @return The session manager
+     */
+    public CoquiTTSAudioManager newSession() {
+        return new CoquiTTSAudioManager(this);
+    }
+    
+    private static Path outputDir(String projectRoot) {
+        return Paths.get(projectRoot, "src", "main", "resources", "audio", "generated");
+    }
+    
+    /**
+     * Build the two-tier cache for generated audio: decoded PCM in memory,
+     * backed by WAV files in the audio output directory.
+     */
+    private static AudioCache createCache(String projectRoot, AssistantConfig config) {
+        long mb = 1024L * 1024L;
+        return new AudioCache(config.getTtsCacheMemoryMb() * mb, outputDir(projectRoot), config.getTtsCacheDiskMb() * mb);
+    }
+    
+    /**
+     * Load the pre-synthesized dialogue bank from the classpath, if it was built.
+     */
+    private static AudioBank loadDialogueBank() {
         try {
-            Files.createDirectories(Paths.get(audioOutputDir));
-        } catch (Exception e) {
-            System.err.println("[WARNING] Could not create audio output directory: " + e.getMessage());
+            AudioBank bank = AudioBank.loadResource(DIALOGUE_BANK_RESOURCE);
+            if (bank != null) {
+                AssistantOutput.out("[INFO] Loaded " + bank.size() + " pre-synthesized dialogue lines");
+            }
+            return bank;
+        } catch (IOException e) {
+            AssistantOutput.err("[WARNING] Could not load dialogue bank: " + e.getMessage());
+            return null;
         }
     }
     
@@ -84,7 +214,7 @@ public class CoquiTTSAudioManager extends AudioManager {
             // Check if script exists
             File scriptFile = new File(ttsScriptPath);
             if (!scriptFile.exists()) {
-                System.err.println("[WARNING] TTS script not found at: " + ttsScriptPath);
+                AssistantOutput.err("[WARNING] TTS script not found at: " + ttsScriptPath);
                 return false;
             }
             
@@ -101,15 +231,15 @@ public class CoquiTTSAudioManager extends AudioManager {
             int exitCode = process.exitValue();
             
             if (exitCode == 0) {
-                System.out.println("[INFO] Coqui TTS is available and ready");
+                AssistantOutput.out("[INFO] Coqui TTS is available and ready");
                 return true;
             } else {
-                System.err.println("[WARNING] Coqui TTS library not installed. Install with:");
-                System.err.println("  pip install TTS librosa soundfile scipy");
+                AssistantOutput.err("[WARNING] Coqui TTS library not installed. Install with:");
+                AssistantOutput.err("  pip install TTS librosa soundfile scipy");
                 return false;
             }
         } catch (Exception e) {
-            System.err.println("[WARNING] Could not verify TTS availability: " + e.getMessage());
+            AssistantOutput.err("[WARNING] Could not verify TTS availability: " + e.getMessage());
             return false;
         }
     }
@@ -126,25 +256,19 @@ public class CoquiTTSAudioManager extends AudioManager {
             return CompletableFuture.completedFuture(null);
         }
         
-        if (!usePythonTTS) {
+        // Pre-rendered static lines play without touching Python
+        if (playBanked(message, emotion, DEFAULT_URGENCY, DEFAULT_RELATIONSHIP)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        if (!isTTSAvailable()) {
             // Fallback to console output
-            System.out.println("[AUDIO] Assistant speaks (" + emotion + "): " + message);
+            AssistantOutput.out("[AUDIO] Assistant speaks (" + emotion + "): " + message);
             return CompletableFuture.completedFuture(null);
         }
         
         // Generate audio asynchronously
-        return CompletableFuture.runAsync(() -> {
-            try {
-                String audioPath = generateAudio(message, emotion);
-                if (audioPath != null) {
-                    playAudioFile(audioPath);
-                }
-            } catch (Exception e) {
-                System.err.println("[ERROR] Failed to generate or play audio: " + e.getMessage());
-                // Fallback to console output
-                System.out.println("[AUDIO] Assistant speaks (" + emotion + "): " + message);
-            }
-        });
+        return synthesizeAndPlay(message, emotion, DEFAULT_URGENCY, DEFAULT_RELATIONSHIP, emotion);
     }
     
     /**
@@ -161,144 +285,335 @@ public class CoquiTTSAudioManager extends AudioManager {
             return CompletableFuture.completedFuture(null);
         }
         
-        if (!usePythonTTS) {
+        // Pre-rendered static lines play without touching Python
+        if (playBanked(message, emotion, urgency, relationshipStage)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        if (!isTTSAvailable()) {
             // Fallback to console output
-            System.out.println("[AUDIO] Assistant speaks (" + emotion + ", " + urgency + "): " + message);
+            AssistantOutput.out("[AUDIO] Assistant speaks (" + emotion + ", " + urgency + "): " + message);
             return CompletableFuture.completedFuture(null);
         }
         
         // Generate audio asynchronously
-        return CompletableFuture.runAsync(() -> {
+        return synthesizeAndPlay(message, emotion, urgency, relationshipStage, emotion + ", " + urgency);
+    }
+    
+    /**
+     * Synthesize and play a line. With streaming enabled, a line of several
+     * sentences is split into chunks that are synthesized in order and each
+     * played as soon as it is ready, so speech starts after one sentence's
+     * synthesis time rather than the whole line's.
+     * 
+     * @param label The voice description used in the console fallback
+     */
+    private CompletableFuture<Void> synthesizeAndPlay(String message, String emotion, String urgency,
+                                                      String relationshipStage, String label) {
+        List<String> chunks = streaming ? SentenceChunker.split(message) : List.of(message);
+        if (chunks.size() > 1) {
+            return new ChunkStream(chunks, emotion, urgency, relationshipStage, label).start();
+        }
+        // Return our own future rather than a derived stage: cancelling a
+        // derived stage would not stop the playback callback below
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synthesizeAsync(message, emotion, urgency, relationshipStage).whenComplete((audio, failure) -> {
+            if (done.isCancelled()) {
+                return;
+            }
             try {
-                String audioPath = generateAudioWithContext(message, emotion, urgency, relationshipStage);
-                if (audioPath != null) {
-                    playAudioFile(audioPath);
+                if (failure != null) {
+                    throw failure;
                 }
-            } catch (Exception e) {
-                System.err.println("[ERROR] Failed to generate or play audio: " + e.getMessage());
+                playIfPresent(audio);
+            } catch (Throwable e) {
+                AssistantOutput.err("[ERROR] Failed to generate or play audio: " + e.getMessage());
                 // Fallback to console output
-                System.out.println("[AUDIO] Assistant speaks (" + emotion + ", " + urgency + "): " + message);
+                AssistantOutput.out("[AUDIO] Assistant speaks (" + label + "): " + message);
             }
+            done.complete(null);
         });
+        return done;
     }
     
     /**
-     * Generate audio using Coqui TTS with contextual prosody.
+     * Play a line with prosody matched to its severity. Cancelling the
+     * returned future before synthesis finishes skips playback; the clip is
+     * still cached.
+     * 
+     * @param message The message to speak
+     * @param severity The urgency of the message
+     * @return CompletableFuture that completes when the line has been played
+     */
+    @Override
+    public CompletableFuture<Void> playVoiceAsync(String message, ContextTracker.EventSeverity severity) {
+        String relationship = relationshipFor(getRelationshipStage());
+        switch (severity) {
+            case CRITICAL:
+                return playVoiceWithContext(message, "urgent", "critical", relationship);
+            case HIGH:
+                return playVoiceWithContext(message, "worried", "high", relationship);
+            default:
+                return playVoiceWithContext(message, emotionFor(getRelationshipStage()), DEFAULT_URGENCY, relationship);
+        }
+    }
+    
+    /**
+     * Get the emotion ordinary (non-warning) lines are spoken with at a stage.
+     * 
+     * @param stage The relationship stage
+     * @return The emotion name passed to the TTS script
+     */
+    static String emotionFor(RelationshipStage stage) {
+        switch (stage) {
+            case HOSTILE:
+                return "hostile";
+            case CURIOUS:
+                return "curious";
+            default:
+                return "cooperative";
+        }
+    }
+    
+    /**
+     * Get the relationship context passed to the TTS script for a stage.
+     * 
+     * @param stage The relationship stage
+     * @return The relationship name passed to the TTS script
+     */
+    static String relationshipFor(RelationshipStage stage) {
+        return stage.name().toLowerCase();
+    }
+    
+    /**
+     * Synthesize a line asynchronously without playing it.
+     * 
+     * Requests are coalesced on their cache key: while a line is being
+     * generated, identical (text, emotion, urgency, relationship) requests
+     * share the same in-flight synthesis instead of starting another one.
+     * Each caller gets its own future, so cancelling one does not affect
+     * the others.
      * 
      * @param text The text to synthesize
      * @param emotion The emotion to convey
      * @param urgency The urgency level
      * @param relationshipStage The relationship context
-     * @return The path to the generated audio file, or null on failure
+     * @return Future completing with the audio, or null if generation failed
      */
-    private String generateAudioWithContext(String text, String emotion, String urgency, String relationshipStage) {
-        try {
-            // Create unique filename based on SHA-256 hash with all context
-            String hash = generateHash(text + emotion + urgency + relationshipStage);
-            String filename = "tts_" + hash.substring(0, 16) + ".wav";
-            String outputPath = Paths.get(audioOutputDir, filename).toString();
-            
-            // Check cache first
-            File cachedFile = new File(outputPath);
-            if (cachedFile.exists() && cachedFile.length() > 0) {
-                System.out.println("[INFO] Using cached audio: " + filename);
-                return outputPath;
+    public CompletableFuture<SynthesizedAudio> synthesizeAsync(String text, String emotion, String urgency,
+                                                               String relationshipStage) {
+        String cacheKey = cacheKey(text, emotion, urgency, relationshipStage);
+        
+        if (dialogueBank != null) {
+            SynthesizedAudio banked = dialogueBank.get(cacheKey);
+            if (banked != null) {
+                bankHits.increment();
+                return CompletableFuture.completedFuture(banked);
             }
-            
-            // Build command with new parameters
-            List<String> command = new ArrayList<>();
-            command.add(pythonExecutable);
-            command.add(ttsScriptPath);
-            command.add("--text");
-            command.add(text);
-            command.add("--emotion");
-            command.add(emotion);
-            command.add("--urgency");
-            command.add(urgency);
-            command.add("--relationship");
-            command.add(relationshipStage);
-            command.add("--output");
-            command.add(outputPath);
-            
-            System.out.println("[INFO] Generating audio with Coqui TTS (context-aware)...");
-            System.out.println("[DEBUG] Command: " + String.join(" ", command));
-            
-            // Execute TTS generation
-            ProcessBuilder pb = new ProcessBuilder(command);
-            pb.redirectErrorStream(true);
-            Process process = pb.start();
-            
-            // Read output
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                    if (line.contains("ERROR") || line.contains("WARNING")) {
-                        System.err.println("[TTS] " + line);
-                    } else if (line.contains("SUCCESS")) {
-                        System.out.println("[TTS] " + line);
+        }
+        
+        CompletableFuture<SynthesizedAudio> created = new CompletableFuture<>();
+        CompletableFuture<SynthesizedAudio> existing = inFlight.putIfAbsent(cacheKey, created);
+        if (existing != null) {
+            coalescedRequests.incrementAndGet();
+            coalescedCount.increment();
+            return existing.copy();
+        }
+        
+        ttsExecutor.submit(() -> generateAudioWithContext(cacheKey, text, emotion, urgency, relationshipStage))
+            .whenComplete((audio, failure) -> {
+                // The clip is already cached at this point, so later callers hit the cache
+                inFlight.remove(cacheKey, created);
+                if (failure != null) {
+                    created.completeExceptionally(failure);
+                } else {
+                    created.complete(audio);
+                }
+            });
+        return created.copy();
+    }
+    
+    private boolean playBanked(String text, String emotion, String urgency, String relationshipStage) {
+        if (dialogueBank == null) {
+            return false;
+        }
+        SynthesizedAudio banked = dialogueBank.get(cacheKey(text, emotion, urgency, relationshipStage));
+        if (banked == null) {
+            return false;
+        }
+        bankHits.increment();
+        playAudio(banked);
+        return true;
+    }
+    
+    private void playIfPresent(SynthesizedAudio audio) {
+        if (audio != null) {
+            playAudio(audio);
+        }
+    }
+    
+    /**
+     * Plays the chunks of one line in order while the following chunks are
+     * synthesized. Up to one chunk per executor thread is requested ahead of
+     * the one playing, which keeps the TTS workers busy without flooding the
+     * queue with a long lesson. Cancelling the stream's future stops it
+     * before the next chunk plays, and chunks not yet requested are never
+     * synthesized.
+     */
+    private final class ChunkStream {
+        private final List<String> chunks;
+        private final String emotion;
+        private final String urgency;
+        private final String relationshipStage;
+        private final String label;
+        private final AtomicReferenceArray<CompletableFuture<SynthesizedAudio>> pending;
+        private final int lookahead;
+        private final CompletableFuture<Void> done;
+        
+        ChunkStream(List<String> chunks, String emotion, String urgency, String relationshipStage, String label) {
+            this.chunks = chunks;
+            this.emotion = emotion;
+            this.urgency = urgency;
+            this.relationshipStage = relationshipStage;
+            this.label = label;
+            this.pending = new AtomicReferenceArray<>(chunks.size());
+            this.lookahead = Math.max(1, ttsExecutor.getThreadCount());
+            this.done = new CompletableFuture<>();
+        }
+        
+        CompletableFuture<Void> start() {
+            for (int i = 0; i < lookahead; i++) {
+                request(i);
+            }
+            playFrom(0);
+            return done;
+        }
+        
+        private void request(int index) {
+            if (index < chunks.size()) {
+                pending.set(index, synthesizeAsync(chunks.get(index), emotion, urgency, relationshipStage));
+            }
+        }
+        
+        private void playFrom(int index) {
+            if (done.isDone()) {
+                return;
+            }
+            if (index == chunks.size()) {
+                done.complete(null);
+                return;
+            }
+            pending.get(index).whenComplete((audio, failure) -> {
+                if (done.isDone()) {
+                    return;
+                }
+                // Keep the pipeline full before spending time on playback
+                request(index + lookahead);
+                try {
+                    if (failure != null) {
+                        throw failure;
                     }
+                    playIfPresent(audio);
+                } catch (Throwable e) {
+                    AssistantOutput.err("[ERROR] Failed to generate or play audio: " + e.getMessage());
+                    // Fallback to console output for this sentence only
+                    AssistantOutput.out("[AUDIO] Assistant speaks (" + label + "): " + chunks.get(index));
                 }
+                playFrom(index + 1);
+            });
+        }
+    }
+    
+    /**
+     * Generate audio using Coqui TTS with contextual prosody.
+     * 
+     * Lines are looked up in the audio cache first (memory, then disk). On a
+     * miss the worker returns raw PCM over its pipe, so the clip can be played
+     * straight from memory; it is then added to both cache tiers.
+     * 
+     * @param cacheKey The cache key for this line
+     * @param text The text to synthesize
+     * @param emotion The emotion to convey
+     * @param urgency The urgency level
+     * @param relationshipStage The relationship context
+     * @return The synthesized audio, or null on failure
+     */
+    private SynthesizedAudio generateAudioWithContext(String cacheKey, String text, String emotion, String urgency,
+                                                      String relationshipStage) {
+        try {
+            // Check cache first
+            SynthesizedAudio cached = getAudioCache().get(cacheKey);
+            if (cached != null) {
+                cacheHits.increment();
+                AssistantOutput.out("[INFO] Using cached audio: " + cacheKey);
+                return cached;
             }
+            cacheMisses.increment();
             
-            // Wait for completion (max 60 seconds)
-            boolean completed = process.waitFor(60, TimeUnit.SECONDS);
-            if (!completed) {
-                process.destroyForcibly();
-                System.err.println("[ERROR] TTS generation timed out");
-                return null;
-            }
+            AssistantOutput.out("[INFO] Generating audio with Coqui TTS (context-aware)...");
             
-            int exitCode = process.exitValue();
-            if (exitCode != 0) {
-                System.err.println("[ERROR] TTS generation failed with exit code: " + exitCode);
-                System.err.println("[ERROR] Output: " + output.toString());
-                return null;
-            }
+            long start = System.nanoTime();
+            SynthesizedAudio audio = synthesize(text, emotion, urgency, relationshipStage);
+            synthesisNanos.recordSince(start);
+            AssistantOutput.out("[SUCCESS] Audio generated: " + cacheKey + " (" + audio.getDurationMillis() + " ms)");
             
-            // Verify output file exists
-            if (cachedFile.exists() && cachedFile.length() > 0) {
-                System.out.println("[SUCCESS] Audio generated: " + filename);
-                return outputPath;
-            } else {
-                System.err.println("[ERROR] Output file not created or empty: " + outputPath);
-                return null;
-            }
+            getAudioCache().put(cacheKey, audio);
+            return audio;
             
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         } catch (Exception e) {
-            System.err.println("[ERROR] Exception during audio generation: " + e.getMessage());
-            e.printStackTrace();
+            failures.increment();
+            AssistantOutput.err("[ERROR] Exception during audio generation: " + e.getMessage());
+            // Through the sink like every other line, not straight to System.err
+            StringWriter trace = new StringWriter();
+            e.printStackTrace(new PrintWriter(trace));
+            AssistantOutput.err(trace.toString().stripTrailing());
             return null;
         }
     }
     
     /**
-     * Generate audio using Coqui TTS.
+     * Run one synthesis on the resident worker pool. Subclasses may override
+     * this to plug in a different TTS backend.
      * 
      * @param text The text to synthesize
      * @param emotion The emotion to convey
-     * @return The path to the generated audio file, or null on failure
+     * @param urgency The urgency level
+     * @param relationshipStage The relationship context
+     * @return The synthesized audio
+     * @throws IOException If no worker is available or synthesis failed
+     * @throws InterruptedException If interrupted while waiting for a worker
+     */
+    protected SynthesizedAudio synthesize(String text, String emotion, String urgency, String relationshipStage)
+            throws IOException, InterruptedException {
+        if (workerPool == null) {
+            throw new IOException("Coqui TTS is not available");
+        }
+        // Hand the request to a resident worker (model already loaded)
+        return workerPool.synthesize(text, emotion, urgency, relationshipStage);
+    }
+    
+    /**
+     * Build the cache key for a line: a SHA-256 hash over the text and all context.
      */
-    private String generateAudio(String text, String emotion) {
-        // Use default values for urgency and relationship
-        return generateAudioWithContext(text, emotion, DEFAULT_URGENCY, DEFAULT_RELATIONSHIP);
+    static String cacheKey(String text, String emotion, String urgency, String relationshipStage) {
+        return "tts_" + generateHash(text + emotion + urgency + relationshipStage).substring(0, 16);
     }
     
     /**
-     * Play an audio file.
+     * Play synthesized audio.
      * 
      * Note: This is a placeholder implementation. In a real Minecraft mod integration,
-     * override this method to use Minecraft's sound system.
+     * override this method to feed the PCM data to Minecraft's sound system
+     * (or a Java audio library like javax.sound.sampled).
      * 
-     * @param audioPath The path to the audio file
+     * @param audio The PCM audio to play
      */
-    protected void playAudioFile(String audioPath) {
+    protected void playAudio(SynthesizedAudio audio) {
         // Placeholder implementation
-        // In a real implementation, this would use Minecraft's sound system
-        // or a Java audio library like javax.sound.sampled
-        System.out.println("[AUDIO] Playing audio file: " + audioPath);
+        AssistantOutput.out("[AUDIO] Playing synthesized audio (" + audio.getDurationMillis() + " ms)");
     }
     
     /**
@@ -315,7 +630,7 @@ public class CoquiTTSAudioManager extends AudioManager {
      * @param input The input string to hash
      * @return Hex string of the hash
      */
-    private String generateHash(String input) {
+    static String generateHash(String input) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hashBytes = digest.digest(input.getBytes(StandardCharsets.UTF_8));
@@ -335,7 +650,8 @@ public class CoquiTTSAudioManager extends AudioManager {
     }
     
     /**
-     * Check if TTS is enabled and available.
+     * Check if TTS is enabled and available. Subclasses that plug in a
+     * different backend via synthesize() should override this as well.
      * 
      * @return true if TTS is enabled and available
      */
@@ -343,6 +659,68 @@ public class CoquiTTSAudioManager extends AudioManager {
         return usePythonTTS;
     }
     
+    /**
+     * Get the resident TTS worker pool.
+     * 
+     * @return The worker pool, or null if TTS is not available
+     */
+    public TTSWorkerPool getWorkerPool() {
+        return workerPool;
+    }
+    
+    /**
+     * Get the bank of pre-synthesized static dialogue.
+     * 
+     * @return The dialogue bank, or null if none was built
+     */
+    public AudioBank getDialogueBank() {
+        return dialogueBank;
+    }
+    
+    /**
+     * Get the executor that runs TTS jobs.
+     * 
+     * @return The TTS executor
+     */
+    public TTSExecutor getTtsExecutor() {
+        return ttsExecutor;
+    }
+    
+    /**
+     * Get the number of requests that joined an identical in-flight synthesis
+     * instead of starting their own.
+     * 
+     * @return The coalesced request count
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequests.get();
+    }
+    
+    /**
+     * Get the number of distinct lines currently being synthesized.
+     * 
+     * @return The in-flight synthesis count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+    
+    /**
+     * Stop the TTS executor and the resident worker processes. Call this when the assistant is
+     * no longer needed (e.g. on server shutdown). Has no effect on a manager
+     * created with {@link #newSession()}.
+     */
+    public void shutdown() {
+        if (!ownsBackend) {
+            return;
+        }
+        AssistantMetrics.getDefault().removeGauge("tts.inflight", inFlightGauge);
+        ttsExecutor.shutdown();
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+    
     /**
      * Get the path to the TTS script.
      * 
@@ -0,0 +1,364 @@
+package com.adastrea.assistant;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only collection of dialogue lines, grouped into sections keyed by
+ * (profile, stage, category).
+ *
+ * A corpus is a UTF-8 text file. Each section starts with a
+ * {@code [profile/stage/category]} header line and holds one dialogue line
+ * per text line. The stage is a {@link RelationshipStage} name in lower case,
+ * or {@link #ANY_STAGE} for lines used at every stage. Blank lines and lines
+ * starting with '#' are skipped; a leading '\' is dropped, so a dialogue line
+ * can still start with '[', '#' or '\'.
+ *
+ * Files are memory-mapped and indexed in a single pass over the bytes that
+ * only records where each section starts and how many lines it holds. A
+ * section's lines are decoded into Strings the first time it is read and are
+ * then shared by every reader, so a large localized pack costs little until
+ * its lines are used and assistant instances never hold copies of their own.
+ *
+ * Instances are safe to share between threads.
+ */
+public class DialogueCorpus {
+    /** Resource path of the corpus shipped with the assistant */
+    public static final String DEFAULT_RESOURCE = "/dialogue/corpus.txt";
+    /** Profile of the lines used when no assistant profile is set */
+    public static final String DEFAULT_PROFILE = "default";
+    /** Stage of sections used at every relationship stage */
+    public static final String ANY_STAGE = "any";
+
+    private static final String[] STAGE_NAMES = stageNames();
+
+    private final ByteBuffer buffer;
+    private final Map<String, Section> sections;
+
+    private DialogueCorpus(ByteBuffer buffer, Map<String, Section> sections) {
+        this.buffer = buffer;
+        this.sections = sections;
+    }
+
+    /**
+     * Get the corpus shipped with the assistant. It is loaded on first use and
+     * shared by every caller; if it cannot be loaded a warning is printed and
+     * an empty corpus is returned.
+     *
+     * @return The default corpus
+     */
+    public static DialogueCorpus getDefault() {
+        return DefaultHolder.CORPUS;
+    }
+
+    /**
+     * Memory-map and index a corpus file.
+     *
+     * @param path The corpus file
+     * @return The corpus
+     * @throws IOException If the file cannot be mapped or is not a valid corpus
+     */
+    public static DialogueCorpus open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return fromBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Load a corpus from a classpath resource. Resources on the file system
+     * are memory-mapped; those inside a jar are read into memory once.
+     *
+     * @param resourcePath Absolute resource path (e.g. "/dialogue/corpus.txt")
+     * @return The corpus, or null if the resource does not exist
+     * @throws IOException If the resource is not a valid corpus
+     */
+    public static DialogueCorpus loadResource(String resourcePath) throws IOException {
+        URL url = DialogueCorpus.class.getResource(resourcePath);
+        if (url == null) {
+            return null;
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return open(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                // Fall through to a stream read
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return fromBuffer(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    /**
+     * Index a corpus image. Section headers are decoded and checked; dialogue
+     * lines are left as bytes until their section is read.
+     *
+     * @param buffer The corpus bytes (UTF-8)
+     * @return The corpus
+     * @throws IOException If a header is malformed or repeated, or a line is outside any section
+     */
+    public static DialogueCorpus fromBuffer(ByteBuffer buffer) throws IOException {
+        ByteBuffer corpus = buffer.slice();
+        Map<String, Section> sections = new LinkedHashMap<>();
+        String key = null;
+        int sectionStart = 0;
+        int lineCount = 0;
+        int lineNumber = 0;
+
+        int position = skipByteOrderMark(corpus);
+        while (position < corpus.limit()) {
+            int lineStart = position;
+            int lineEnd = lineEnd(corpus, lineStart);
+            position = lineEnd + 1;
+            lineNumber++;
+            int contentEnd = trimEnd(corpus, lineStart, lineEnd);
+            if (isSkipped(corpus, lineStart, contentEnd)) {
+                continue;
+            }
+            if (corpus.get(lineStart) == '[') {
+                if (key != null) {
+                    sections.put(key, new Section(sectionStart, lineStart, lineCount));
+                }
+                key = parseHeader(corpus, lineStart, contentEnd, lineNumber);
+                if (sections.containsKey(key)) {
+                    throw new IOException("Duplicate dialogue corpus section [" + key + "] at line " + lineNumber);
+                }
+                sectionStart = Math.min(position, corpus.limit());
+                lineCount = 0;
+            } else if (key == null) {
+                throw new IOException("Dialogue line outside a section at line " + lineNumber);
+            } else {
+                lineCount++;
+            }
+        }
+        if (key != null) {
+            sections.put(key, new Section(sectionStart, corpus.limit(), lineCount));
+        }
+        return new DialogueCorpus(corpus, sections);
+    }
+
+    /**
+     * Get the lines of a section
+     * @param profile The profile name (e.g. "mittenz")
+     * @param stage The stage name, or {@link #ANY_STAGE}
+     * @param category The category (e.g. "companion")
+     * @return Unmodifiable list of the section's lines (empty if the section does not exist)
+     */
+    public List<String> getLines(String profile, String stage, String category) {
+        Section section = sections.get(key(profile, stage, category));
+        return section == null ? Collections.emptyList() : lines(section);
+    }
+
+    /**
+     * Get the lines of a stage's section
+     * @param profile The profile name
+     * @param stage The relationship stage
+     * @param category The category
+     * @return Unmodifiable list of the section's lines (empty if the section does not exist)
+     */
+    public List<String> getLines(String profile, RelationshipStage stage, String category) {
+        return getLines(profile, STAGE_NAMES[stage.ordinal()], category);
+    }
+
+    /**
+     * Get the number of lines in a section without decoding them
+     * @param profile The profile name
+     * @param stage The stage name, or {@link #ANY_STAGE}
+     * @param category The category
+     * @return The line count (0 if the section does not exist)
+     */
+    public int getLineCount(String profile, String stage, String category) {
+        Section section = sections.get(key(profile, stage, category));
+        return section == null ? 0 : section.lineCount;
+    }
+
+    /**
+     * Check whether a section exists
+     * @param profile The profile name
+     * @param stage The stage name, or {@link #ANY_STAGE}
+     * @param category The category
+     * @return true if the corpus has the section
+     */
+    public boolean contains(String profile, String stage, String category) {
+        return sections.containsKey(key(profile, stage, category));
+    }
+
+    /**
+     * Get the categories a profile has at a stage, in file order
+     * @param profile The profile name
+     * @param stage The stage name, or {@link #ANY_STAGE}
+     * @return List of category names
+     */
+    public List<String> getCategories(String profile, String stage) {
+        String prefix = profile + "/" + stage + "/";
+        List<String> categories = new ArrayList<>();
+        for (String key : sections.keySet()) {
+            if (key.startsWith(prefix)) {
+                categories.add(key.substring(prefix.length()));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Get the number of sections
+     * @return The section count
+     */
+    public int getSectionCount() {
+        return sections.size();
+    }
+
+    /**
+     * Get the number of sections whose lines have been decoded
+     * @return The decoded section count
+     */
+    int getDecodedSectionCount() {
+        int decoded = 0;
+        for (Section section : sections.values()) {
+            if (section.lines != null) {
+                decoded++;
+            }
+        }
+        return decoded;
+    }
+
+    private List<String> lines(Section section) {
+        List<String> lines = section.lines;
+        if (lines == null) {
+            // Decoding twice on a race is harmless: both results are equal
+            lines = decode(section);
+            section.lines = lines;
+        }
+        return lines;
+    }
+
+    private List<String> decode(Section section) {
+        String[] lines = new String[section.lineCount];
+        int count = 0;
+        int position = section.start;
+        while (position < section.end) {
+            int lineStart = position;
+            int lineEnd = Math.min(lineEnd(buffer, lineStart), section.end);
+            position = lineEnd + 1;
+            int contentEnd = trimEnd(buffer, lineStart, lineEnd);
+            if (isSkipped(buffer, lineStart, contentEnd)) {
+                continue;
+            }
+            if (buffer.get(lineStart) == '\\') {
+                lineStart++;
+            }
+            lines[count++] = decode(buffer, lineStart, contentEnd);
+        }
+        return List.of(lines);
+    }
+
+    private static String key(String profile, String stage, String category) {
+        return profile + "/" + stage + "/" + category;
+    }
+
+    private static String parseHeader(ByteBuffer corpus, int start, int end, int lineNumber) throws IOException {
+        if (corpus.get(end - 1) != ']') {
+            throw new IOException("Malformed dialogue corpus header at line " + lineNumber);
+        }
+        String key = decode(corpus, start + 1, end - 1).trim();
+        String[] parts = key.split("/", -1);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty() || parts[2].isEmpty()) {
+            throw new IOException("Dialogue corpus header must be [profile/stage/category] at line " + lineNumber);
+        }
+        return key;
+    }
+
+    private static String decode(ByteBuffer corpus, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        corpus.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int skipByteOrderMark(ByteBuffer corpus) {
+        if (corpus.limit() >= 3 && (corpus.get(0) & 0xFF) == 0xEF
+                && (corpus.get(1) & 0xFF) == 0xBB && (corpus.get(2) & 0xFF) == 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private static int lineEnd(ByteBuffer corpus, int start) {
+        int position = start;
+        while (position < corpus.limit() && corpus.get(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    private static int trimEnd(ByteBuffer corpus, int start, int end) {
+        while (end > start && isSpace(corpus.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isSkipped(ByteBuffer corpus, int start, int end) {
+        return start == end || corpus.get(start) == '#';
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static String[] stageNames() {
+        RelationshipStage[] stages = RelationshipStage.values();
+        String[] names = new String[stages.length];
+        for (RelationshipStage stage : stages) {
+            names[stage.ordinal()] = stage.name().toLowerCase(Locale.ROOT);
+        }
+        return names;
+    }
+
+    /**
+     * Location of a section's lines in the corpus
+     */
+    private static final class Section {
+        private final int start;
+        private final int end;
+        private final int lineCount;
+        private volatile List<String> lines;
+
+        private Section(int start, int end, int lineCount) {
+            this.start = start;
+            this.end = end;
+            this.lineCount = lineCount;
+        }
+    }
+
+    private static class DefaultHolder {
+        static final DialogueCorpus CORPUS = load();
+
+        private static DialogueCorpus load() {
+            try {
+                DialogueCorpus corpus = loadResource(DEFAULT_RESOURCE);
+                if (corpus != null) {
+                    return corpus;
+                }
+                AssistantOutput.err("[WARNING] Dialogue corpus not found: " + DEFAULT_RESOURCE);
+            } catch (IOException e) {
+                AssistantOutput.err("[WARNING] Could not load dialogue corpus: " + e.getMessage());
+            }
+            return new DialogueCorpus(ByteBuffer.allocate(0), Collections.emptyMap());
+        }
+    }
+}
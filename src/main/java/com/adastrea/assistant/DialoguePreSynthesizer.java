@@ -0,0 +1,199 @@
+package com.adastrea.assistant;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Build-time batch generator that pre-renders every static dialogue line into
+ * an {@link AudioBank}, so those lines never need Python at runtime.
+ *
+ * Static lines are the DialogueSystem greetings and stage dialogues, the
+ * MittenzProfile greetings, companion dialogues and memory fragments, the
+ * TeachingSystem lessons and the stage transition messages. Each line is
+ * rendered for every relationship stage it can be spoken in, with the same
+ * emotion, urgency and relationship that CoquiTTSAudioManager uses for
+ * ordinary (non-warning) lines at that stage, and stored under the same cache
+ * key the runtime computes.
+ *
+ * Run via the Gradle task: gradle preSynthesizeDialogue
+ * Usage: DialoguePreSynthesizer &lt;projectRoot&gt; &lt;output.bank&gt;
+ */
+public class DialoguePreSynthesizer {
+    // Skill levels at which MittenzProfile's greetings and dialogues change
+    private static final int[] SKILL_LEVELS = {0, 20, 30, 50, 80};
+    private static final String URGENCY = "normal";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: DialoguePreSynthesizer <projectRoot> <output.bank>");
+            System.exit(2);
+        }
+        String projectRoot = args[0];
+        Path output = Paths.get(args[1]);
+
+        AssistantConfig config = new AssistantConfig();
+        Path properties = Paths.get(projectRoot, "src", "main", "resources", "assistant.properties");
+        if (Files.exists(properties)) {
+            try (InputStream in = new FileInputStream(properties.toFile())) {
+                config.loadFromProperties(in);
+            }
+        }
+
+        CoquiTTSAudioManager tts = new CoquiTTSAudioManager(projectRoot, config);
+        if (!tts.isTTSAvailable()) {
+            System.err.println("[ERROR] Coqui TTS is not available; cannot pre-synthesize dialogue");
+            System.exit(1);
+        }
+
+        int failures;
+        try {
+            failures = render(tts, collectStaticLines(config.getAssistantName()), config.getTtsWorkerCount(), output);
+        } finally {
+            tts.shutdown();
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Synthesize lines and write them to a bank. At most {@code window} lines
+     * are in flight at once so the TTS queue is never overrun.
+     *
+     * @return The number of lines that could not be synthesized
+     */
+    static int render(CoquiTTSAudioManager tts, List<Line> lines, int window, Path output) throws Exception {
+        AudioBankWriter writer = new AudioBankWriter();
+        Deque<CompletableFuture<SynthesizedAudio>> pending = new ArrayDeque<>();
+        Deque<Line> pendingLines = new ArrayDeque<>();
+        int failures = 0;
+
+        System.out.println("[INFO] Pre-synthesizing " + lines.size() + " static dialogue lines...");
+        for (int i = 0; i <= lines.size(); i++) {
+            if (i < lines.size()) {
+                Line line = lines.get(i);
+                pending.add(tts.synthesizeAsync(line.getText(), line.getEmotion(), line.getUrgency(), line.getRelationship()));
+                pendingLines.add(line);
+            }
+            // Drain once the window is full, and fully at the end
+            while (!pending.isEmpty() && (pending.size() >= Math.max(1, window) || i == lines.size())) {
+                Line line = pendingLines.poll();
+                SynthesizedAudio audio;
+                try {
+                    audio = pending.poll().get();
+                } catch (Exception e) {
+                    audio = null;
+                }
+                if (audio == null) {
+                    failures++;
+                    System.err.println("[ERROR] Could not synthesize: " + line.getText());
+                } else {
+                    writer.add(line.getKey(), audio);
+                }
+            }
+        }
+
+        writer.write(output);
+        System.out.println("[SUCCESS] Wrote " + writer.size() + " clips to " + output
+            + (failures > 0 ? " (" + failures + " failed)" : ""));
+        return failures;
+    }
+
+    /**
+     * Enumerate every static line with the voice context it is spoken in.
+     * Duplicates (same text and context) are listed once.
+     *
+     * @param assistantName The assistant name used in default greetings
+     * @return The lines to render, in a stable order
+     */
+    public static List<Line> collectStaticLines(String assistantName) {
+        Map<String, Line> lines = new LinkedHashMap<>();
+        DialogueSystem dialogue = new DialogueSystem();
+        TeachingSystem teaching = new TeachingSystem();
+
+        for (RelationshipStage stage : RelationshipStage.values()) {
+            // Default greetings are prefixed with the name by AIAssistant.initialize()
+            for (String greeting : dialogue.getGreetings()) {
+                add(lines, assistantName + " here! " + greeting, stage);
+            }
+            for (String line : dialogue.getStageDialogues(stage)) {
+                add(lines, line, stage);
+            }
+            if (stage == RelationshipStage.COOPERATIVE) {
+                for (String line : dialogue.getCompanionDialogues()) {
+                    add(lines, line, stage);
+                }
+            }
+
+            for (int skill : SKILL_LEVELS) {
+                MittenzProfile mittenz = new MittenzProfile();
+                mittenz.setRelationshipStage(stage);
+                mittenz.increaseSkillLevel(skill);
+                add(lines, mittenz.getName() + " here! " + mittenz.getProfileGreeting(), stage);
+                for (String line : mittenz.getProfileCompanionDialogues()) {
+                    add(lines, line, stage);
+                }
+            }
+            for (String memory : MittenzProfile.getMemoryFragments()) {
+                add(lines, memory, stage);
+            }
+
+            for (String topic : teaching.getAvailableTopics()) {
+                add(lines, teaching.getLesson(topic), stage);
+            }
+            add(lines, TeachingSystem.UNKNOWN_TOPIC_LESSON, stage);
+
+            // Transition messages are spoken right after entering the new stage
+            String transition = new MittenzProfile().getStageTransitionMessage(stage);
+            if (transition != null) {
+                add(lines, transition, stage);
+            }
+        }
+        return new ArrayList<>(lines.values());
+    }
+
+    private static void add(Map<String, Line> lines, String text, RelationshipStage stage) {
+        Line line = new Line(text, CoquiTTSAudioManager.emotionFor(stage), URGENCY,
+            CoquiTTSAudioManager.relationshipFor(stage));
+        lines.putIfAbsent(line.getKey(), line);
+    }
+
+    /**
+     * A line of dialogue with the voice context it is rendered in.
+     */
+    public static class Line {
+        private final String text;
+        private final String emotion;
+        private final String urgency;
+        private final String relationship;
+
+        public Line(String text, String emotion, String urgency, String relationship) {
+            this.text = text;
+            this.emotion = emotion;
+            this.urgency = urgency;
+            this.relationship = relationship;
+        }
+
+        public String getText() { return text; }
+        public String getEmotion() { return emotion; }
+        public String getUrgency() { return urgency; }
+        public String getRelationship() { return relationship; }
+
+        /**
+         * Get the cache key the runtime looks this line up by
+         * @return The cache key
+         */
+        public String getKey() {
+            return CoquiTTSAudioManager.cacheKey(text, emotion, urgency, relationship);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.adastrea.assistant;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -10,22 +10,44 @@ import java.util.Random;
  * Handles dialogue generation and conversation management for the AI assistant
  */
 public class DialogueSystem {
+    // Query intents per stage, compiled once and shared by every instance
+    private static final Map<RelationshipStage, IntentMatcher> RESPONSE_INTENTS = buildResponseIntents();
+
+    // Corpus categories
+    static final String GREETING = "greeting";
+    static final String COMPANION = "companion";
+
+    // Corpus lines are shared; lines added at runtime belong to this instance
     private final List<String> greetings;
     private final List<String> companionDialogues;
-    private final Map<RelationshipStage, List<String>> stageSpecificDialogues;
+    // Stage companion lines resolved once, so a companion tick is an EnumMap get
+    private final Map<RelationshipStage, List<String>> stageCompanionDialogues;
+    private final List<String> addedGreetings;
+    private final List<String> addedCompanionDialogues;
     private final Random random;
     private RelationshipStage currentStage;
     private AssistantProfile profile;
 
     public DialogueSystem() {
+        this(DialogueCorpus.getDefault());
+    }
+
+    /**
+     * Create a dialogue system that reads its lines from a corpus
+     * @param corpus The dialogue corpus (e.g. a localized pack)
+     */
+    public DialogueSystem(DialogueCorpus corpus) {
         this.random = new Random();
-        this.greetings = new ArrayList<>();
-        this.companionDialogues = new ArrayList<>();
-        this.stageSpecificDialogues = new HashMap<>();
+        this.greetings = corpus.getLines(DialogueCorpus.DEFAULT_PROFILE, DialogueCorpus.ANY_STAGE, GREETING);
+        this.companionDialogues = corpus.getLines(DialogueCorpus.DEFAULT_PROFILE, DialogueCorpus.ANY_STAGE, COMPANION);
+        this.stageCompanionDialogues = new EnumMap<>(RelationshipStage.class);
+        for (RelationshipStage stage : RelationshipStage.values()) {
+            stageCompanionDialogues.put(stage, corpus.getLines(DialogueCorpus.DEFAULT_PROFILE, stage, COMPANION));
+        }
+        this.addedGreetings = new ArrayList<>();
+        this.addedCompanionDialogues = new ArrayList<>();
         this.currentStage = RelationshipStage.HOSTILE; // Start at hostile stage
         this.profile = null;
-        initializeDialogues();
-        initializeStageSpecificDialogues();
     }
     
     /**
@@ -48,73 +70,6 @@ public class DialogueSystem {
         return profile;
     }
 
-    /**
-     * Initialize default dialogues (for COOPERATIVE stage)
-     */
-    private void initializeDialogues() {
-        // Greetings
-        greetings.add("Hello there! I'm here to help you on your space adventure.");
-        greetings.add("Greetings, explorer! Ready to discover the cosmos?");
-        greetings.add("Welcome back! Let's continue our journey through the stars.");
-        
-        // Companion dialogues (COOPERATIVE stage)
-        companionDialogues.add("The stars sure are beautiful today, aren't they?");
-        companionDialogues.add("Remember to check your oxygen levels regularly.");
-        companionDialogues.add("I've been thinking about all the planets we could explore together.");
-        companionDialogues.add("Space can be lonely, but at least you have me!");
-        companionDialogues.add("Did you know that some planets have unique gravity? Be careful when landing!");
-        companionDialogues.add("I'm here if you need any guidance or just want to chat.");
-        companionDialogues.add("Your suit's looking good. Maintaining equipment is important out here.");
-        companionDialogues.add("Every journey starts with a single step... or rocket launch!");
-    }
-
-    /**
-     * Initialize stage-specific dialogues for Mittenz's character progression
-     */
-    private void initializeStageSpecificDialogues() {
-        // HOSTILE stage - bratty, confused, demanding
-        List<String> hostileDialogues = new ArrayList<>();
-        hostileDialogues.add("Who the fuck are you?");
-        hostileDialogues.add("My dad will have you killed when he finds out about this.");
-        hostileDialogues.add("Where is my dad?");
-        hostileDialogues.add("Where are you taking me?");
-        hostileDialogues.add("I demand you give me that body!");
-        hostileDialogues.add("You can't do this to me! Do you know who I am?");
-        hostileDialogues.add("This is kidnapping! You're going to regret this!");
-        hostileDialogues.add("Let me out of here right now!");
-        hostileDialogues.add("What the hell do you think you're doing?");
-        hostileDialogues.add("I don't have to listen to you!");
-        stageSpecificDialogues.put(RelationshipStage.HOSTILE, hostileDialogues);
-
-        // CURIOUS stage - questioning, slightly insightful
-        List<String> curiousDialogues = new ArrayList<>();
-        curiousDialogues.add("What does this do?");
-        curiousDialogues.add("Wow, I can see all the ship's systems from here.");
-        curiousDialogues.add("He's lying to you, you know.");
-        curiousDialogues.add("Wait... is that really how it works?");
-        curiousDialogues.add("I've never seen anything like this before.");
-        curiousDialogues.add("Maybe... maybe this isn't what I thought it was.");
-        curiousDialogues.add("You're not like the others, are you?");
-        curiousDialogues.add("What's really going on here?");
-        curiousDialogues.add("I'm starting to see things differently now.");
-        curiousDialogues.add("That's actually pretty impressive.");
-        stageSpecificDialogues.put(RelationshipStage.CURIOUS, curiousDialogues);
-
-        // COOPERATIVE stage - accepting, "we need to" type conversations
-        List<String> cooperativeDialogues = new ArrayList<>();
-        cooperativeDialogues.add("We need to check the oxygen levels.");
-        cooperativeDialogues.add("We should probably investigate that sector.");
-        cooperativeDialogues.add("I think we need to recalibrate the navigation systems.");
-        cooperativeDialogues.add("We need to be more careful going forward.");
-        cooperativeDialogues.add("Let's work together on this one.");
-        cooperativeDialogues.add("We should scan that planet before landing.");
-        cooperativeDialogues.add("I'll help you monitor the ship's systems.");
-        cooperativeDialogues.add("We make a pretty good team, don't we?");
-        cooperativeDialogues.add("We need to prioritize fuel efficiency on this route.");
-        cooperativeDialogues.add("Together, we can figure this out.");
-        stageSpecificDialogues.put(RelationshipStage.COOPERATIVE, cooperativeDialogues);
-    }
-
     /**
      * Get a random greeting
      * @return A greeting message
@@ -125,10 +80,8 @@ public class DialogueSystem {
             return profile.getProfileGreeting();
         }
         
-        if (greetings.isEmpty()) {
-            return "Hello!";
-        }
-        return greetings.get(random.nextInt(greetings.size()));
+        String greeting = pick(greetings, addedGreetings);
+        return greeting == null ? "Hello!" : greeting;
     }
 
     /**
@@ -139,24 +92,35 @@ public class DialogueSystem {
     public String getRandomCompanionDialogue() {
         // Use profile companion dialogues if available
         if (profile != null) {
-            List<String> profileDialogues = profile.getProfileCompanionDialogues();
-            if (!profileDialogues.isEmpty()) {
-                return profileDialogues.get(random.nextInt(profileDialogues.size()));
+            int count = profile.getProfileCompanionDialogueCount();
+            if (count > 0) {
+                return profile.getProfileCompanionDialogue(random.nextInt(count));
             }
         }
         
         // Fallback to stage-specific dialogues
-        List<String> dialogues = stageSpecificDialogues.get(currentStage);
-        if (dialogues == null || dialogues.isEmpty()) {
+        List<String> dialogues = stageCompanionDialogues.get(currentStage);
+        if (dialogues.isEmpty()) {
             // Fallback to default dialogues
-            if (companionDialogues.isEmpty()) {
-                return "I'm here with you.";
-            }
-            return companionDialogues.get(random.nextInt(companionDialogues.size()));
+            String dialogue = pick(companionDialogues, addedCompanionDialogues);
+            return dialogue == null ? "I'm here with you." : dialogue;
         }
         return dialogues.get(random.nextInt(dialogues.size()));
     }
 
+    /**
+     * Pick a random line from corpus lines and lines added at runtime
+     * @return The line, or null if both lists are empty
+     */
+    private String pick(List<String> lines, List<String> added) {
+        int size = lines.size() + added.size();
+        if (size == 0) {
+            return null;
+        }
+        int index = random.nextInt(size);
+        return index < lines.size() ? lines.get(index) : added.get(index - lines.size());
+    }
+
     /**
      * Generate a response to a player's query
      * Response style varies based on current relationship stage
@@ -164,91 +128,97 @@ public class DialogueSystem {
      * @return The assistant's response
      */
     public String generateResponse(String query) {
-        if (query == null || query.trim().isEmpty()) {
+        if (query == null || query.isBlank()) {
             return "I didn't quite catch that. Could you repeat?";
         }
 
-        String lowerQuery = query.toLowerCase().trim();
-        
-        // Stage-specific response styles
-        if (currentStage == RelationshipStage.HOSTILE) {
-            return generateHostileResponse(lowerQuery);
-        } else if (currentStage == RelationshipStage.CURIOUS) {
-            return generateCuriousResponse(lowerQuery);
+        // Stage-specific response styles; matching is case-insensitive and single-pass
+        IntentMatcher intents = RESPONSE_INTENTS.get(currentStage);
+        if (intents == null) {
+            intents = RESPONSE_INTENTS.get(RelationshipStage.COOPERATIVE);
         }
-        
+        return intents.match(query);
+    }
+
+    /**
+     * Build the keyword intent tables for each stage. Within a stage the
+     * first intent whose keyword appears in the query wins.
+     */
+    private static Map<RelationshipStage, IntentMatcher> buildResponseIntents() {
+        Map<RelationshipStage, IntentMatcher> intents = new EnumMap<>(RelationshipStage.class);
+
+        // HOSTILE stage - defensive and angry
+        intents.put(RelationshipStage.HOSTILE, new IntentMatcher.Builder()
+            .addIntent("Why would I help you? You kidnapped me!", "help")
+            .addIntent("Don't tell me to calm down! Where's my dad?", "calm", "relax")
+            .addIntent("My father will find you. You won't get away with this!", "dad", "father")
+            .build("I don't have to answer your questions!"));
+
+        // CURIOUS stage - uncertain but engaging
+        intents.put(RelationshipStage.CURIOUS, new IntentMatcher.Builder()
+            .addIntent("What kind of help? I'm... still figuring things out here.", "help")
+            .addIntent("Oxygen management... that's actually important, isn't it?", "oxygen", "air")
+            .addIntent("I never thought I'd be exploring planets like this.", "planet")
+            .addIntent("These systems are more complex than I realized.", "system", "ship")
+            .build("Hmm, that's interesting. I'm starting to understand more."));
+
         // COOPERATIVE stage - helpful and friendly
-        return generateCooperativeResponse(lowerQuery);
+        intents.put(RelationshipStage.COOPERATIVE, new IntentMatcher.Builder()
+            .addIntent("I'm here to help! You can ask me about game mechanics, get reminders, or just chat.", "help")
+            .addIntent("Oxygen is crucial in space. Make sure to monitor your levels and refill when needed.",
+                "oxygen", "air")
+            .addIntent("There are many planets to explore! Each has unique characteristics and resources.", "planet")
+            .addIntent("Different planets have different gravity. Lower gravity means you can jump higher!", "gravity")
+            .addIntent("You're welcome! Happy to help anytime.", "thank")
+            .addIntent("Safe travels! I'll be here when you need me.", "bye", "goodbye")
+            .build("That's interesting! I'm still learning, but I'm here to keep you company."));
+
+        return intents;
     }
 
     /**
-     * Generate a hostile response (HOSTILE stage)
+     * Add a custom greeting
+     * @param greeting The greeting to add
      */
-    private String generateHostileResponse(String lowerQuery) {
-        if (lowerQuery.contains("help")) {
-            return "Why would I help you? You kidnapped me!";
-        } else if (lowerQuery.contains("calm") || lowerQuery.contains("relax")) {
-            return "Don't tell me to calm down! Where's my dad?";
-        } else if (lowerQuery.contains("dad") || lowerQuery.contains("father")) {
-            return "My father will find you. You won't get away with this!";
-        } else {
-            return "I don't have to answer your questions!";
-        }
+    public void addGreeting(String greeting) {
+        addedGreetings.add(greeting);
     }
 
     /**
-     * Generate a curious response (CURIOUS stage)
+     * Add a custom companion dialogue
+     * @param dialogue The dialogue to add
      */
-    private String generateCuriousResponse(String lowerQuery) {
-        if (lowerQuery.contains("help")) {
-            return "What kind of help? I'm... still figuring things out here.";
-        } else if (lowerQuery.contains("oxygen") || lowerQuery.contains("air")) {
-            return "Oxygen management... that's actually important, isn't it?";
-        } else if (lowerQuery.contains("planet")) {
-            return "I never thought I'd be exploring planets like this.";
-        } else if (lowerQuery.contains("system") || lowerQuery.contains("ship")) {
-            return "These systems are more complex than I realized.";
-        } else {
-            return "Hmm, that's interesting. I'm starting to understand more.";
-        }
+    public void addCompanionDialogue(String dialogue) {
+        addedCompanionDialogues.add(dialogue);
     }
 
     /**
-     * Generate a cooperative response (COOPERATIVE stage)
+     * Get the default greetings (used when no profile is set)
+     * @return Copy of the greeting list
      */
-    private String generateCooperativeResponse(String lowerQuery) {
-        // Simple keyword-based responses
-        if (lowerQuery.contains("help")) {
-            return "I'm here to help! You can ask me about game mechanics, get reminders, or just chat.";
-        } else if (lowerQuery.contains("oxygen") || lowerQuery.contains("air")) {
-            return "Oxygen is crucial in space. Make sure to monitor your levels and refill when needed.";
-        } else if (lowerQuery.contains("planet")) {
-            return "There are many planets to explore! Each has unique characteristics and resources.";
-        } else if (lowerQuery.contains("gravity")) {
-            return "Different planets have different gravity. Lower gravity means you can jump higher!";
-        } else if (lowerQuery.contains("thank")) {
-            return "You're welcome! Happy to help anytime.";
-        } else if (lowerQuery.contains("bye") || lowerQuery.contains("goodbye")) {
-            return "Safe travels! I'll be here when you need me.";
-        } else {
-            return "That's interesting! I'm still learning, but I'm here to keep you company.";
-        }
+    public List<String> getGreetings() {
+        List<String> all = new ArrayList<>(greetings);
+        all.addAll(addedGreetings);
+        return all;
     }
 
     /**
-     * Add a custom greeting
-     * @param greeting The greeting to add
+     * Get the default companion dialogues
+     * @return Copy of the companion dialogue list
      */
-    public void addGreeting(String greeting) {
-        greetings.add(greeting);
+    public List<String> getCompanionDialogues() {
+        List<String> all = new ArrayList<>(companionDialogues);
+        all.addAll(addedCompanionDialogues);
+        return all;
     }
 
     /**
-     * Add a custom companion dialogue
-     * @param dialogue The dialogue to add
+     * Get the companion dialogues for a relationship stage
+     * @param stage The relationship stage
+     * @return Copy of the stage's dialogue list (empty if none)
      */
-    public void addCompanionDialogue(String dialogue) {
-        companionDialogues.add(dialogue);
+    public List<String> getStageDialogues(RelationshipStage stage) {
+        return new ArrayList<>(stageCompanionDialogues.get(stage));
     }
 
     /**
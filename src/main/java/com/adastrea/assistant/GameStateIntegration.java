@@ -2,86 +2,252 @@ package com.adastrea.assistant;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Integration layer between the game and the AI Assistant.
  * This class implements GameStateListener and translates game events into
  * appropriate assistant responses.
+ *
+ * Listener methods may be called from any thread and never block: each event
+ * is posted to the assistant's mailbox and handled there, so the handlers
+ * (and the warning cooldowns) only ever run on one thread at a time.
+ *
+ * Oxygen, health and temperature readings drive NORMAL/WARNING/CRITICAL
+ * state machines with hysteresis. The latest reading of each is kept in a
+ * volatile field that the context tracker copies into the player state when
+ * it is read, so a reading that leaves the level unchanged costs a store and
+ * a few comparisons on the calling thread and nothing else. Only a change of
+ * level is posted, and the player is warned when a reading gets worse
+ * (WARNING subject to the cooldown, CRITICAL always), not on every call.
+ * A temperature the game flags as dangerous is at least WARNING, whatever
+ * the reading.
  */
 public class GameStateIntegration implements GameStateListener {
     
+    /** Player id of an integration that handles every row of single-player telemetry batches */
+    public static final int ANY_PLAYER = -1;
+    
     private final AIAssistant assistant;
     private final ContextTracker contextTracker;
-    private final Map<String, Long> lastWarningTime;
+    private final int playerId;
+    private final WarningCooldowns warningCooldowns;
+    private final int oxygenWarning;
+    private final int temperatureWarning;
+    private final int healthWarning;
+    // Resource types are only known when they are reported; ids by resource type
+    private final Map<String, Integer> resourceWarnings;
+    private final AssistantMetrics.Counter warningsGiven;
+    private final AssistantMetrics.Counter warningsSuppressed;
+    private final ThresholdMonitor oxygenMonitor;
+    private final ThresholdMonitor healthMonitor;
+    private final ThresholdMonitor heatMonitor;
+    private final ThresholdMonitor coldMonitor;
+    // The game's own danger flag from the last temperature reading; written on the mailbox
+    private volatile boolean temperatureDangerous;
+    private final LatestReading oxygenReading;
+    private final LatestReading healthReading;
+    private final LatestReading temperatureReading;
     
-    // Thresholds
-    private static final long WARNING_COOLDOWN_MS = 30000; // 30 seconds between same warnings
+    // Thresholds; the package-private ones are shared with TelemetryBatch
+    private static final long WARNING_COOLDOWN_MS = WarningCooldowns.DEFAULT_COOLDOWN_MS; // 30 seconds between same warnings
     private static final int OXYGEN_CRITICAL_THRESHOLD = 10;
-    private static final int OXYGEN_WARNING_THRESHOLD = 30;
+    static final int OXYGEN_WARNING_THRESHOLD = 30;
     private static final int HEALTH_CRITICAL_THRESHOLD = 20;
-    private static final int HEALTH_WARNING_THRESHOLD = 50;
+    static final int HEALTH_WARNING_THRESHOLD = 50;
     private static final int EMERGENCY_CRITICAL_SEVERITY = 4;
     private static final int EMERGENCY_HIGH_SEVERITY = 3;
     private static final int IDLE_TIME_THRESHOLD_MINUTES = 5;
-    private static final double TEMPERATURE_EXTREME_HEAT = 100.0;
-    private static final double TEMPERATURE_DANGEROUS_COLD = -50.0;
-    private static final double TEMPERATURE_CRITICAL_COLD = -100.0;
-    private static final double TEMPERATURE_CRITICAL_HEAT = 150.0;
+    static final double TEMPERATURE_EXTREME_HEAT = 100.0;
+    static final double TEMPERATURE_DANGEROUS_COLD = -50.0;
+    static final double TEMPERATURE_CRITICAL_COLD = -100.0;
+    static final double TEMPERATURE_CRITICAL_HEAT = 150.0;
+    // How far a reading must recover past a threshold to drop back a level
+    private static final int OXYGEN_HYSTERESIS = 5;
+    private static final int HEALTH_HYSTERESIS = 5;
+    private static final double TEMPERATURE_HYSTERESIS = 5.0;
     
     public GameStateIntegration(AIAssistant assistant) {
+        this(assistant, ANY_PLAYER);
+    }
+    
+    /**
+     * Create an integration for one player
+     * @param assistant The player's assistant
+     * @param playerId The player's id in telemetry batches, or ANY_PLAYER to handle every row
+     *                 of batches that carry a single player
+     */
+    public GameStateIntegration(AIAssistant assistant, int playerId) {
         this.assistant = assistant;
         this.contextTracker = assistant.getContextTracker();
-        this.lastWarningTime = new HashMap<>();
+        this.playerId = playerId;
+        this.warningCooldowns = new WarningCooldowns();
+        this.oxygenWarning = warningCooldowns.register("oxygen", WARNING_COOLDOWN_MS, TimeUnit.MILLISECONDS);
+        this.temperatureWarning = warningCooldowns.register("temperature", WARNING_COOLDOWN_MS, TimeUnit.MILLISECONDS);
+        this.healthWarning = warningCooldowns.register("health", WARNING_COOLDOWN_MS, TimeUnit.MILLISECONDS);
+        this.resourceWarnings = new HashMap<>();
+        this.warningsGiven = AssistantMetrics.getDefault().counter("warnings.given");
+        this.warningsSuppressed = AssistantMetrics.getDefault().counter("warnings.suppressed");
+        this.oxygenMonitor = ThresholdMonitor.falling(OXYGEN_WARNING_THRESHOLD, OXYGEN_CRITICAL_THRESHOLD, OXYGEN_HYSTERESIS);
+        this.healthMonitor = ThresholdMonitor.falling(HEALTH_WARNING_THRESHOLD, HEALTH_CRITICAL_THRESHOLD, HEALTH_HYSTERESIS);
+        this.heatMonitor = ThresholdMonitor.rising(TEMPERATURE_EXTREME_HEAT, TEMPERATURE_CRITICAL_HEAT, TEMPERATURE_HYSTERESIS);
+        this.coldMonitor = ThresholdMonitor.falling(TEMPERATURE_DANGEROUS_COLD, TEMPERATURE_CRITICAL_COLD, TEMPERATURE_HYSTERESIS);
+        this.oxygenReading = new LatestReading(PlayerState.OXYGEN, true);
+        this.healthReading = new LatestReading(PlayerState.HEALTH, true);
+        this.temperatureReading = new LatestReading(PlayerState.TEMPERATURE, false);
+        contextTracker.addPlayerStateSource(this::writeReadings);
+    }
+    
+    /**
+     * Copy the latest vital readings into the player state. Runs on the thread
+     * reading the context tracker.
+     */
+    private void writeReadings(PlayerState state) {
+        oxygenReading.writeTo(state);
+        healthReading.writeTo(state);
+        temperatureReading.writeTo(state);
+    }
+    
+    /**
+     * Get the warning cooldowns, e.g. to change how often a type of warning
+     * may repeat. Warning types: "oxygen", "temperature", "health" and
+     * "resource_&lt;type&gt;" once that resource has been reported low.
+     * Only change them from the assistant's mailbox (AIAssistant.post).
+     * @return The cooldown table
+     */
+    public WarningCooldowns getWarningCooldowns() {
+        return warningCooldowns;
     }
     
     /**
      * Check if enough time has passed since the last warning of this type
      * to avoid spamming the player with repetitive warnings.
      */
-    private boolean canWarn(String warningType) {
-        Long lastTime = lastWarningTime.get(warningType);
-        if (lastTime == null) {
-            lastWarningTime.put(warningType, System.currentTimeMillis());
+    private boolean canWarn(int warningType) {
+        if (warningCooldowns.tryWarn(warningType)) {
+            warningsGiven.increment();
             return true;
         }
-        
-        long timeSince = System.currentTimeMillis() - lastTime;
-        if (timeSince >= WARNING_COOLDOWN_MS) {
-            lastWarningTime.put(warningType, System.currentTimeMillis());
+        warningsSuppressed.increment();
+        return false;
+    }
+    
+    /**
+     * Decide whether a change of level deserves a warning. Recoveries are
+     * silent, CRITICAL always warns, WARNING respects the cooldown.
+     */
+    private boolean shouldWarn(AlertLevel previous, AlertLevel level, int warningType) {
+        if (level.compareTo(previous) <= 0) {
+            return false;
+        }
+        if (level == AlertLevel.CRITICAL) {
+            // Restart the cooldown so a later WARNING is not repeated straight away
+            warningCooldowns.tryWarn(warningType);
+            warningsGiven.increment();
             return true;
         }
-        return false;
+        return canWarn(warningType);
+    }
+    
+    /**
+     * Get the current oxygen level
+     * @return NORMAL, WARNING or CRITICAL
+     */
+    public AlertLevel getOxygenLevel() {
+        return oxygenMonitor.getLevel();
+    }
+    
+    /**
+     * Get the current health level
+     * @return NORMAL, WARNING or CRITICAL
+     */
+    public AlertLevel getHealthLevel() {
+        return healthMonitor.getLevel();
+    }
+    
+    /**
+     * Get the current temperature level, the worse of heat and cold, and at
+     * least WARNING while the game flags the temperature as dangerous
+     * @return NORMAL, WARNING or CRITICAL
+     */
+    public AlertLevel getTemperatureLevel() {
+        AlertLevel heat = heatMonitor.getLevel();
+        AlertLevel cold = coldMonitor.getLevel();
+        AlertLevel level = heat.compareTo(cold) >= 0 ? heat : cold;
+        if (temperatureDangerous && level == AlertLevel.NORMAL) {
+            return AlertLevel.WARNING;
+        }
+        return level;
+    }
+    
+    /**
+     * Check whether a temperature reading would change the temperature level
+     */
+    private boolean isTemperatureTransition(double temperature, boolean isDangerous) {
+        return heatMonitor.isTransition(temperature) || coldMonitor.isTransition(temperature)
+            || isDangerous != temperatureDangerous;
+    }
+    
+    private int resourceWarning(String resourceType) {
+        Integer id = resourceWarnings.get(resourceType);
+        if (id == null) {
+            id = warningCooldowns.register("resource_" + resourceType, WARNING_COOLDOWN_MS, TimeUnit.MILLISECONDS);
+            resourceWarnings.put(resourceType, id);
+        }
+        return id;
     }
     
     @Override
     public void onLowOxygen(int oxygenLevel, int timeRemaining) {
-        if (!canWarn("oxygen")) return;
-        
-        // Record in context
-        contextTracker.recordEvent("oxygen_low", "Oxygen at " + oxygenLevel + "%", 
-            oxygenLevel < OXYGEN_CRITICAL_THRESHOLD ? ContextTracker.EventSeverity.CRITICAL : ContextTracker.EventSeverity.HIGH);
-        contextTracker.updatePlayerState("oxygen", oxygenLevel);
+        oxygenReading.record(oxygenLevel);
+        // Readings that keep the current level need no further handling
+        if (!oxygenMonitor.isTransition(oxygenLevel)) return;
+        assistant.post(() -> handleLowOxygen(oxygenLevel, timeRemaining));
+    }
+    
+    private void handleLowOxygen(int oxygenLevel, int timeRemaining) {
+        AlertLevel previous = oxygenMonitor.update(oxygenLevel);
+        AlertLevel level = oxygenMonitor.getLevel();
+        if (level == previous) return;
+        if (!shouldWarn(previous, level, oxygenWarning)) return;
         
         String message;
+        ContextTracker.EventSeverity severity;
         
-        if (oxygenLevel < OXYGEN_CRITICAL_THRESHOLD) {
+        if (level == AlertLevel.CRITICAL) {
             message = "Critical! Oxygen at " + oxygenLevel + "%! You have about " + 
                      timeRemaining + " seconds!";
-        } else if (oxygenLevel < OXYGEN_WARNING_THRESHOLD) {
-            message = "Warning: Oxygen levels dropping. Currently at " + oxygenLevel + "%.";
+            severity = ContextTracker.EventSeverity.CRITICAL;
         } else {
-            message = "Heads up - oxygen is getting low. Might want to check that.";
+            message = "Warning: Oxygen levels dropping. Currently at " + oxygenLevel + "%.";
+            severity = ContextTracker.EventSeverity.HIGH;
         }
         
-        assistant.speak(message);
+        // Record in context
+        contextTracker.recordEvent("oxygen_low", "Oxygen at " + oxygenLevel + "%", severity);
+        assistant.speak(message, severity);
     }
     
     @Override
     public void onTemperatureWarning(double temperature, boolean isDangerous) {
-        if (!canWarn("temperature")) return;
+        temperatureReading.record(temperature);
+        // Readings that keep the current level need no further handling
+        if (!isTemperatureTransition(temperature, isDangerous)) return;
+        assistant.post(() -> handleTemperatureWarning(temperature, isDangerous));
+    }
+    
+    private void handleTemperatureWarning(double temperature, boolean isDangerous) {
+        AlertLevel previous = getTemperatureLevel();
+        heatMonitor.update(temperature);
+        coldMonitor.update(temperature);
+        temperatureDangerous = isDangerous;
+        AlertLevel level = getTemperatureLevel();
+        if (level == previous) return;
+        if (!shouldWarn(previous, level, temperatureWarning)) return;
         
+        boolean dangerous = isDangerous || level == AlertLevel.CRITICAL;
         String message;
-        if (isDangerous) {
+        if (dangerous) {
             if (temperature > TEMPERATURE_EXTREME_HEAT) {
                 message = "Extreme heat detected! " + temperature + " degrees. Find shelter immediately!";
             } else if (temperature < TEMPERATURE_DANGEROUS_COLD) {
@@ -93,12 +259,16 @@ public class GameStateIntegration implements GameStateListener {
             message = "Temperature is " + temperature + " degrees. Might want to be careful.";
         }
         
-        assistant.speak(message);
+        assistant.speak(message, dangerous ? ContextTracker.EventSeverity.HIGH : ContextTracker.EventSeverity.LOW);
     }
     
     @Override
     public void onLowResource(String resourceType, double amount, double threshold) {
-        if (!canWarn("resource_" + resourceType)) return;
+        assistant.post(() -> handleLowResource(resourceType, amount, threshold));
+    }
+    
+    private void handleLowResource(String resourceType, double amount, double threshold) {
+        if (!canWarn(resourceWarning(resourceType))) return;
         
         String message = resourceType + " is running low. You have " + 
                         String.format("%.1f", amount) + " remaining.";
@@ -118,6 +288,10 @@ public class GameStateIntegration implements GameStateListener {
     
     @Override
     public void onLocationEntered(String locationName, String locationType) {
+        assistant.post(() -> handleLocationEntered(locationName, locationType));
+    }
+    
+    private void handleLocationEntered(String locationName, String locationType) {
         // Update context
         contextTracker.setCurrentLocation(locationName);
         contextTracker.recordEvent("location_entered", locationName + " (" + locationType + ")", 
@@ -145,7 +319,7 @@ public class GameStateIntegration implements GameStateListener {
             message = "Arrived at " + locationName + " - a " + locationType + ".";
         }
         
-        assistant.speak(message);
+        assistant.speak(message, ContextTracker.EventSeverity.INFO);
         
         // Track location visit
         if (assistant.getProfile() instanceof MittenzProfile) {
@@ -156,6 +330,10 @@ public class GameStateIntegration implements GameStateListener {
     
     @Override
     public void onDiscovery(String discoveryType, String discoveryName) {
+        assistant.post(() -> handleDiscovery(discoveryType, discoveryName));
+    }
+    
+    private void handleDiscovery(String discoveryType, String discoveryName) {
         String message;
         
         if (assistant.getProfile() != null) {
@@ -179,7 +357,7 @@ public class GameStateIntegration implements GameStateListener {
             message = "Discovered: " + discoveryName + " (" + discoveryType + ")";
         }
         
-        assistant.speak(message);
+        assistant.speak(message, ContextTracker.EventSeverity.LOW);
         
         // Increase skill for discoveries
         if (assistant.getProfile() instanceof MittenzProfile) {
@@ -190,26 +368,41 @@ public class GameStateIntegration implements GameStateListener {
     
     @Override
     public void onLowHealth(int healthLevel, String damageSource) {
-        if (!canWarn("health")) return;
+        healthReading.record(healthLevel);
+        // Readings that keep the current level need no further handling
+        if (!healthMonitor.isTransition(healthLevel)) return;
+        assistant.post(() -> handleLowHealth(healthLevel, damageSource));
+    }
+    
+    private void handleLowHealth(int healthLevel, String damageSource) {
+        AlertLevel previous = healthMonitor.update(healthLevel);
+        AlertLevel level = healthMonitor.getLevel();
+        if (level == previous) return;
+        if (!shouldWarn(previous, level, healthWarning)) return;
         
         String message;
+        ContextTracker.EventSeverity severity;
         
-        if (healthLevel < HEALTH_CRITICAL_THRESHOLD) {
+        if (level == AlertLevel.CRITICAL) {
             message = "You're badly hurt! Health at " + healthLevel + "%!";
             if (damageSource != null && !damageSource.isEmpty()) {
                 message += " That " + damageSource + " really did a number on you.";
             }
-        } else if (healthLevel < HEALTH_WARNING_THRESHOLD) {
-            message = "Take it easy - you're at " + healthLevel + "% health.";
+            severity = ContextTracker.EventSeverity.CRITICAL;
         } else {
-            message = "Health is at " + healthLevel + "%. Be careful out there.";
+            message = "Take it easy - you're at " + healthLevel + "% health.";
+            severity = ContextTracker.EventSeverity.HIGH;
         }
         
-        assistant.speak(message);
+        assistant.speak(message, severity);
     }
     
     @Override
     public void onAchievement(String achievementName, String description) {
+        assistant.post(() -> handleAchievement(achievementName, description));
+    }
+    
+    private void handleAchievement(String achievementName, String description) {
         String message;
         
         if (assistant.getProfile() != null) {
@@ -232,7 +425,7 @@ public class GameStateIntegration implements GameStateListener {
             message = "Achievement: " + achievementName + " - " + description;
         }
         
-        assistant.speak(message);
+        assistant.speak(message, ContextTracker.EventSeverity.LOW);
         
         // Increase skill for achievements
         if (assistant.getProfile() instanceof MittenzProfile) {
@@ -243,6 +436,10 @@ public class GameStateIntegration implements GameStateListener {
     
     @Override
     public void onEmergency(String emergencyType, int severity) {
+        assistant.post(() -> handleEmergency(emergencyType, severity));
+    }
+    
+    private void handleEmergency(String emergencyType, int severity) {
         // Record emergency event in context tracker
         ContextTracker.EventSeverity eventSeverity;
         if (severity >= EMERGENCY_CRITICAL_SEVERITY) {
@@ -264,11 +461,15 @@ public class GameStateIntegration implements GameStateListener {
             message = emergencyType + " warning. Please address when possible.";
         }
         
-        assistant.speak(message);
+        assistant.speak(message, eventSeverity);
     }
     
     @Override
     public void onItemCrafted(String itemName, boolean isFirstTime) {
+        assistant.post(() -> handleItemCrafted(itemName, isFirstTime));
+    }
+    
+    private void handleItemCrafted(String itemName, boolean isFirstTime) {
         String message;
         
         if (isFirstTime) {
@@ -298,14 +499,152 @@ public class GameStateIntegration implements GameStateListener {
             message = "Crafted: " + itemName;
         }
         
-        assistant.speak(message);
+        assistant.speak(message, ContextTracker.EventSeverity.LOW);
     }
     
     @Override
     public void onIdleCheck(int minutesSinceLastInteraction, String currentActivity) {
+        assistant.post(() -> handleIdleCheck(minutesSinceLastInteraction, currentActivity));
+    }
+    
+    private void handleIdleCheck(int minutesSinceLastInteraction, String currentActivity) {
         // Only provide idle dialogue if enough time has passed
         if (minutesSinceLastInteraction >= IDLE_TIME_THRESHOLD_MINUTES) {
             assistant.provideCompanionDialogue();
         }
     }
+    
+    /**
+     * Check this player's rows on the calling thread and post one task per
+     * row only when a reading changes its alert level or a resource is below
+     * the batch threshold. Known readings are kept as the latest vitals, so a
+     * steady tick costs a few stores and comparisons per row and nothing
+     * else. Oxygen, health and temperature use this integration's state
+     * machines rather than the batch's thresholds.
+     *
+     * The state machines track one player. An integration created for
+     * ANY_PLAYER therefore only accepts batches whose rows all carry the same
+     * player id; give each player of a multiplayer batch its own integration.
+     *
+     * A batch carries no game danger flag: TelemetryBatch's "dangerous" only
+     * means past the critical thresholds, which the state machines already
+     * treat as CRITICAL. Batch temperatures are therefore handled as not
+     * flagged, and clear a flag set through onTemperatureWarning. Unknown
+     * temperatures are skipped.
+     * @throws IllegalArgumentException If this integration is for ANY_PLAYER
+     *         and the batch mixes players
+     */
+    @Override
+    public void onTelemetryBatch(TelemetryBatch batch) {
+        int size = batch.size();
+        int resourceCount = batch.getResourceCount();
+        if (playerId == ANY_PLAYER) {
+            // Checked up front so a rejected batch leaves the state machines untouched
+            for (int row = 1; row < size; row++) {
+                if (batch.getPlayerId(row) != batch.getPlayerId(0)) {
+                    throw new IllegalArgumentException("Batch mixes players " + batch.getPlayerId(0) + " and "
+                        + batch.getPlayerId(row) + "; create one integration per player id");
+                }
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            if (playerId != ANY_PLAYER && batch.getPlayerId(row) != playerId) {
+                continue;
+            }
+            int oxygen = batch.getOxygen(row);
+            int health = batch.getHealth(row);
+            double temperature = batch.getTemperature(row);
+            // Negative levels are unknown
+            if (oxygen >= 0) {
+                oxygenReading.record(oxygen);
+            }
+            if (health >= 0) {
+                healthReading.record(health);
+            }
+            if (!Double.isNaN(temperature)) {
+                temperatureReading.record(temperature);
+            }
+            boolean oxygenChanged = oxygen >= 0 && oxygenMonitor.isTransition(oxygen);
+            // NaN is unknown and must not touch the temperature level
+            boolean temperatureChanged = !Double.isNaN(temperature) && isTemperatureTransition(temperature, false);
+            boolean healthChanged = health >= 0 && healthMonitor.isTransition(health);
+            int lowResources = 0;
+            for (int resource = 0; resource < resourceCount; resource++) {
+                if (batch.isResourceLow(row, resource)) {
+                    lowResources++;
+                }
+            }
+            if (!oxygenChanged && !temperatureChanged && !healthChanged && lowResources == 0) {
+                continue;
+            }
+            
+            // The batch is reused after this call, so copy what the handlers need
+            int secondsRemaining = batch.getOxygenSecondsRemaining(row);
+            String[] resourceTypes = new String[lowResources];
+            double[] amounts = new double[lowResources];
+            double[] thresholds = new double[lowResources];
+            for (int resource = 0, low = 0; low < lowResources; resource++) {
+                if (batch.isResourceLow(row, resource)) {
+                    resourceTypes[low] = batch.getResourceType(resource);
+                    amounts[low] = batch.getResourceAmount(row, resource);
+                    thresholds[low] = batch.getResourceThreshold(resource);
+                    low++;
+                }
+            }
+            assistant.post(() -> {
+                if (oxygenChanged) {
+                    handleLowOxygen(oxygen, secondsRemaining);
+                }
+                if (temperatureChanged) {
+                    handleTemperatureWarning(temperature, false);
+                }
+                for (int i = 0; i < resourceTypes.length; i++) {
+                    handleLowResource(resourceTypes[i], amounts[i], thresholds[i]);
+                }
+                if (healthChanged) {
+                    handleLowHealth(health, null);
+                }
+            });
+        }
+    }
+    
+    public int getPlayerId() {
+        return playerId;
+    }
+    
+    /**
+     * The latest reading of one vital. Written by any thread with a single
+     * volatile store; copied into the player state by whoever reads it.
+     */
+    private static final class LatestReading {
+        private final PlayerState.Key key;
+        private final boolean integral;
+        // NaN until the first reading
+        private volatile double value;
+        
+        LatestReading(PlayerState.Key key, boolean integral) {
+            this.key = key;
+            this.integral = integral;
+            this.value = Double.NaN;
+        }
+        
+        void record(double reading) {
+            // An unknown reading keeps the last known one
+            if (!Double.isNaN(reading)) {
+                value = reading;
+            }
+        }
+        
+        void writeTo(PlayerState state) {
+            double reading = value;
+            if (Double.isNaN(reading)) {
+                return;
+            }
+            if (integral) {
+                state.set(key, (int) reading);
+            } else {
+                state.set(key, reading);
+            }
+        }
+    }
 }
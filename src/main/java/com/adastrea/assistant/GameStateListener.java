@@ -77,4 +77,33 @@ public interface GameStateListener {
      * @param currentActivity What the player is currently doing
      */
     void onIdleCheck(int minutesSinceLastInteraction, String currentActivity);
+    
+    /**
+     * Called once per tick with every player's telemetry, instead of one
+     * call per warning. The default checks each row against the batch's
+     * thresholds and calls onLowOxygen, onTemperatureWarning, onLowResource
+     * and onLowHealth for the warnings that apply. Listeners serving one
+     * player should be given only that player's rows, or filter on the
+     * player id column.
+     * @param batch The tick's samples; only valid during the call
+     */
+    default void onTelemetryBatch(TelemetryBatch batch) {
+        for (int row = 0; row < batch.size(); row++) {
+            if (batch.isOxygenLow(row)) {
+                onLowOxygen(batch.getOxygen(row), batch.getOxygenSecondsRemaining(row));
+            }
+            if (batch.isTemperatureExtreme(row)) {
+                onTemperatureWarning(batch.getTemperature(row), batch.isTemperatureDangerous(row));
+            }
+            for (int resource = 0; resource < batch.getResourceCount(); resource++) {
+                if (batch.isResourceLow(row, resource)) {
+                    onLowResource(batch.getResourceType(resource), batch.getResourceAmount(row, resource),
+                        batch.getResourceThreshold(resource));
+                }
+            }
+            if (batch.isHealthLow(row)) {
+                onLowHealth(batch.getHealth(row), null);
+            }
+        }
+    }
 }
@@ -0,0 +1,219 @@
+package com.adastrea.assistant;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps a query to the response of the first intent whose keywords it contains.
+ *
+ * Intents are checked in the order they were added, exactly like a chain of
+ * {@code if (query.contains(...)) ... else if ...}: keywords match anywhere in
+ * the query, case-insensitively, and when several intents match the earliest
+ * one wins. All keywords are compiled into a single Aho-Corasick automaton,
+ * so a query is scanned once, in time linear in its length, however many
+ * intents there are. Matching does not allocate.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public class IntentMatcher {
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    // Automaton: per-state sorted transition labels and targets, failure links,
+    // and the best (lowest) intent index that ends at the state or any suffix of it
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] failure;
+    private final int[] bestIntent;
+    private final String[] responses;
+    private final String defaultResponse;
+
+    private IntentMatcher(char[][] labels, int[][] targets, int[] failure, int[] bestIntent,
+                          String[] responses, String defaultResponse) {
+        this.labels = labels;
+        this.targets = targets;
+        this.failure = failure;
+        this.bestIntent = bestIntent;
+        this.responses = responses;
+        this.defaultResponse = defaultResponse;
+    }
+
+    /**
+     * Find the response for a query
+     * @param query The player's query
+     * @return The response of the first matching intent, or the default response
+     */
+    public String match(CharSequence query) {
+        int intent = matchIntent(query);
+        return intent == NO_MATCH ? defaultResponse : responses[intent];
+    }
+
+    /**
+     * Find the index of the first intent matching a query
+     * @param query The player's query
+     * @return The intent index (in the order intents were added), or -1 if none matches
+     */
+    public int indexOf(CharSequence query) {
+        int intent = matchIntent(query);
+        return intent == NO_MATCH ? -1 : intent;
+    }
+
+    /**
+     * Get the number of intents
+     * @return The intent count
+     */
+    public int getIntentCount() {
+        return responses.length;
+    }
+
+    private int matchIntent(CharSequence query) {
+        int best = NO_MATCH;
+        int state = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = Character.toLowerCase(query.charAt(i));
+            int next = step(state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = step(state, c);
+            }
+            state = next < 0 ? 0 : next;
+            if (bestIntent[state] < best) {
+                best = bestIntent[state];
+                if (best == 0) {
+                    // Nothing can beat the first intent
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int step(int state, char c) {
+        char[] stateLabels = labels[state];
+        int low = 0;
+        int high = stateLabels.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = stateLabels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return targets[state][mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Builds an IntentMatcher. Intents are matched in the order they are added.
+     */
+    public static class Builder {
+        private final List<String> responses;
+        private final List<String[]> keywords;
+
+        public Builder() {
+            this.responses = new ArrayList<>();
+            this.keywords = new ArrayList<>();
+        }
+
+        /**
+         * Add an intent
+         * @param response The response given when the intent matches
+         * @param intentKeywords Keywords, any of which triggers the intent
+         * @return This builder
+         */
+        public Builder addIntent(String response, String... intentKeywords) {
+            if (intentKeywords.length == 0) {
+                throw new IllegalArgumentException("An intent needs at least one keyword");
+            }
+            for (String keyword : intentKeywords) {
+                if (keyword.isEmpty()) {
+                    throw new IllegalArgumentException("Intent keywords cannot be empty");
+                }
+            }
+            responses.add(response);
+            keywords.add(intentKeywords.clone());
+            return this;
+        }
+
+        /**
+         * Compile the intents
+         * @param defaultResponse The response when no intent matches
+         * @return The matcher
+         */
+        public IntentMatcher build(String defaultResponse) {
+            // Trie of all keywords
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<Integer> ownIntent = new ArrayList<>();
+            children.add(new TreeMap<>());
+            ownIntent.add(NO_MATCH);
+            for (int intent = 0; intent < keywords.size(); intent++) {
+                for (String keyword : keywords.get(intent)) {
+                    int state = 0;
+                    for (int i = 0; i < keyword.length(); i++) {
+                        char c = Character.toLowerCase(keyword.charAt(i));
+                        Integer next = children.get(state).get(c);
+                        if (next == null) {
+                            next = children.size();
+                            children.get(state).put(c, next);
+                            children.add(new TreeMap<>());
+                            ownIntent.add(NO_MATCH);
+                        }
+                        state = next;
+                    }
+                    ownIntent.set(state, Math.min(ownIntent.get(state), intent));
+                }
+            }
+
+            int states = children.size();
+            char[][] labels = new char[states][];
+            int[][] targets = new int[states][];
+            for (int state = 0; state < states; state++) {
+                Map<Character, Integer> edges = children.get(state);
+                labels[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    labels[state][i] = edge.getKey();
+                    targets[state][i] = edge.getValue();
+                    i++;
+                }
+            }
+
+            // Failure links, breadth-first so a state's failure target is done before it
+            int[] failure = new int[states];
+            int[] bestIntent = new int[states];
+            bestIntent[0] = ownIntent.get(0);
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                failure[child] = 0;
+                bestIntent[child] = ownIntent.get(child);
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < labels[state].length; i++) {
+                    char c = labels[state][i];
+                    int child = targets[state][i];
+                    int fallback = failure[state];
+                    Integer next = children.get(fallback).get(c);
+                    while (next == null && fallback != 0) {
+                        fallback = failure[fallback];
+                        next = children.get(fallback).get(c);
+                    }
+                    failure[child] = next == null ? 0 : next;
+                    bestIntent[child] = Math.min(ownIntent.get(child), bestIntent[failure[child]]);
+                    queue.add(child);
+                }
+            }
+
+            return new IntentMatcher(labels, targets, failure, bestIntent,
+                responses.toArray(new String[0]), defaultResponse);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.adastrea.assistant;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inverted index from words to the slots of a fixed-size window of texts.
+ *
+ * Texts are normalized once when they are stored: lower-cased and split into
+ * words at every character that is not a letter or digit. Each word maps to
+ * the set of slots whose text contains it, so checking whether a word appears
+ * anywhere in the window is a single map lookup. Storing a text in an occupied
+ * slot first removes the old text's words, which keeps the index in step with
+ * a ring buffer that overwrites its oldest entry.
+ *
+ * Topics match on whole words: "oxygen" matches "Low OXYGEN!" but "oxy"
+ * does not. Multi-word topics match the words in order, as a phrase.
+ */
+public class KeywordIndex {
+    private final String[] normalized;
+    private final Map<String, BitSet> slotsByWord;
+
+    /**
+     * Create an empty index
+     * @param capacity The number of slots
+     */
+    public KeywordIndex(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.normalized = new String[capacity];
+        this.slotsByWord = new HashMap<>();
+    }
+
+    /**
+     * Store a text in a slot, replacing whatever the slot held
+     * @param slot The slot index
+     * @param text The text to index
+     */
+    public void put(int slot, String text) {
+        remove(slot);
+        String words = normalize(text);
+        normalized[slot] = words;
+        if (words.isEmpty()) {
+            return;
+        }
+        for (String word : words.split(" ")) {
+            slotsByWord.computeIfAbsent(word, w -> new BitSet(normalized.length)).set(slot);
+        }
+    }
+
+    /**
+     * Remove the text in a slot
+     * @param slot The slot index
+     */
+    public void remove(int slot) {
+        String old = normalized[slot];
+        if (old == null) {
+            return;
+        }
+        normalized[slot] = null;
+        if (old.isEmpty()) {
+            return;
+        }
+        for (String word : old.split(" ")) {
+            BitSet slots = slotsByWord.get(word);
+            if (slots != null) {
+                slots.clear(slot);
+                // Drop words that left the window so the map stays bounded
+                if (slots.isEmpty()) {
+                    slotsByWord.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check whether any stored text mentions a topic
+     * @param topic A word or phrase
+     * @return true if some text contains all of the topic's words, in order
+     */
+    public boolean containsTopic(String topic) {
+        String words = normalize(topic);
+        if (words.isEmpty()) {
+            return false;
+        }
+        int space = words.indexOf(' ');
+        if (space < 0) {
+            return slotsByWord.containsKey(words);
+        }
+
+        // Phrase: narrow to slots holding every word, then check word order
+        BitSet candidates = null;
+        for (String word : words.split(" ")) {
+            BitSet slots = slotsByWord.get(word);
+            if (slots == null) {
+                return false;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) slots.clone();
+            } else {
+                candidates.and(slots);
+            }
+        }
+        String phrase = " " + words + " ";
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            if ((" " + normalized[slot] + " ").contains(phrase)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of distinct words in the index
+     * @return The word count
+     */
+    public int getWordCount() {
+        return slotsByWord.size();
+    }
+
+    /**
+     * Remove every text
+     */
+    public void clear() {
+        Arrays.fill(normalized, null);
+        slotsByWord.clear();
+    }
+
+    /**
+     * Normalize text to lower-case words separated by single spaces
+     * @param text The text to normalize
+     * @return The normalized words (empty if the text has none)
+     */
+    static String normalize(String text) {
+        StringBuilder words = new StringBuilder(text.length());
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord && words.length() > 0) {
+                    words.append(' ');
+                }
+                words.appendCodePoint(Character.toLowerCase(codePoint));
+                inWord = true;
+            } else {
+                inWord = false;
+            }
+        }
+        return words.toString();
+    }
+}
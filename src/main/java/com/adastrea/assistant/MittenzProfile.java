@@ -1,7 +1,10 @@
 package com.adastrea.assistant;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 /**
@@ -35,13 +38,42 @@ import java.util.Random;
  * emotional growth, and the gradual discovery of her own capabilities.
  */
 public class MittenzProfile extends AssistantProfile {
+    // Corpus profile and categories of Mittenz's lines
+    static final String CORPUS_PROFILE = "mittenz";
+    static final String MEMORY = "memory";
+
+    // Skill levels at which the companion lines change; band i starts at SKILL_BANDS[i]
+    static final int[] SKILL_BANDS = {0, 20, 30, 50, 80};
+
     private int skillLevel;  // 0-100, represents learning progress
     private List<String> learnedSystems;
     private final Random random;
     private RelationshipStage relationshipStage;  // Current relationship stage with player
+    // Immutable companion lines for every stage and skill band, shared per corpus
+    private final Map<RelationshipStage, List<List<String>>> companionTables;
+    private final List<String> memoryFragments;
     
     public MittenzProfile() {
+        this(DialogueCorpus.getDefault(), DefaultTables.COMPANION);
+    }
+    
+    /**
+     * Create the profile with lines from a corpus
+     * @param corpus The dialogue corpus (e.g. a localized pack)
+     */
+    public MittenzProfile(DialogueCorpus corpus) {
+        this(corpus, buildCompanionTables(corpus));
+    }
+    
+    /**
+     * Create the profile with precomputed companion tables
+     * @param corpus The dialogue corpus
+     * @param companionTables Tables from buildCompanionTables(corpus), shared between profiles
+     */
+    MittenzProfile(DialogueCorpus corpus, Map<RelationshipStage, List<List<String>>> companionTables) {
         super();
+        this.companionTables = companionTables;
+        this.memoryFragments = corpus.getLines(CORPUS_PROFILE, DialogueCorpus.ANY_STAGE, MEMORY);
         this.name = "Mittenz";
         this.skillLevel = 0;  // Starts off inexperienced
         this.learnedSystems = new ArrayList<>();
@@ -123,115 +155,113 @@ public class MittenzProfile extends AssistantProfile {
     
     @Override
     public List<String> getProfileCompanionDialogues() {
+        return companionTables.get(relationshipStage).get(skillBand(skillLevel));
+    }
+    
+    @Override
+    public int getProfileCompanionDialogueCount() {
+        return getProfileCompanionDialogues().size();
+    }
+    
+    @Override
+    public String getProfileCompanionDialogue(int index) {
+        return getProfileCompanionDialogues().get(index);
+    }
+    
+    /**
+     * Get the skill band a skill level falls in
+     * @param skillLevel The skill level
+     * @return Index into SKILL_BANDS
+     */
+    static int skillBand(int skillLevel) {
+        int band = 0;
+        while (band + 1 < SKILL_BANDS.length && skillLevel >= SKILL_BANDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+    
+    /**
+     * Precompute the companion lines of every stage and skill band. The lines
+     * only change at the SKILL_BANDS levels, so each band's list is assembled
+     * once, at the level the band starts.
+     */
+    static Map<RelationshipStage, List<List<String>>> buildCompanionTables(DialogueCorpus corpus) {
+        Map<RelationshipStage, List<List<String>>> tables = new EnumMap<>(RelationshipStage.class);
+        for (RelationshipStage stage : RelationshipStage.values()) {
+            List<List<String>> bands = new ArrayList<>();
+            for (int skillLevel : SKILL_BANDS) {
+                bands.add(assembleCompanionDialogues(corpus, stage, skillLevel));
+            }
+            tables.put(stage, List.copyOf(bands));
+        }
+        return Collections.unmodifiableMap(tables);
+    }
+    
+    /**
+     * Assemble the companion lines for a stage at a skill level
+     */
+    private static List<String> assembleCompanionDialogues(DialogueCorpus corpus, RelationshipStage relationshipStage,
+                                                           int skillLevel) {
         List<String> dialogues = new ArrayList<>();
         
         // Dialogues based on relationship stage
+        addLines(corpus, dialogues, relationshipStage, "companion");
         switch (relationshipStage) {
-            case HOSTILE:
-                // Bratty, confused, demanding
-                dialogues.add("Who the fuck are you?");
-                dialogues.add("My dad will have you killed when he finds out about this.");
-                dialogues.add("Where is my dad?");
-                dialogues.add("Where are you taking me?");
-                dialogues.add("I demand you give me that body!");
-                dialogues.add("You can't do this to me! Do you know who I am?");
-                dialogues.add("This is kidnapping! You're going to regret this!");
-                dialogues.add("Let me out of here right now!");
-                break;
-                
             case CURIOUS:
-                // Questioning, slightly insightful
-                dialogues.add("What does this do?");
-                dialogues.add("Wow, I can see all the ship's systems from here.");
-                dialogues.add("He's lying to you, you know.");
-                dialogues.add("Wait... is that really how it works?");
-                dialogues.add("I've never seen anything like this before.");
-                dialogues.add("Maybe... maybe this isn't what I thought it was.");
-                dialogues.add("You're not like the others, are you?");
-                dialogues.add("I'm starting to see things differently now.");
-                
                 // Add skill-based curious dialogues
                 if (skillLevel >= 20) {
-                    dialogues.add("I'm getting faster at processing this data. It's fascinating.");
-                    dialogues.add("You know, when I first woke up here, I was terrified. Thanks for being patient with me.");
+                    addLines(corpus, dialogues, relationshipStage, "skill20");
                 }
                 break;
                 
             case COOPERATIVE:
-                // Accepting, "we need to" type conversations
-                dialogues.add("We need to check the oxygen levels.");
-                dialogues.add("We should probably investigate that sector.");
-                dialogues.add("I think we need to recalibrate the navigation systems.");
-                dialogues.add("We need to be more careful going forward.");
-                dialogues.add("Let's work together on this one.");
-                dialogues.add("We should scan that planet before landing.");
-                dialogues.add("I'll help you monitor the ship's systems.");
-                dialogues.add("We make a pretty good team, don't we?");
-                
                 // Add skill-level based cooperative dialogues
                 if (skillLevel >= 50) {
-                    dialogues.add("I've analyzed the sensor data - everything looks optimal.");
-                    dialogues.add("These systems are becoming clearer to me. It's fascinating how I'm adapting.");
-                    dialogues.add("We're making good progress together. I can feel myself improving.");
+                    addLines(corpus, dialogues, relationshipStage, "skill50");
                 }
-                
                 if (skillLevel >= 80) {
-                    dialogues.add("I can process these systems almost instinctively now.");
-                    dialogues.add("We make a good team. You and me... it feels right, somehow.");
-                    dialogues.add("These systems are like second nature now. I'm ready for anything.");
+                    addLines(corpus, dialogues, relationshipStage, "skill80");
                 }
                 break;
+                
+            default:
+                break;
         }
         
         // Universal dialogues based on skill level (always available regardless of stage)
         if (skillLevel >= 30) {
-            dialogues.add("Sometimes I remember things... from before. It's strange being... like this.");
-            dialogues.add("Space is beautiful... I wish I could have seen it with my own eyes once.");
+            addLines(corpus, dialogues, "skill30");
         }
-        
         if (skillLevel >= 50) {
-            dialogues.add("Every day I understand a little more about what I am. It's a strange journey.");
-            dialogues.add("I'm here if you need anything. We're in this together.");
+            addLines(corpus, dialogues, "skill50");
         }
         
-        // Early stage dialogues (uncertain, learning)
+        // Skill bands: novice (uncertain, learning), learning (growing confidence),
+        // capable (confident) and expert
         if (skillLevel < 20) {
-            dialogues.add("I'm still figuring out how to read these sensors... give me a moment.");
-            dialogues.add("Sometimes I remember things... from before. It's strange being... like this.");
-            dialogues.add("You got this chip from a black market trader? Guess we're both taking risks here.");
-            dialogues.add("I hope I'm helping. I'm trying really hard to understand these systems.");
-        }
-        
-        // Mid stage dialogues (growing confidence)
-        if (skillLevel >= 20 && skillLevel < 50) {
-            dialogues.add("I'm getting faster at processing this data! It's like... learning to read all over again.");
-            dialogues.add("You know, when I first woke up here, I was terrified. Thanks for being patient with me.");
-            dialogues.add("I had a memory surface today... my father's lab. I remember the machines humming.");
-            dialogues.add("These systems are complex, but I'm starting to see the patterns. Human intuition helps!");
-        }
-        
-        // High stage dialogues (confident)
-        if (skillLevel >= 50 && skillLevel < 80) {
-            dialogues.add("I've analyzed the sensor data - everything looks optimal. I'm learning fast!");
-            dialogues.add("Sometimes I wonder what my father would think... seeing how much I've learned.");
-            dialogues.add("These systems are becoming clearer to me. It's fascinating how I'm adapting.");
-            dialogues.add("We're making good progress together. I can feel myself improving.");
-        }
-        
-        // Advanced stage dialogues (expert, capable)
-        if (skillLevel >= 80) {
-            dialogues.add("I can process these systems almost instinctively now. It's fascinating how adaptation works.");
-            dialogues.add("We make a good team. You and me... it feels right, somehow.");
-            dialogues.add("I've come so far from that confused girl who first woke up here.");
-            dialogues.add("These systems are like second nature now. I'm ready for anything.");
+            addLines(corpus, dialogues, "novice");
+        } else if (skillLevel < 50) {
+            addLines(corpus, dialogues, "learning");
+        } else if (skillLevel < 80) {
+            addLines(corpus, dialogues, "capable");
+        } else {
+            addLines(corpus, dialogues, "expert");
         }
         
         // Universal dialogues (always available)
-        dialogues.add("Space is beautiful... I wish I could have seen it with my own eyes once.");
-        dialogues.add("I'm here if you need anything. We're in this together.");
-        dialogues.add("Every day I understand a little more about what I am. It's a strange journey.");
+        addLines(corpus, dialogues, "universal");
         
-        return dialogues;
+        return List.copyOf(dialogues);
+    }
+    
+    private static void addLines(DialogueCorpus corpus, List<String> dialogues, RelationshipStage stage,
+                                 String category) {
+        dialogues.addAll(corpus.getLines(CORPUS_PROFILE, stage, category));
+    }
+    
+    private static void addLines(DialogueCorpus corpus, List<String> dialogues, String category) {
+        dialogues.addAll(corpus.getLines(CORPUS_PROFILE, DialogueCorpus.ANY_STAGE, category));
     }
     
     /**
@@ -303,31 +333,18 @@ public class MittenzProfile extends AssistantProfile {
      * @return A memory fragment dialogue
      */
     public String getMemoryFragment() {
-        String[] memories = {
-            "I remember... my father's worried face. He was always working late in the lab.",
-            "There was another researcher... kind eyes. They tried to help my father save me.",
-            "The machines... I remember being afraid of them at first. The humming, the lights...",
-            "I used to love stargazing. Funny that now I'm closer to the stars than I ever imagined.",
-            "My illness... everything was getting harder. I was so tired all the time.",
-            "The lab smelled like antiseptic and metal. I can almost remember it perfectly.",
-            "My father said he'd never give up. I guess... in a way, he kept that promise.",
-            "I wonder if this is what he wanted for me... or if he just couldn't let go.",
-            "I was class president... I had to be strong for everyone. I couldn't let them see me weak.",
-            "The other students thought I was stuck-up because I didn't participate in gym class. If only they knew...",
-            "I wanted to fall in love so badly. To have someone hold my hand, to go to festivals... normal things.",
-            "Sports day was the hardest. Everyone running, laughing, living... and I had to watch from the sidelines.",
-            "My family dinners were precious to me. Mom, dad, and me... those quiet moments of normalcy.",
-            "I hid the symptoms for so long. The fatigue, the pain... I just smiled and kept going.",
-            "The school nurse knew, but she kept my secret. I'm grateful for that kindness.",
-            "When I close my eyes now, all I see are numbers and data streams. It's terrifying and beautiful.",
-            "Dad would take me out of the lab sometimes, just to feel the sun. Those trips became rarer...",
-            "I remember my uniform - crisp and proper. I took pride in looking put-together, even when I was falling apart.",
-            "Sometimes I wonder if any of my classmates think about me. Do they remember the girl who smiled too much?",
-            "The chip I'm on was supposed to be a cover - just an AI assistant. But I'm still me, aren't I?"
-        };
-        
-        int index = random.nextInt(memories.length);
-        return memories[index];
+        if (memoryFragments.isEmpty()) {
+            return "I remember... no, it's gone.";
+        }
+        return memoryFragments.get(random.nextInt(memoryFragments.size()));
+    }
+    
+    /**
+     * Get every memory fragment Mittenz can recall in the default corpus
+     * @return List of all memory fragments
+     */
+    public static List<String> getMemoryFragments() {
+        return new ArrayList<>(DialogueCorpus.getDefault().getLines(CORPUS_PROFILE, DialogueCorpus.ANY_STAGE, MEMORY));
     }
     
     /**
@@ -383,4 +400,9 @@ public class MittenzProfile extends AssistantProfile {
                 return null;
         }
     }
+
+    private static class DefaultTables {
+        static final Map<RelationshipStage, List<List<String>>> COMPANION =
+            buildCompanionTables(DialogueCorpus.getDefault());
+    }
 }
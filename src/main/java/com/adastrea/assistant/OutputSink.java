@@ -0,0 +1,43 @@
+package com.adastrea.assistant;
+
+/**
+ * Destination for the assistant's console lines ([AUDIO], [VISUAL], [TTS],
+ * [INFO], [WARNING], ...).
+ *
+ * Every manager writes through {@link AssistantOutput} instead of System.out
+ * and System.err, so an integration can send the lines to its own logger or
+ * hand them to an {@link AsyncOutputSink} that keeps console writes off game
+ * threads. Implementations must be safe to call from any thread.
+ */
+public interface OutputSink {
+    /** Writes each line straight to System.out or System.err */
+    OutputSink CONSOLE = new OutputSink() {
+        @Override
+        public void out(String line) {
+            System.out.println(line);
+        }
+
+        @Override
+        public void err(String line) {
+            System.err.println(line);
+        }
+    };
+
+    /**
+     * Write an informational line
+     * @param line The line, without a line terminator
+     */
+    void out(String line);
+
+    /**
+     * Write a warning or error line
+     * @param line The line, without a line terminator
+     */
+    void err(String line);
+
+    /**
+     * Wait until every line written so far has reached its destination
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,361 @@
+package com.adastrea.assistant;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Player state values reported by the game, such as oxygen, health and
+ * temperature.
+ *
+ * High-frequency numeric values are declared as typed {@link Key}s and kept
+ * in primitive slots, so updating them never boxes. Any other value is kept
+ * by name in a small copy-on-write map. {@link #snapshot()} returns an
+ * immutable copy that costs two small array copies; its {@link Snapshot#asMap()}
+ * view boxes values only when they are read.
+ *
+ * Not thread-safe, like the ContextTracker that owns it.
+ */
+public class PlayerState {
+    // Schema shared by every store: key name -> typed key with a fixed slot
+    private static final Map<String, Key> KEYS_BY_NAME = new ConcurrentHashMap<>();
+    private static final List<Key> KEYS = new CopyOnWriteArrayList<>();
+
+    /** Oxygen level, in percent */
+    public static final Key OXYGEN = Key.intKey("oxygen");
+    /** Health level, in percent */
+    public static final Key HEALTH = Key.intKey("health");
+    /** Ambient temperature, in degrees */
+    public static final Key TEMPERATURE = Key.doubleKey("temperature");
+
+    private long[] values;
+    private boolean[] present;
+    private Map<String, Object> objects;
+
+    public PlayerState() {
+        this.values = new long[KEYS.size()];
+        this.present = new boolean[KEYS.size()];
+        this.objects = Collections.emptyMap();
+    }
+
+    /**
+     * Set an int-typed value
+     * @param key An int key
+     * @param value The value
+     */
+    public void set(Key key, int value) {
+        key.requireType(Type.INT);
+        setRaw(key, value);
+    }
+
+    /**
+     * Set a double-typed value
+     * @param key A double key
+     * @param value The value
+     */
+    public void set(Key key, double value) {
+        key.requireType(Type.DOUBLE);
+        setRaw(key, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Set a value by name. Integers for int keys and doubles or floats for
+     * double keys are stored in the key's primitive slot; anything else is
+     * stored as an object.
+     * @param name The value name
+     * @param value The value
+     */
+    public void set(String name, Object value) {
+        Key key = KEYS_BY_NAME.get(name);
+        if (key != null && key.type == Type.INT && value instanceof Integer) {
+            setRaw(key, (Integer) value);
+            return;
+        }
+        if (key != null && key.type == Type.DOUBLE && (value instanceof Double || value instanceof Float)) {
+            setRaw(key, Double.doubleToRawLongBits(((Number) value).doubleValue()));
+            return;
+        }
+        if (key != null && key.index < present.length) {
+            present[key.index] = false;
+        }
+        Map<String, Object> updated = new HashMap<>(objects);
+        updated.put(name, value);
+        objects = Collections.unmodifiableMap(updated);
+    }
+
+    /**
+     * Get an int-typed value
+     * @param key An int key
+     * @param defaultValue The value returned if the key is not set
+     * @return The value
+     */
+    public int getInt(Key key, int defaultValue) {
+        key.requireType(Type.INT);
+        return isSet(key) ? (int) values[key.index] : defaultValue;
+    }
+
+    /**
+     * Get a double-typed value
+     * @param key A double key
+     * @param defaultValue The value returned if the key is not set
+     * @return The value
+     */
+    public double getDouble(Key key, double defaultValue) {
+        key.requireType(Type.DOUBLE);
+        return isSet(key) ? Double.longBitsToDouble(values[key.index]) : defaultValue;
+    }
+
+    /**
+     * Check whether a typed value is set
+     * @param key The key
+     * @return true if the key's slot holds a value
+     */
+    public boolean isSet(Key key) {
+        return key.index < present.length && present[key.index];
+    }
+
+    /**
+     * Get a value by name, boxing primitive values
+     * @param name The value name
+     * @return The value, or null if it is not set
+     */
+    public Object get(String name) {
+        Key key = KEYS_BY_NAME.get(name);
+        if (key != null && isSet(key)) {
+            return key.box(values[key.index]);
+        }
+        return objects.get(name);
+    }
+
+    /**
+     * Take an immutable copy of the current state
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(values.clone(), present.clone(), objects);
+    }
+
+    /**
+     * Remove every value
+     */
+    public void clear() {
+        Arrays.fill(present, false);
+        objects = Collections.emptyMap();
+    }
+
+    private void setRaw(Key key, long raw) {
+        if (key.index >= values.length) {
+            // Key registered after this store was created
+            int size = KEYS.size();
+            values = Arrays.copyOf(values, size);
+            present = Arrays.copyOf(present, size);
+        }
+        values[key.index] = raw;
+        present[key.index] = true;
+        if (!objects.isEmpty() && objects.containsKey(key.name)) {
+            Map<String, Object> updated = new HashMap<>(objects);
+            updated.remove(key.name);
+            objects = Collections.unmodifiableMap(updated);
+        }
+    }
+
+    /**
+     * Storage type of a key
+     */
+    public enum Type {
+        INT,
+        DOUBLE
+    }
+
+    /**
+     * An interned, typed player state key. Keys are registered once by name
+     * and shared by every PlayerState.
+     */
+    public static final class Key {
+        private final String name;
+        private final Type type;
+        private final int index;
+
+        private Key(String name, Type type, int index) {
+            this.name = name;
+            this.type = type;
+            this.index = index;
+        }
+
+        /**
+         * Get or register an int key
+         * @param name The value name
+         * @return The key
+         * @throws IllegalArgumentException If the name is registered with another type
+         */
+        public static Key intKey(String name) {
+            return register(name, Type.INT);
+        }
+
+        /**
+         * Get or register a double key
+         * @param name The value name
+         * @return The key
+         * @throws IllegalArgumentException If the name is registered with another type
+         */
+        public static Key doubleKey(String name) {
+            return register(name, Type.DOUBLE);
+        }
+
+        private static synchronized Key register(String name, Type type) {
+            Key key = KEYS_BY_NAME.get(name);
+            if (key == null) {
+                key = new Key(name, type, KEYS.size());
+                KEYS.add(key);
+                KEYS_BY_NAME.put(name, key);
+            } else if (key.type != type) {
+                throw new IllegalArgumentException("Player state key '" + name + "' is already registered as " + key.type);
+            }
+            return key;
+        }
+
+        public String getName() { return name; }
+        public Type getType() { return type; }
+
+        private void requireType(Type expected) {
+            if (type != expected) {
+                throw new IllegalArgumentException("Player state key '" + name + "' is " + type + ", not " + expected);
+            }
+        }
+
+        private Object box(long raw) {
+            // Not a conditional expression: that would unbox both branches to double
+            if (type == Type.INT) {
+                return Integer.valueOf((int) raw);
+            }
+            return Double.valueOf(Double.longBitsToDouble(raw));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Immutable copy of a PlayerState
+     */
+    public static final class Snapshot {
+        private final long[] values;
+        private final boolean[] present;
+        private final Map<String, Object> objects;
+        private Map<String, Object> map;
+
+        private Snapshot(long[] values, boolean[] present, Map<String, Object> objects) {
+            this.values = values;
+            this.present = present;
+            this.objects = objects;
+        }
+
+        public boolean isSet(Key key) {
+            return key.index < present.length && present[key.index];
+        }
+
+        public int getInt(Key key, int defaultValue) {
+            key.requireType(Type.INT);
+            return isSet(key) ? (int) values[key.index] : defaultValue;
+        }
+
+        public double getDouble(Key key, double defaultValue) {
+            key.requireType(Type.DOUBLE);
+            return isSet(key) ? Double.longBitsToDouble(values[key.index]) : defaultValue;
+        }
+
+        /**
+         * Get a read-only map view of every value. Primitive values are boxed
+         * as they are read.
+         * @return The map view
+         */
+        public Map<String, Object> asMap() {
+            if (map == null) {
+                map = new SnapshotMap();
+            }
+            return map;
+        }
+
+        private final class SnapshotMap extends AbstractMap<String, Object> {
+            private final Set<Map.Entry<String, Object>> entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    int count = objects.size();
+                    for (boolean set : present) {
+                        if (set) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }
+            };
+
+            @Override
+            public Set<Map.Entry<String, Object>> entrySet() {
+                return entries;
+            }
+
+            @Override
+            public Object get(Object name) {
+                Key key = KEYS_BY_NAME.get(name);
+                if (key != null && isSet(key)) {
+                    return key.box(values[key.index]);
+                }
+                return objects.get(name);
+            }
+
+            @Override
+            public boolean containsKey(Object name) {
+                Key key = KEYS_BY_NAME.get(name);
+                return (key != null && isSet(key)) || objects.containsKey(name);
+            }
+        }
+
+        private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+            private int slot = nextSlot(0);
+            private final Iterator<Map.Entry<String, Object>> rest = objects.entrySet().iterator();
+
+            private int nextSlot(int from) {
+                while (from < present.length && !present[from]) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < present.length || rest.hasNext();
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+                if (slot < present.length) {
+                    Key key = KEYS.get(slot);
+                    Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<>(key.name, key.box(values[slot]));
+                    slot = nextSlot(slot + 1);
+                    return entry;
+                }
+                if (!rest.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return rest.next();
+            }
+        }
+    }
+}
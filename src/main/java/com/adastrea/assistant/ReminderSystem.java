@@ -1,18 +1,65 @@
 package com.adastrea.assistant;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * Manages reminders for the player
+ *
+ * Reminders are kept in a min-heap ordered by their deadline on the monotonic
+ * {@link System#nanoTime()} clock, so a poll only looks at the reminders that
+ * are due: when none is, checking costs one clock read and a peek. Wall-clock
+ * changes do not move deadlines.
+ *
+ * Instead of polling, a due callback can be set: a single one-shot timer is
+ * kept armed for the earliest deadline and runs the callback when it passes.
+ *
+ * Not thread-safe; AIAssistant drives it from its mailbox.
  */
 public class ReminderSystem {
-    private final List<Reminder> reminders;
+    // Earliest deadline first; reminders due at the same time keep insertion order.
+    // Deadlines are compared by difference, so nanoTime wrap-around is harmless
+    private static final Comparator<Reminder> BY_DEADLINE = (a, b) -> {
+        long diff = a.dueNanos - b.dueNanos;
+        return diff != 0 ? Long.signum(diff) : Long.compare(a.sequence, b.sequence);
+    };
+
+    private final PriorityQueue<Reminder> reminders;
+    private final LongSupplier clock;
+    private long nextSequence;
+    private final AssistantMetrics.Counter addedCount;
+    private final AssistantMetrics.Counter firedCount;
+    private final AssistantMetrics.Histogram latenessNanos;
+
+    private ScheduledExecutorService timer;
+    private Runnable dueCallback;
+    private ScheduledFuture<?> armedTimer;
+    private long armedNanos;
 
     public ReminderSystem() {
-        this.reminders = new ArrayList<>();
+        this(System::nanoTime);
+    }
+
+    /**
+     * Create a reminder system on a custom monotonic clock
+     * @param clock Source of the current time in nanoseconds
+     */
+    ReminderSystem(LongSupplier clock) {
+        this.reminders = new PriorityQueue<>(BY_DEADLINE);
+        this.clock = clock;
+        AssistantMetrics metrics = AssistantMetrics.getDefault();
+        this.addedCount = metrics.counter("reminders.added");
+        this.firedCount = metrics.counter("reminders.fired");
+        this.latenessNanos = metrics.histogram("reminders.lateness.nanos");
     }
 
     /**
@@ -21,36 +68,89 @@ public class ReminderSystem {
      * @param delayMinutes Minutes until the reminder triggers
      */
     public void addReminder(String message, int delayMinutes) {
-        LocalDateTime triggerTime = LocalDateTime.now().plusMinutes(delayMinutes);
-        reminders.add(new Reminder(message, triggerTime));
+        addReminder(message, delayMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Add a new reminder
+     * @param message The reminder message
+     * @param delay Time until the reminder triggers
+     * @param unit The unit of the delay
+     */
+    public void addReminder(String message, long delay, TimeUnit unit) {
+        long delayNanos = unit.toNanos(delay);
+        LocalDateTime triggerTime = LocalDateTime.now().plusNanos(delayNanos);
+        reminders.add(new Reminder(message, triggerTime, clock.getAsLong() + delayNanos, nextSequence++));
+        addedCount.increment();
+        armTimer();
     }
 
     /**
      * Check for due reminders and return them
-     * @return List of due reminder messages
+     * @return List of due reminder messages, earliest first
      */
     public List<String> checkDueReminders() {
+        Reminder next = reminders.peek();
+        long now = clock.getAsLong();
+        if (next == null || !next.isDue(now)) {
+            return Collections.emptyList();
+        }
         List<String> dueReminders = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-        Iterator<Reminder> iterator = reminders.iterator();
-        
-        while (iterator.hasNext()) {
-            Reminder reminder = iterator.next();
-            if (reminder.isDue(now)) {
-                dueReminders.add(reminder.getMessage());
-                iterator.remove();
-            }
+        while (next != null && next.isDue(now)) {
+            reminders.poll();
+            dueReminders.add(next.getMessage());
+            latenessNanos.record(now - next.dueNanos);
+            next = reminders.peek();
         }
-        
+        firedCount.add(dueReminders.size());
+        armTimer();
         return dueReminders;
     }
 
+    /**
+     * Get the time until the next reminder is due
+     * @param unit The unit of the result
+     * @return Time until the earliest reminder (0 if it is due), or -1 if there are none
+     */
+    public long getTimeUntilNextReminder(TimeUnit unit) {
+        Reminder next = reminders.peek();
+        if (next == null) {
+            return -1;
+        }
+        return unit.convert(Math.max(0, next.dueNanos - clock.getAsLong()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Run a callback whenever a reminder comes due, instead of waiting for the
+     * next poll. The callback runs on the timer's thread and should hand off
+     * to the owner of this system (AIAssistant posts checkReminders() to its
+     * mailbox), which then collects the due reminders with checkDueReminders().
+     * @param timer The scheduler used for the one-shot timer, or null to stop pushing
+     * @param callback The callback to run when a reminder is due
+     */
+    public void setDueCallback(ScheduledExecutorService timer, Runnable callback) {
+        cancelTimer();
+        this.timer = timer;
+        this.dueCallback = callback;
+        armTimer();
+    }
+
     /**
      * Get all active reminders
-     * @return List of all reminders
+     * @return List of all reminders, earliest first
      */
     public List<Reminder> getAllReminders() {
-        return new ArrayList<>(reminders);
+        List<Reminder> all = new ArrayList<>(reminders);
+        all.sort(BY_DEADLINE);
+        return all;
+    }
+
+    /**
+     * Get the number of active reminders
+     * @return The reminder count
+     */
+    public int getReminderCount() {
+        return reminders.size();
     }
 
     /**
@@ -58,6 +158,28 @@ public class ReminderSystem {
      */
     public void clearAllReminders() {
         reminders.clear();
+        cancelTimer();
+    }
+
+    private void armTimer() {
+        Reminder next = reminders.peek();
+        if (timer == null || dueCallback == null || next == null) {
+            cancelTimer();
+            return;
+        }
+        if (armedTimer != null && !armedTimer.isDone() && armedNanos == next.dueNanos) {
+            return;
+        }
+        cancelTimer();
+        armedNanos = next.dueNanos;
+        armedTimer = timer.schedule(dueCallback, Math.max(0, next.dueNanos - clock.getAsLong()), TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelTimer() {
+        if (armedTimer != null) {
+            armedTimer.cancel(false);
+            armedTimer = null;
+        }
     }
 
     /**
@@ -66,16 +188,29 @@ public class ReminderSystem {
     public static class Reminder {
         private final String message;
         private final LocalDateTime triggerTime;
+        private final long dueNanos;
+        private final long sequence;
 
         public Reminder(String message, LocalDateTime triggerTime) {
+            this(message, triggerTime,
+                System.nanoTime() + Duration.between(LocalDateTime.now(), triggerTime).toNanos(), 0);
+        }
+
+        private Reminder(String message, LocalDateTime triggerTime, long dueNanos, long sequence) {
             this.message = message;
             this.triggerTime = triggerTime;
+            this.dueNanos = dueNanos;
+            this.sequence = sequence;
         }
 
         public String getMessage() {
             return message;
         }
 
+        /**
+         * Get the wall-clock time the reminder was set for, for display
+         * @return The trigger time
+         */
         public LocalDateTime getTriggerTime() {
             return triggerTime;
         }
@@ -83,5 +218,14 @@ public class ReminderSystem {
         public boolean isDue(LocalDateTime currentTime) {
             return currentTime.isAfter(triggerTime) || currentTime.isEqual(triggerTime);
         }
+
+        /**
+         * Check whether the reminder is due on the monotonic clock
+         * @param nowNanos The current System.nanoTime() value
+         * @return true if the deadline has passed
+         */
+        public boolean isDue(long nowNanos) {
+            return nowNanos - dueNanos >= 0;
+        }
     }
 }
@@ -0,0 +1,100 @@
+package com.adastrea.assistant;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Fixed-capacity list that keeps the most recent elements.
+ *
+ * Elements are stored in a circular array. Adding to a full buffer
+ * overwrites the oldest element in place, so adding never shifts or
+ * allocates. Indexing is oldest-first: get(0) is the oldest element and
+ * get(size() - 1) the newest.
+ *
+ * Only add() and clear() modify the buffer; other mutators are unsupported.
+ * Iterators fail fast if the buffer changes while they are in use. Not
+ * thread-safe.
+ *
+ * @param <E> The element type
+ */
+public class RingBuffer<E> extends AbstractList<E> implements RandomAccess {
+    private final Object[] elements;
+    private int head;
+    private int size;
+
+    /**
+     * Create an empty buffer
+     * @param capacity The maximum number of elements kept
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Append an element, overwriting the oldest one if the buffer is full
+     * @param element The element to add
+     * @return Always true
+     */
+    @Override
+    public boolean add(E element) {
+        int capacity = elements.length;
+        int tail = head + size;
+        if (tail >= capacity) {
+            tail -= capacity;
+        }
+        elements[tail] = element;
+        if (size == capacity) {
+            head = head + 1 == capacity ? 0 : head + 1;
+        } else {
+            size++;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        int slot = head + index;
+        if (slot >= elements.length) {
+            slot -= elements.length;
+        }
+        return (E) elements[slot];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the maximum number of elements kept
+     * @return The capacity
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Check whether the next add will overwrite the oldest element
+     * @return true if the buffer is full
+     */
+    public boolean isFull() {
+        return size == elements.length;
+    }
+
+    @Override
+    public void clear() {
+        // Drop references so cleared elements can be collected
+        Arrays.fill(elements, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+}
@@ -0,0 +1,92 @@
+package com.adastrea.assistant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into sentence-sized chunks for streaming speech synthesis.
+ *
+ * A sentence ends at '.', '!' or '?' (optionally followed by closing quotes
+ * or brackets) when the next word starts with an upper-case letter or digit,
+ * so trailing-off ellipses such as "I remember... my father" stay in one
+ * chunk. Chunks shorter than the minimum length are merged into the next
+ * one, which avoids choppy delivery of lines like "Hi! I'm Mittenz."
+ */
+public class SentenceChunker {
+    // Chunks shorter than this are joined with the following sentence
+    public static final int DEFAULT_MIN_CHUNK_LENGTH = 24;
+
+    private SentenceChunker() {
+    }
+
+    /**
+     * Split text into chunks using the default minimum chunk length.
+     *
+     * @param text The text to split
+     * @return The chunks in order; a single chunk if the text has one sentence
+     */
+    public static List<String> split(String text) {
+        return split(text, DEFAULT_MIN_CHUNK_LENGTH);
+    }
+
+    /**
+     * Split text into chunks.
+     *
+     * @param text The text to split
+     * @param minChunkLength Chunks shorter than this are merged into the next one
+     * @return The chunks in order; a single chunk if the text has one sentence
+     */
+    public static List<String> split(String text, int minChunkLength) {
+        List<String> chunks = new ArrayList<>();
+        String trimmed = text.trim();
+        if (trimmed.isEmpty()) {
+            return chunks;
+        }
+
+        int start = 0;
+        int length = trimmed.length();
+        for (int i = 0; i < length; i++) {
+            if (!isTerminator(trimmed.charAt(i))) {
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && (isTerminator(trimmed.charAt(end)) || isCloser(trimmed.charAt(end)))) {
+                end++;
+            }
+            int next = end;
+            while (next < length && Character.isWhitespace(trimmed.charAt(next))) {
+                next++;
+            }
+            i = end - 1;
+            if (next == end || next == length || !startsSentence(trimmed.charAt(next))) {
+                continue;
+            }
+            if (end - start >= minChunkLength) {
+                chunks.add(trimmed.substring(start, end));
+                start = next;
+            }
+        }
+        if (start < length) {
+            String tail = trimmed.substring(start);
+            if (tail.length() < minChunkLength && !chunks.isEmpty()) {
+                // Too short to stand alone; keep it with the previous sentence
+                chunks.set(chunks.size() - 1, chunks.get(chunks.size() - 1) + " " + tail);
+            } else {
+                chunks.add(tail);
+            }
+        }
+        return chunks;
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+
+    private static boolean isCloser(char c) {
+        return c == '"' || c == '\'' || c == ')' || c == ']';
+    }
+
+    private static boolean startsSentence(char c) {
+        return Character.isUpperCase(c) || Character.isDigit(c) || c == '"' || c == '\'';
+    }
+}
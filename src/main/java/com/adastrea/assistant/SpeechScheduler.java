@@ -0,0 +1,305 @@
+package com.adastrea.assistant;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Orders the assistant's spoken lines so urgent warnings are never stuck
+ * behind companion chatter.
+ *
+ * Lines are queued in one lane per {@link ContextTracker.EventSeverity} and
+ * spoken one at a time, highest severity first (FIFO within a lane). A
+ * CRITICAL line drops every queued INFO/LOW line and cancels an INFO/LOW line
+ * that is still being synthesized, so it can start right away. Each line has
+ * a deadline; lines still queued when it passes are dropped rather than
+ * spoken late.
+ *
+ * The scheduler has no thread of its own: the next line is started by the
+ * caller that queues it (when idle) or by the completion of the previous line.
+ */
+public class SpeechScheduler {
+    // Queued lines per lane; the oldest line is dropped when a lane overflows
+    private static final int MAX_QUEUED_PER_LANE = 8;
+
+    private final AudioManager audioManager;
+    private final List<ArrayDeque<Line>> lanes;
+    private final AtomicInteger wip;
+    private Line current;
+    // Lines dropped under the lock, cancelled once it is released
+    private List<Line> dropped;
+
+    private long spokenCount;
+    private long droppedCount;
+    private long preemptedCount;
+
+    public SpeechScheduler(AudioManager audioManager) {
+        this.audioManager = audioManager;
+        int laneCount = ContextTracker.EventSeverity.values().length;
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new ArrayDeque<>());
+        }
+        this.wip = new AtomicInteger();
+        this.dropped = new ArrayList<>();
+    }
+
+    /**
+     * Queue a line with the default deadline for its severity.
+     *
+     * @param message The message to speak
+     * @param severity The priority lane
+     * @return Future completing when the line has been spoken; cancelled if
+     *         the line was dropped or preempted
+     */
+    public CompletableFuture<Void> submit(String message, ContextTracker.EventSeverity severity) {
+        return submit(message, severity, getDefaultMaxAgeMillis(severity));
+    }
+
+    /**
+     * Queue a line.
+     *
+     * @param message The message to speak
+     * @param severity The priority lane
+     * @param maxAgeMillis How long the line may wait in the queue before it is dropped
+     * @return Future completing when the line has been spoken; cancelled if
+     *         the line was dropped or preempted
+     */
+    public CompletableFuture<Void> submit(String message, ContextTracker.EventSeverity severity, long maxAgeMillis) {
+        Line line = new Line(message, severity, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxAgeMillis));
+        Line preempted = null;
+        synchronized (this) {
+            if (severity == ContextTracker.EventSeverity.CRITICAL) {
+                preempted = preemptChatter();
+            }
+            ArrayDeque<Line> lane = lanes.get(severity.ordinal());
+            if (lane.size() >= MAX_QUEUED_PER_LANE) {
+                drop(lane.pollFirst());
+            }
+            lane.addLast(line);
+        }
+        // Cancel outside the lock: cancellation runs the line's completion callbacks
+        cancelDropped();
+        if (preempted != null) {
+            preempted.done.cancel(false);
+            if (preempted.playback != null) {
+                preempted.playback.cancel(false);
+            }
+        }
+        drain();
+        return line.done;
+    }
+
+    /**
+     * Get the default queueing deadline for a severity. Warnings go stale
+     * quickly because the game state they describe keeps changing.
+     *
+     * @param severity The priority lane
+     * @return Maximum queueing time in milliseconds
+     */
+    public long getDefaultMaxAgeMillis(ContextTracker.EventSeverity severity) {
+        switch (severity) {
+            case CRITICAL:
+            case HIGH:
+                return 5000;
+            case MEDIUM:
+                return 15000;
+            default:
+                return 30000;
+        }
+    }
+
+    /**
+     * Drop every queued line. A line that is already being spoken finishes.
+     */
+    public void clear() {
+        synchronized (this) {
+            for (ArrayDeque<Line> lane : lanes) {
+                while (!lane.isEmpty()) {
+                    drop(lane.pollFirst());
+                }
+            }
+        }
+        cancelDropped();
+    }
+
+    /**
+     * Get the number of lines waiting to be spoken
+     * @return Queued line count across all lanes
+     */
+    public synchronized int getQueuedCount() {
+        int count = 0;
+        for (ArrayDeque<Line> lane : lanes) {
+            count += lane.size();
+        }
+        return count;
+    }
+
+    public synchronized boolean isSpeaking() {
+        return current != null;
+    }
+
+    public synchronized long getSpokenCount() {
+        return spokenCount;
+    }
+
+    /**
+     * Get the number of lines dropped from the queue (stale, overflowed,
+     * cleared, or displaced by a critical line)
+     * @return Dropped line count
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Get the number of in-flight lines cancelled by a critical line
+     * @return Preempted line count
+     */
+    public synchronized long getPreemptedCount() {
+        return preemptedCount;
+    }
+
+    /**
+     * Clear the INFO and LOW lanes and detach an INFO/LOW line in flight.
+     * Caller must hold the lock.
+     *
+     * @return The in-flight line to cancel, or null
+     */
+    private Line preemptChatter() {
+        for (int i = 0; i <= ContextTracker.EventSeverity.LOW.ordinal(); i++) {
+            ArrayDeque<Line> lane = lanes.get(i);
+            while (!lane.isEmpty()) {
+                drop(lane.pollFirst());
+            }
+        }
+        if (current != null && current.severity.compareTo(ContextTracker.EventSeverity.LOW) <= 0) {
+            Line preempted = current;
+            preempted.cancelled = true;
+            preemptedCount++;
+            current = null;
+            return preempted;
+        }
+        return null;
+    }
+
+    /**
+     * Count a line as dropped and defer its cancellation to
+     * {@link #cancelDropped()}. Caller must hold the lock.
+     */
+    private void drop(Line line) {
+        droppedCount++;
+        dropped.add(line);
+    }
+
+    /**
+     * Cancel the lines dropped since the last call. Must be called without
+     * the lock held.
+     */
+    private void cancelDropped() {
+        List<Line> lines;
+        synchronized (this) {
+            if (dropped.isEmpty()) {
+                return;
+            }
+            lines = dropped;
+            dropped = new ArrayList<>();
+        }
+        for (Line line : lines) {
+            line.done.cancel(false);
+        }
+    }
+
+    /**
+     * Start queued lines until one is in flight. Re-entrant calls (e.g. from a
+     * line that completed synchronously) are folded into the running loop.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Line line;
+            while ((line = next()) != null) {
+                cancelDropped();
+                start(line);
+            }
+            cancelDropped();
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private synchronized Line next() {
+        if (current != null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        for (int i = lanes.size() - 1; i >= 0; i--) {
+            ArrayDeque<Line> lane = lanes.get(i);
+            Line line;
+            while ((line = lane.pollFirst()) != null) {
+                if (now - line.deadline > 0) {
+                    drop(line);
+                    continue;
+                }
+                current = line;
+                return line;
+            }
+        }
+        return null;
+    }
+
+    private void start(Line line) {
+        CompletableFuture<Void> playback;
+        try {
+            playback = audioManager.playVoiceAsync(line.message, line.severity);
+        } catch (RuntimeException e) {
+            AssistantOutput.err("[ERROR] Failed to start speech: " + e.getMessage());
+            playback = CompletableFuture.completedFuture(null);
+        }
+
+        boolean cancelled;
+        synchronized (this) {
+            line.playback = playback;
+            cancelled = line.cancelled;
+        }
+        if (cancelled) {
+            // Preempted before its playback future was known
+            playback.cancel(false);
+        }
+        playback.whenComplete((ignored, error) -> finished(line));
+    }
+
+    private void finished(Line line) {
+        synchronized (this) {
+            if (current == line) {
+                current = null;
+            }
+            if (!line.cancelled) {
+                spokenCount++;
+            }
+        }
+        line.done.complete(null);
+        drain();
+    }
+
+    /**
+     * A queued or in-flight line. Mutable fields are guarded by the scheduler lock.
+     */
+    private static final class Line {
+        final String message;
+        final ContextTracker.EventSeverity severity;
+        final long deadline;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> playback;
+        boolean cancelled;
+
+        Line(String message, ContextTracker.EventSeverity severity, long deadline) {
+            this.message = message;
+            this.severity = severity;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.adastrea.assistant;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Raw PCM audio produced by the TTS workers.
+ *
+ * Samples are signed little-endian integers, as in a WAV data chunk. The
+ * underlying buffer is read-only and shared; {@link #getPcm()} returns an
+ * independent view so several consumers can read it at once.
+ */
+public class SynthesizedAudio {
+    private static final int WAV_HEADER_BYTES = 44;
+
+    private final int sampleRate;
+    private final int channels;
+    private final int bitsPerSample;
+    private final ByteBuffer pcm;
+
+    /**
+     * @param sampleRate Samples per second (e.g. 22050)
+     * @param channels Number of interleaved channels
+     * @param bitsPerSample Bits per sample (16 for the Coqui workers)
+     * @param pcm The sample data; its position..limit range is used
+     */
+    public SynthesizedAudio(int sampleRate, int channels, int bitsPerSample, ByteBuffer pcm) {
+        this.sampleRate = sampleRate;
+        this.channels = channels;
+        this.bitsPerSample = bitsPerSample;
+        this.pcm = pcm.slice().asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+
+    /**
+     * Get a read-only view of the sample data positioned at the first sample
+     * @return The PCM buffer
+     */
+    public ByteBuffer getPcm() {
+        return pcm.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Get the size of the sample data
+     * @return Number of PCM bytes
+     */
+    public int getByteCount() {
+        return pcm.remaining();
+    }
+
+    /**
+     * Get the playback length of the clip
+     * @return Duration in milliseconds
+     */
+    public long getDurationMillis() {
+        int bytesPerSecond = sampleRate * channels * (bitsPerSample / 8);
+        if (bytesPerSecond <= 0) {
+            return 0;
+        }
+        return pcm.remaining() * 1000L / bytesPerSecond;
+    }
+
+    /**
+     * Read a PCM WAV file.
+     * @param path The WAV file
+     * @return The decoded audio
+     * @throws IOException If the file cannot be read or is not integer PCM
+     */
+    public static SynthesizedAudio readWav(Path path) throws IOException {
+        return fromWav(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Decode an in-memory PCM WAV image. The returned audio shares the
+     * buffer's data chunk rather than copying it.
+     * @param wav The WAV bytes
+     * @return The decoded audio
+     * @throws IOException If the data is not an integer PCM WAV
+     */
+    public static SynthesizedAudio fromWav(ByteBuffer wav) throws IOException {
+        ByteBuffer buffer = wav.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 12 || buffer.getInt(0) != 0x46464952 || buffer.getInt(8) != 0x45564157) {
+            throw new IOException("Not a RIFF/WAVE stream");
+        }
+
+        int sampleRate = 0;
+        int channels = 0;
+        int bitsPerSample = 0;
+        int position = 12;
+        while (position + 8 <= buffer.limit()) {
+            int chunkId = buffer.getInt(position);
+            int chunkSize = buffer.getInt(position + 4);
+            int body = position + 8;
+            if (chunkSize < 0) {
+                throw new IOException("Corrupt WAV chunk size: " + chunkSize);
+            }
+            if (chunkId == 0x20746D66) { // "fmt "
+                int format = buffer.getShort(body) & 0xFFFF;
+                if (format != 1) {
+                    throw new IOException("Unsupported WAV format: " + format);
+                }
+                channels = buffer.getShort(body + 2) & 0xFFFF;
+                sampleRate = buffer.getInt(body + 4);
+                bitsPerSample = buffer.getShort(body + 14) & 0xFFFF;
+            } else if (chunkId == 0x61746164) { // "data"
+                if (sampleRate == 0) {
+                    throw new IOException("WAV data chunk before fmt chunk");
+                }
+                int end = Math.min(buffer.limit(), body + chunkSize);
+                ByteBuffer data = buffer.duplicate();
+                data.position(body).limit(end);
+                return new SynthesizedAudio(sampleRate, channels, bitsPerSample, data);
+            }
+            // Chunks are padded to an even size
+            position = body + chunkSize + (chunkSize & 1);
+        }
+        throw new IOException("WAV stream has no data chunk");
+    }
+
+    /**
+     * Write the clip as a canonical 44-byte-header WAV stream
+     * @param out The stream to write to
+     * @throws IOException If the stream cannot be written
+     */
+    public void writeWav(OutputStream out) throws IOException {
+        int dataSize = pcm.remaining();
+        int blockAlign = channels * (bitsPerSample / 8);
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(new byte[] {'R', 'I', 'F', 'F'}).putInt(36 + dataSize)
+            .put(new byte[] {'W', 'A', 'V', 'E'})
+            .put(new byte[] {'f', 'm', 't', ' '}).putInt(16)
+            .putShort((short) 1).putShort((short) channels)
+            .putInt(sampleRate).putInt(sampleRate * blockAlign)
+            .putShort((short) blockAlign).putShort((short) bitsPerSample)
+            .put(new byte[] {'d', 'a', 't', 'a'}).putInt(dataSize);
+        out.write(header.array());
+
+        ByteBuffer data = getPcm();
+        byte[] chunk = new byte[8192];
+        while (data.hasRemaining()) {
+            int n = Math.min(chunk.length, data.remaining());
+            data.get(chunk, 0, n);
+            out.write(chunk, 0, n);
+        }
+    }
+
+    /**
+     * Write the clip to a WAV file. The file is written under a temporary name
+     * and moved into place, so readers never see a partially written file.
+     * @param path The destination path
+     * @throws IOException If the file cannot be written
+     */
+    public void writeWav(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp" + Thread.currentThread().getId());
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            writeWav(out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,263 @@
+package com.adastrea.assistant;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded executor for TTS work.
+ *
+ * Synthesis blocks while it waits for a resident worker, so it must not run on
+ * ForkJoinPool.commonPool() where it would starve parallel streams and other
+ * async work in the same JVM. This executor has a fixed number of named daemon
+ * threads, a bounded queue, and a configurable policy for work that arrives
+ * when the queue is full.
+ *
+ * Rejected or discarded jobs are never silently lost: their futures complete
+ * exceptionally with a RejectedExecutionException, so callers can fall back
+ * (e.g. to subtitles only).
+ */
+public class TTSExecutor {
+
+    /**
+     * What to do with a job when all threads are busy and the queue is full.
+     */
+    public enum RejectionPolicy {
+        /** Fail the new job */
+        ABORT,
+        /** Run the new job on the submitting thread */
+        CALLER_RUNS,
+        /** Fail the new job without logging */
+        DISCARD,
+        /** Fail the oldest queued job and queue the new one instead */
+        DISCARD_OLDEST;
+
+        /**
+         * Parse a policy name as written in assistant.properties
+         * (e.g. "caller-runs", "discard_oldest"). Unknown names map to ABORT.
+         * @param name The policy name
+         * @return The matching policy
+         */
+        public static RejectionPolicy fromString(String name) {
+            if (name == null) {
+                return ABORT;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                AssistantOutput.err("[WARNING] Unknown TTS rejection policy '" + name + "', using abort");
+                return ABORT;
+            }
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final RejectionPolicy rejectionPolicy;
+    private final boolean virtualThreads;
+    private final AtomicLong rejectedCount;
+
+    /**
+     * Create an executor from the TTS settings in the assistant configuration.
+     *
+     * @param config The assistant configuration
+     */
+    public TTSExecutor(AssistantConfig config) {
+        this(config.getTtsExecutorThreads(), config.getTtsExecutorQueueCapacity(),
+            RejectionPolicy.fromString(config.getTtsExecutorRejectionPolicy()),
+            config.isTtsExecutorVirtualThreads());
+    }
+
+    /**
+     * Create a TTS executor.
+     *
+     * @param threads Maximum number of jobs running at once (at least 1)
+     * @param queueCapacity Maximum number of jobs waiting to run (at least 1)
+     * @param rejectionPolicy What to do when the queue is full
+     * @param useVirtualThreads Run jobs on virtual threads if the JVM supports them
+     */
+    public TTSExecutor(int threads, int queueCapacity, RejectionPolicy rejectionPolicy, boolean useVirtualThreads) {
+        int size = Math.max(1, threads);
+        ThreadFactory virtualFactory = useVirtualThreads ? virtualThreadFactory() : null;
+        this.virtualThreads = virtualFactory != null;
+        this.rejectionPolicy = rejectionPolicy;
+        this.rejectedCount = new AtomicLong();
+        this.executor = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            virtualFactory != null ? virtualFactory : platformThreadFactory(),
+            new RejectionHandler());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a job on the executor.
+     *
+     * @param job The work to run
+     * @return Future completing with the job's result, or exceptionally if the
+     *         job failed or was rejected
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> job) {
+        Job<T> task = new Job<>(job);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.reject(e);
+        }
+        return task.future;
+    }
+
+    /**
+     * Stop accepting jobs. Queued jobs that have not started are failed;
+     * running jobs are allowed to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        List<Runnable> pending = new ArrayList<>();
+        executor.getQueue().drainTo(pending);
+        for (Runnable r : pending) {
+            ((Job<?>) r).reject(new RejectedExecutionException("TTS executor is shut down"));
+        }
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Check whether jobs run on virtual threads. False if virtual threads were
+     * requested but the JVM does not support them.
+     * @return true if virtual threads are in use
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    public int getThreadCount() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public int getQueueCapacity() {
+        return executor.getQueue().size() + executor.getQueue().remainingCapacity();
+    }
+
+    /**
+     * Get the number of jobs waiting to run
+     * @return The current queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Get the number of jobs failed by the rejection policy
+     * @return Rejected and discarded job count
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "tts-executor-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Look up Thread.ofVirtual() reflectively so the project still builds and
+     * runs on Java 17. Returns null if virtual threads are unavailable.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            // Resolve methods on the public Thread.Builder interface, not the JDK-internal implementation class
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "tts-virtual-", 1L);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AssistantOutput.err("[WARNING] Virtual threads are not available on this JVM, using platform threads for TTS");
+            return null;
+        }
+    }
+
+    /**
+     * A job whose future is failed rather than dropped if the job never runs.
+     */
+    private static final class Job<T> implements Runnable {
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Job(Supplier<T> work) {
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(work.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        void reject(RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private final class RejectionHandler implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor pool) {
+            Job<?> job = (Job<?>) r;
+            if (pool.isShutdown()) {
+                rejectedCount.incrementAndGet();
+                job.reject(new RejectedExecutionException("TTS executor is shut down"));
+                return;
+            }
+
+            switch (rejectionPolicy) {
+                case CALLER_RUNS:
+                    job.run();
+                    return;
+                case DISCARD_OLDEST:
+                    Runnable oldest = pool.getQueue().poll();
+                    if (oldest != null) {
+                        rejectedCount.incrementAndGet();
+                        ((Job<?>) oldest).reject(new RejectedExecutionException("Discarded by a newer TTS job"));
+                    }
+                    pool.execute(job);
+                    return;
+                case DISCARD:
+                    rejectedCount.incrementAndGet();
+                    job.reject(new RejectedExecutionException("TTS queue is full"));
+                    return;
+                case ABORT:
+                default:
+                    rejectedCount.incrementAndGet();
+                    AssistantOutput.err("[WARNING] TTS queue is full (" + pool.getQueue().size() + " jobs), rejecting request");
+                    job.reject(new RejectedExecutionException("TTS queue is full"));
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.adastrea.assistant;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed binary framing between Java and tts_generate_human.py --server.
+ *
+ * Every frame is a big-endian u32 length followed by that many bytes: a u8
+ * frame type and a type-specific body.
+ *
+ * Requests (Java to worker):
+ * - SYNTHESIZE: text, emotion, urgency, relationship, each as a u32 byte
+ *   count followed by UTF-8 bytes
+ *
+ * Responses (worker to Java):
+ * - READY: empty body, sent once after the model has loaded
+ * - AUDIO: u32 sample rate, u16 channels, u16 bits per sample, then raw
+ *   little-endian PCM filling the rest of the frame
+ * - ERROR: UTF-8 error message filling the rest of the frame
+ */
+public final class TTSProtocol {
+
+    public static final byte REQUEST_SYNTHESIZE = 1;
+
+    public static final byte RESPONSE_READY = 0;
+    public static final byte RESPONSE_AUDIO = 1;
+    public static final byte RESPONSE_ERROR = 2;
+
+    /** Frames larger than this are treated as a corrupted stream */
+    public static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    private static final int AUDIO_HEADER_BYTES = 8;
+
+    private TTSProtocol() {
+    }
+
+    /**
+     * Write a SYNTHESIZE request frame and flush it.
+     */
+    public static void writeSynthesizeRequest(DataOutputStream out, String text, String emotion,
+                                              String urgency, String relationshipStage) throws IOException {
+        byte[][] fields = {
+            text.getBytes(StandardCharsets.UTF_8),
+            emotion.getBytes(StandardCharsets.UTF_8),
+            urgency.getBytes(StandardCharsets.UTF_8),
+            relationshipStage.getBytes(StandardCharsets.UTF_8)
+        };
+        int length = 1;
+        for (byte[] field : fields) {
+            length += 4 + field.length;
+        }
+        if (length > MAX_FRAME_BYTES) {
+            throw new IOException("Request frame too large: " + length + " bytes");
+        }
+
+        out.writeInt(length);
+        out.writeByte(REQUEST_SYNTHESIZE);
+        for (byte[] field : fields) {
+            out.writeInt(field.length);
+            out.write(field);
+        }
+        out.flush();
+    }
+
+    /**
+     * Read one response frame. The frame body is read straight into a single
+     * buffer; audio is returned as a slice of it without further copying.
+     *
+     * @return The decoded response
+     * @throws EOFException If the worker closed its stdout
+     * @throws IOException If the frame is malformed
+     */
+    public static Response readResponse(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 1 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Invalid response frame length: " + length);
+        }
+
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        byte type = buffer.get();
+
+        switch (type) {
+            case RESPONSE_READY:
+                return new Response(type, null, null);
+            case RESPONSE_AUDIO:
+                if (buffer.remaining() < AUDIO_HEADER_BYTES) {
+                    throw new IOException("Truncated audio frame");
+                }
+                int sampleRate = buffer.getInt();
+                int channels = buffer.getShort() & 0xFFFF;
+                int bitsPerSample = buffer.getShort() & 0xFFFF;
+                return new Response(type, new SynthesizedAudio(sampleRate, channels, bitsPerSample, buffer), null);
+            case RESPONSE_ERROR:
+                String message = new String(frame, 1, length - 1, StandardCharsets.UTF_8);
+                return new Response(type, null, message);
+            default:
+                throw new IOException("Unknown response frame type: " + type);
+        }
+    }
+
+    /**
+     * A decoded response frame.
+     */
+    public static class Response {
+        private final byte type;
+        private final SynthesizedAudio audio;
+        private final String errorMessage;
+
+        Response(byte type, SynthesizedAudio audio, String errorMessage) {
+            this.type = type;
+            this.audio = audio;
+            this.errorMessage = errorMessage;
+        }
+
+        public byte getType() { return type; }
+        public SynthesizedAudio getAudio() { return audio; }
+        public String getErrorMessage() { return errorMessage; }
+    }
+}
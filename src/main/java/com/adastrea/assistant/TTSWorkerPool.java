@@ -0,0 +1,258 @@
+package com.adastrea.assistant;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of long-lived Python TTS worker processes.
+ *
+ * Each worker runs scripts/tts_generate_human.py in --server mode, loads the
+ * Tacotron2 model once and then serves synthesis requests over stdin/stdout
+ * using the binary framing in {@link TTSProtocol}. Audio comes back as raw PCM,
+ * so nothing is written to disk. This avoids paying the model load cost and a
+ * WAV round trip on every uncached line.
+ *
+ * Workers that crash, hang or break the protocol are destroyed and replaced
+ * with a fresh process the next time their slot is used.
+ *
+ * @see CoquiTTSAudioManager
+ */
+public class TTSWorkerPool {
+
+    // Model loading happens before the first reply, so it gets a longer budget
+    private static final long STARTUP_TIMEOUT_SECONDS = 120;
+    private static final long REQUEST_TIMEOUT_SECONDS = 60;
+
+    private final String pythonExecutable;
+    private final String scriptPath;
+    private final int size;
+    private final BlockingQueue<TTSWorker> idleWorkers;
+    private final ScheduledExecutorService watchdog;
+    private final AtomicInteger restartCount;
+    private volatile boolean shutdown;
+
+    /**
+     * Create a new worker pool. Worker processes are started immediately so the
+     * model loads in the background while the game keeps running.
+     *
+     * @param pythonExecutable The Python executable to use
+     * @param scriptPath Path to tts_generate_human.py
+     * @param size Number of resident workers (at least 1)
+     */
+    public TTSWorkerPool(String pythonExecutable, String scriptPath, int size) {
+        this.pythonExecutable = pythonExecutable;
+        this.scriptPath = scriptPath;
+        this.size = Math.max(1, size);
+        this.idleWorkers = new ArrayBlockingQueue<>(this.size);
+        this.restartCount = new AtomicInteger();
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tts-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < this.size; i++) {
+            idleWorkers.add(new TTSWorker(i));
+        }
+    }
+
+    /**
+     * Synthesize a line on the next free worker.
+     * Blocks until a worker is available and has finished the request.
+     *
+     * @param text The text to synthesize
+     * @param emotion The emotion to convey
+     * @param urgency The urgency level
+     * @param relationshipStage The relationship context
+     * @return The synthesized PCM audio
+     * @throws IOException If the worker failed, timed out or the pool is shut down
+     * @throws InterruptedException If interrupted while waiting for a worker
+     */
+    public SynthesizedAudio synthesize(String text, String emotion, String urgency, String relationshipStage)
+            throws IOException, InterruptedException {
+        if (shutdown) {
+            throw new IOException("TTS worker pool is shut down");
+        }
+
+        TTSWorker worker = idleWorkers.take();
+        try {
+            worker.ensureStarted();
+            return worker.request(text, emotion, urgency, relationshipStage);
+        } catch (TTSRequestException e) {
+            throw e;
+        } catch (IOException e) {
+            worker.destroy();
+            throw e;
+        } finally {
+            if (shutdown) {
+                worker.destroy();
+            } else {
+                idleWorkers.add(worker);
+            }
+        }
+    }
+
+    /**
+     * Stop all worker processes. Requests in progress are allowed to fail.
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (TTSWorker worker : idleWorkers) {
+            worker.destroy();
+        }
+        watchdog.shutdownNow();
+    }
+
+    /**
+     * Get the configured number of workers
+     * @return The pool size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the number of times a crashed or hung worker has been restarted
+     * @return The restart count
+     */
+    public int getRestartCount() {
+        return restartCount.get();
+    }
+
+    /**
+     * A single resident Python process and its stdin/stdout channel.
+     * Only ever used by the thread that took it from the idle queue.
+     */
+    private class TTSWorker {
+        private final int id;
+        private Process process;
+        private DataOutputStream stdin;
+        private DataInputStream stdout;
+        private boolean ready;
+        private boolean broken;
+
+        TTSWorker(int id) {
+            this.id = id;
+            try {
+                start();
+            } catch (IOException e) {
+                // Retried on first use
+                AssistantOutput.err("[WARNING] Could not start TTS worker " + id + ": " + e.getMessage());
+            }
+        }
+
+        private void start() throws IOException {
+            ProcessBuilder pb = new ProcessBuilder(pythonExecutable, scriptPath, "--server");
+            process = pb.start();
+            stdin = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            stdout = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+            ready = false;
+            broken = false;
+            startStderrDrain(process);
+        }
+
+        /**
+         * Make sure the process is alive and the model is loaded, restarting it if it died.
+         */
+        void ensureStarted() throws IOException {
+            if (process == null || broken || !process.isAlive()) {
+                if (process != null) {
+                    restartCount.incrementAndGet();
+                    AssistantOutput.err("[WARNING] TTS worker " + id + " exited, restarting");
+                }
+                start();
+            }
+            if (!ready) {
+                TTSProtocol.Response reply = readResponse(STARTUP_TIMEOUT_SECONDS);
+                if (reply.getType() != TTSProtocol.RESPONSE_READY) {
+                    throw new IOException("TTS worker " + id + " failed to start");
+                }
+                ready = true;
+            }
+        }
+
+        /**
+         * Send one request and wait for its reply.
+         */
+        SynthesizedAudio request(String text, String emotion, String urgency, String relationshipStage)
+                throws IOException {
+            TTSProtocol.writeSynthesizeRequest(stdin, text, emotion, urgency, relationshipStage);
+
+            TTSProtocol.Response reply = readResponse(REQUEST_TIMEOUT_SECONDS);
+            if (reply.getType() == TTSProtocol.RESPONSE_ERROR) {
+                // The worker itself is still healthy; only this request failed
+                throw new TTSRequestException(reply.getErrorMessage());
+            }
+            if (reply.getType() != TTSProtocol.RESPONSE_AUDIO) {
+                throw new IOException("Unexpected reply from TTS worker " + id + ": type " + reply.getType());
+            }
+            return reply.getAudio();
+        }
+
+        /**
+         * Read one response frame, killing the process if it does not answer in time.
+         */
+        private TTSProtocol.Response readResponse(long timeoutSeconds) throws IOException {
+            Process current = process;
+            ScheduledFuture<?> timeout = watchdog.schedule(current::destroyForcibly, timeoutSeconds, TimeUnit.SECONDS);
+            try {
+                return TTSProtocol.readResponse(stdout);
+            } catch (EOFException e) {
+                throw new IOException("TTS worker " + id + " exited or timed out");
+            } finally {
+                timeout.cancel(false);
+            }
+        }
+
+        void destroy() {
+            if (process != null) {
+                process.destroyForcibly();
+                broken = true;
+            }
+        }
+
+        private void startStderrDrain(Process p) {
+            Thread drain = new Thread(() -> {
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(p.getErrorStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.contains("ERROR") || line.contains("WARNING")) {
+                            AssistantOutput.err("[TTS] " + line);
+                        }
+                    }
+                } catch (IOException e) {
+                    // Process went away
+                }
+            }, "tts-worker-" + id + "-stderr");
+            drain.setDaemon(true);
+            drain.start();
+        }
+    }
+
+    /**
+     * Raised when a worker reports that a single request failed. The worker
+     * process remains usable and is not restarted.
+     */
+    public static class TTSRequestException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public TTSRequestException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,54 +1,37 @@
 package com.adastrea.assistant;
 
-import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provides teaching and tutorial content to help players learn game mechanics
  */
 public class TeachingSystem {
+    // Spoken when a topic has no lesson
+    static final String UNKNOWN_TOPIC_LESSON = "I don't have specific information on that topic yet, but I'm always learning! Try asking about: oxygen, gravity, fuel, resources, or navigation.";
+
+    // Corpus categories of lessons are "lesson.<topic>"
+    static final String LESSON_PREFIX = "lesson.";
+
+    private final DialogueCorpus corpus;
+    // Lessons added at runtime; they take precedence over the corpus. Concurrent
+    // so one TeachingSystem can be shared by every session of an AssistantHub
     private final Map<String, String> lessons;
 
     public TeachingSystem() {
-        this.lessons = new HashMap<>();
-        initializeLessons();
+        this(DialogueCorpus.getDefault());
     }
 
     /**
-     * Initialize default lessons
+     * Create a teaching system that reads its lessons from a corpus
+     * @param corpus The dialogue corpus (e.g. a localized pack)
      */
-    private void initializeLessons() {
-        // Basic mechanics
-        lessons.put("oxygen", 
-            "Oxygen is essential for survival in space. Monitor your oxygen meter and refill at oxygen stations or return to your spacecraft.");
-        
-        lessons.put("gravity", 
-            "Each celestial body has different gravity. Lower gravity allows higher jumps but affects movement speed. Adjust your play style accordingly.");
-        
-        lessons.put("temperature", 
-            "Temperature varies greatly in space. Extreme heat or cold can damage your suit. Use appropriate protective gear and seek shelter when needed.");
-        
-        lessons.put("fuel", 
-            "Your spacecraft requires fuel to travel between planets. Make sure to stock up before long journeys and plan your route carefully.");
-        
-        lessons.put("resources", 
-            "Different planets contain unique resources. Scan planets before landing to identify valuable materials worth collecting.");
-        
-        lessons.put("crafting", 
-            "Use collected resources to craft better equipment, tools, and upgrades. Access your crafting interface to see available recipes.");
-        
-        lessons.put("navigation", 
-            "Use your star map to plan routes between planets. Consider distance, fuel requirements, and available resources at your destination.");
-        
-        lessons.put("exploration", 
-            "Exploration is rewarded! Look for hidden caves, abandoned structures, and rare materials on each planet you visit.");
-        
-        // General tips
-        lessons.put("safety", 
-            "Always check your life support systems before venturing out. Carry backup oxygen and emergency supplies.");
-        
-        lessons.put("starter", 
-            "Welcome to space exploration! Start by familiarizing yourself with your base, craft basic tools, and make short trips to nearby locations.");
+    public TeachingSystem(DialogueCorpus corpus) {
+        this.corpus = corpus;
+        this.lessons = new ConcurrentHashMap<>();
     }
 
     /**
@@ -57,11 +40,16 @@ public class TeachingSystem {
      * @return The lesson content
      */
     public String getLesson(String topic) {
-        String lesson = lessons.get(topic.toLowerCase().trim());
-        if (lesson == null) {
-            return "I don't have specific information on that topic yet, but I'm always learning! Try asking about: oxygen, gravity, fuel, resources, or navigation.";
+        String key = topic.toLowerCase().trim();
+        String lesson = lessons.get(key);
+        if (lesson != null) {
+            return lesson;
+        }
+        List<String> lines = corpusLesson(key);
+        if (lines.isEmpty()) {
+            return UNKNOWN_TOPIC_LESSON;
         }
-        return lesson;
+        return String.join(" ", lines);
     }
 
     /**
@@ -79,7 +67,9 @@ public class TeachingSystem {
      * @return true if lesson exists
      */
     public boolean hasLesson(String topic) {
-        return lessons.containsKey(topic.toLowerCase().trim());
+        String key = topic.toLowerCase().trim();
+        return lessons.containsKey(key)
+            || corpus.getLineCount(DialogueCorpus.DEFAULT_PROFILE, DialogueCorpus.ANY_STAGE, LESSON_PREFIX + key) > 0;
     }
 
     /**
@@ -87,6 +77,17 @@ public class TeachingSystem {
      * @return Array of all lesson topics
      */
     public String[] getAvailableTopics() {
-        return lessons.keySet().toArray(new String[0]);
+        Set<String> topics = new LinkedHashSet<>();
+        for (String category : corpus.getCategories(DialogueCorpus.DEFAULT_PROFILE, DialogueCorpus.ANY_STAGE)) {
+            if (category.startsWith(LESSON_PREFIX)) {
+                topics.add(category.substring(LESSON_PREFIX.length()));
+            }
+        }
+        topics.addAll(lessons.keySet());
+        return topics.toArray(new String[0]);
+    }
+
+    private List<String> corpusLesson(String topic) {
+        return corpus.getLines(DialogueCorpus.DEFAULT_PROFILE, DialogueCorpus.ANY_STAGE, LESSON_PREFIX + topic);
     }
 }
@@ -0,0 +1,228 @@
+package com.adastrea.assistant;
+
+import java.util.Arrays;
+
+/**
+ * One tick of player telemetry in columnar form, for
+ * {@link GameStateListener#onTelemetryBatch(TelemetryBatch)}.
+ *
+ * Each row is one player's sample: player id, oxygen, seconds of oxygen left,
+ * health and temperature, plus one amount per resource column. The resource
+ * columns (e.g. "fuel", "water") and their low thresholds are fixed when the
+ * batch is created. Columns are primitive arrays, so a server can fill the
+ * same batch every tick, clear() it and fill it again without allocating.
+ *
+ * A value the game does not have for a player is left unknown and never
+ * triggers a warning: a negative oxygen or health level, or NaN for
+ * temperature and resource amounts.
+ *
+ * The is...() methods turn samples into warnings using the same thresholds
+ * as {@link GameStateIntegration}, so both ingestion paths agree on what
+ * counts as low.
+ * Not thread-safe: fill a batch on one thread and hand it to listeners on
+ * the same thread.
+ */
+public class TelemetryBatch {
+    private final String[] resourceTypes;
+    private final double[] resourceThresholds;
+    private int[] playerIds;
+    private int[] oxygen;
+    private int[] oxygenSecondsRemaining;
+    private int[] health;
+    private double[] temperature;
+    // One column per resource type
+    private final double[][] resourceAmounts;
+    private int size;
+
+    /**
+     * Create an empty batch
+     * @param capacity The number of rows to allocate up front; the batch grows if needed
+     * @param resourceTypes The resource columns (e.g. "fuel", "water")
+     */
+    public TelemetryBatch(int capacity, String... resourceTypes) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.resourceTypes = resourceTypes.clone();
+        this.resourceThresholds = new double[resourceTypes.length];
+        Arrays.fill(resourceThresholds, Double.NaN);
+        this.playerIds = new int[capacity];
+        this.oxygen = new int[capacity];
+        this.oxygenSecondsRemaining = new int[capacity];
+        this.health = new int[capacity];
+        this.temperature = new double[capacity];
+        this.resourceAmounts = new double[resourceTypes.length][capacity];
+    }
+
+    /**
+     * Set the amount below which a resource is reported low. Resources
+     * without a threshold are never reported.
+     * @param resource The resource column
+     * @param threshold The low threshold
+     */
+    public void setResourceThreshold(int resource, double threshold) {
+        resourceThresholds[resource] = threshold;
+    }
+
+    /**
+     * Append a player's sample. Resource amounts start unknown; set them with
+     * setResourceAmount().
+     * @param playerId The player (e.g. an AssistantHub session handle)
+     * @param oxygenLevel Oxygen (0-100), or negative if unknown
+     * @param secondsRemaining Estimated seconds until oxygen runs out
+     * @param healthLevel Health (0-100), or negative if unknown
+     * @param temperatureReading Temperature, or NaN if unknown
+     * @return The row index
+     */
+    public int addSample(int playerId, int oxygenLevel, int secondsRemaining, int healthLevel,
+                         double temperatureReading) {
+        if (size == playerIds.length) {
+            grow();
+        }
+        int row = size++;
+        playerIds[row] = playerId;
+        oxygen[row] = oxygenLevel;
+        oxygenSecondsRemaining[row] = secondsRemaining;
+        health[row] = healthLevel;
+        temperature[row] = temperatureReading;
+        for (double[] amounts : resourceAmounts) {
+            amounts[row] = Double.NaN;
+        }
+        return row;
+    }
+
+    /**
+     * Set a player's amount of a resource
+     * @param row The row returned by addSample()
+     * @param resource The resource column
+     * @param amount The amount, or NaN if unknown
+     */
+    public void setResourceAmount(int row, int resource, double amount) {
+        checkRow(row);
+        resourceAmounts[resource][row] = amount;
+    }
+
+    /**
+     * Remove every row, keeping the columns' storage for the next tick
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getResourceCount() {
+        return resourceTypes.length;
+    }
+
+    public String getResourceType(int resource) {
+        return resourceTypes[resource];
+    }
+
+    public double getResourceThreshold(int resource) {
+        return resourceThresholds[resource];
+    }
+
+    public int getPlayerId(int row) {
+        checkRow(row);
+        return playerIds[row];
+    }
+
+    public int getOxygen(int row) {
+        checkRow(row);
+        return oxygen[row];
+    }
+
+    public int getOxygenSecondsRemaining(int row) {
+        checkRow(row);
+        return oxygenSecondsRemaining[row];
+    }
+
+    public int getHealth(int row) {
+        checkRow(row);
+        return health[row];
+    }
+
+    public double getTemperature(int row) {
+        checkRow(row);
+        return temperature[row];
+    }
+
+    public double getResourceAmount(int row, int resource) {
+        checkRow(row);
+        return resourceAmounts[resource][row];
+    }
+
+    /**
+     * Check whether a row's oxygen is known and low
+     * @param row The row
+     * @return true if a low oxygen warning applies
+     */
+    public boolean isOxygenLow(int row) {
+        int level = getOxygen(row);
+        return level >= 0 && level < GameStateIntegration.OXYGEN_WARNING_THRESHOLD;
+    }
+
+    /**
+     * Check whether a row's health is known and low
+     * @param row The row
+     * @return true if a low health warning applies
+     */
+    public boolean isHealthLow(int row) {
+        int level = getHealth(row);
+        return level >= 0 && level < GameStateIntegration.HEALTH_WARNING_THRESHOLD;
+    }
+
+    /**
+     * Check whether a row's temperature warrants a warning
+     * @param row The row
+     * @return true if a temperature warning applies
+     */
+    public boolean isTemperatureExtreme(int row) {
+        double reading = getTemperature(row);
+        return reading > GameStateIntegration.TEMPERATURE_EXTREME_HEAT
+            || reading < GameStateIntegration.TEMPERATURE_DANGEROUS_COLD;
+    }
+
+    /**
+     * Check whether a row's temperature is life-threatening
+     * @param row The row
+     * @return true if the temperature is dangerous
+     */
+    public boolean isTemperatureDangerous(int row) {
+        double reading = getTemperature(row);
+        return reading > GameStateIntegration.TEMPERATURE_CRITICAL_HEAT
+            || reading < GameStateIntegration.TEMPERATURE_CRITICAL_COLD;
+    }
+
+    /**
+     * Check whether a row's amount of a resource is known and below its threshold
+     * @param row The row
+     * @param resource The resource column
+     * @return true if a low resource warning applies
+     */
+    public boolean isResourceLow(int row, int resource) {
+        // NaN amounts and thresholds compare false
+        return getResourceAmount(row, resource) < resourceThresholds[resource];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+    }
+
+    private void grow() {
+        int capacity = playerIds.length * 2;
+        playerIds = Arrays.copyOf(playerIds, capacity);
+        oxygen = Arrays.copyOf(oxygen, capacity);
+        oxygenSecondsRemaining = Arrays.copyOf(oxygenSecondsRemaining, capacity);
+        health = Arrays.copyOf(health, capacity);
+        temperature = Arrays.copyOf(temperature, capacity);
+        for (int resource = 0; resource < resourceAmounts.length; resource++) {
+            resourceAmounts[resource] = Arrays.copyOf(resourceAmounts[resource], capacity);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.adastrea.assistant;
+
+/**
+ * Edge-triggered NORMAL/WARNING/CRITICAL state machine for one reading, with
+ * hysteresis.
+ *
+ * A level is entered when the reading crosses its threshold, but only left
+ * once the reading is back past the threshold by the hysteresis margin, so a
+ * reading hovering around a threshold does not flap between levels. Callers
+ * act on level changes only: a steady reading costs a few comparisons.
+ *
+ * The level is written by one thread (the assistant's mailbox) and may be
+ * read from any thread, e.g. to skip posting readings that change nothing.
+ */
+public class ThresholdMonitor {
+    // Readings are negated for monitors where high values are bad, so every
+    // check below reads as "lower is worse"
+    private final double sign;
+    private final double warning;
+    private final double critical;
+    private final double hysteresis;
+    private volatile AlertLevel level;
+
+    private ThresholdMonitor(double sign, double warningThreshold, double criticalThreshold, double hysteresis) {
+        if (hysteresis < 0) {
+            throw new IllegalArgumentException("Hysteresis must not be negative: " + hysteresis);
+        }
+        if (sign * criticalThreshold > sign * warningThreshold) {
+            throw new IllegalArgumentException("Critical threshold " + criticalThreshold
+                + " is less severe than warning threshold " + warningThreshold);
+        }
+        this.sign = sign;
+        this.warning = sign * warningThreshold;
+        this.critical = sign * criticalThreshold;
+        this.hysteresis = hysteresis;
+        this.level = AlertLevel.NORMAL;
+    }
+
+    /**
+     * Create a monitor for a reading where low values are bad (e.g. oxygen)
+     * @param warningBelow Readings below this are WARNING
+     * @param criticalBelow Readings below this are CRITICAL
+     * @param hysteresis How far above a threshold the reading must rise to leave its level
+     * @return The monitor, at NORMAL
+     */
+    public static ThresholdMonitor falling(double warningBelow, double criticalBelow, double hysteresis) {
+        return new ThresholdMonitor(1, warningBelow, criticalBelow, hysteresis);
+    }
+
+    /**
+     * Create a monitor for a reading where high values are bad (e.g. heat)
+     * @param warningAbove Readings above this are WARNING
+     * @param criticalAbove Readings above this are CRITICAL
+     * @param hysteresis How far below a threshold the reading must fall to leave its level
+     * @return The monitor, at NORMAL
+     */
+    public static ThresholdMonitor rising(double warningAbove, double criticalAbove, double hysteresis) {
+        return new ThresholdMonitor(-1, warningAbove, criticalAbove, hysteresis);
+    }
+
+    /**
+     * Get the current level
+     * @return The level
+     */
+    public AlertLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Get the level a reading would move the monitor to, without moving it
+     * @param reading The reading; NaN keeps the current level
+     * @return The resulting level
+     */
+    public AlertLevel evaluate(double reading) {
+        return next(level, reading);
+    }
+
+    /**
+     * Check whether a reading would change the level
+     * @param reading The reading
+     * @return true if update() with this reading would change the level
+     */
+    public boolean isTransition(double reading) {
+        AlertLevel current = level;
+        return next(current, reading) != current;
+    }
+
+    /**
+     * Move the monitor according to a reading
+     * @param reading The reading; NaN keeps the current level
+     * @return The level before the reading
+     */
+    public AlertLevel update(double reading) {
+        AlertLevel previous = level;
+        AlertLevel next = next(previous, reading);
+        if (next != previous) {
+            level = next;
+        }
+        return previous;
+    }
+
+    /**
+     * Return to NORMAL
+     */
+    public void reset() {
+        level = AlertLevel.NORMAL;
+    }
+
+    private AlertLevel next(AlertLevel current, double reading) {
+        if (Double.isNaN(reading)) {
+            return current;
+        }
+        double value = sign * reading;
+        if (value < critical || (current == AlertLevel.CRITICAL && value < critical + hysteresis)) {
+            return AlertLevel.CRITICAL;
+        }
+        if (value < warning || (current != AlertLevel.NORMAL && value < warning + hysteresis)) {
+            return AlertLevel.WARNING;
+        }
+        return AlertLevel.NORMAL;
+    }
+}
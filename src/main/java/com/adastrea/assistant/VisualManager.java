@@ -1,7 +1,11 @@
 package com.adastrea.assistant;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * Manages visual components of the AI assistant including notifications and subtitles.
@@ -9,30 +13,86 @@ import java.util.List;
  * Note: This is a base implementation with placeholder behavior. In a real Minecraft mod
  * integration, extend this class to implement actual UI rendering. The subtitleDuration
  * field is provided for integrators to implement subtitle timeout logic in their UI layer.
+ *
+ * Notifications stay active for subtitleDuration and are dropped when read after
+ * that. At most a fixed number are kept; a new one replaces the oldest when full,
+ * and showing a message that is already active refreshes it instead of adding a
+ * copy. Readers get an immutable snapshot that is only rebuilt when the active
+ * notifications change, so reading does not copy.
  */
 public class VisualManager {
+    /** Number of notifications kept when no capacity is given */
+    public static final int DEFAULT_MAX_NOTIFICATIONS = 16;
+
     private boolean visualEnabled;
-    private List<String> activeNotifications;
     private String currentSubtitle;
     private int subtitleDuration;
 
+    // Active notifications, oldest first, with their expiry on the monotonic clock
+    private final String[] notifications;
+    private final long[] expiresAtNanos;
+    private int notificationCount;
+    private boolean notificationsExpire;
+    private long nextExpiryNanos;
+    private List<String> notificationSnapshot;
+    private final LongSupplier clock;
+
     public VisualManager() {
+        this(DEFAULT_MAX_NOTIFICATIONS);
+    }
+
+    /**
+     * Create a visual manager
+     * @param maxNotifications The maximum number of notifications kept at once
+     */
+    public VisualManager(int maxNotifications) {
+        this(maxNotifications, System::nanoTime);
+    }
+
+    /**
+     * Create a visual manager on a custom monotonic clock
+     * @param maxNotifications The maximum number of notifications kept at once
+     * @param clock Source of the current time in nanoseconds
+     */
+    VisualManager(int maxNotifications, LongSupplier clock) {
+        if (maxNotifications <= 0) {
+            throw new IllegalArgumentException("Notification capacity must be positive: " + maxNotifications);
+        }
         this.visualEnabled = true;
-        this.activeNotifications = new ArrayList<>();
         this.currentSubtitle = "";
         this.subtitleDuration = 5000; // 5 seconds default
+        this.notifications = new String[maxNotifications];
+        this.expiresAtNanos = new long[maxNotifications];
+        this.notificationSnapshot = Collections.emptyList();
+        this.clock = clock;
     }
 
     /**
-     * Show a notification to the player
+     * Show a notification to the player. It stays active for the subtitle
+     * duration; showing a message that is already active restarts its time.
      * @param message The notification message
      */
     public void showNotification(String message) {
         if (!visualEnabled) {
             return;
         }
-        activeNotifications.add(message);
-        System.out.println("[VISUAL] Notification: " + message);
+        long now = clock.getAsLong();
+        expireNotifications(now);
+        int existing = indexOfNotification(message);
+        if (existing >= 0) {
+            removeNotification(existing);
+        } else {
+            if (notificationCount == notifications.length) {
+                removeNotification(0);
+            }
+            AssistantOutput.out("[VISUAL] Notification: " + message);
+        }
+        long expiresAt = subtitleDuration > 0
+            ? now + TimeUnit.MILLISECONDS.toNanos(subtitleDuration) : Long.MAX_VALUE;
+        notifications[notificationCount] = message;
+        expiresAtNanos[notificationCount] = expiresAt;
+        notificationCount++;
+        updateNotifications();
     }
 
     /**
@@ -44,14 +104,16 @@ public class VisualManager {
             return;
         }
         this.currentSubtitle = text;
-        System.out.println("[VISUAL] Subtitle: " + text);
+        AssistantOutput.out("[VISUAL] Subtitle: " + text);
     }
 
     /**
      * Clear all active notifications
      */
     public void clearNotifications() {
-        activeNotifications.clear();
+        Arrays.fill(notifications, 0, notificationCount, null);
+        notificationCount = 0;
+        updateNotifications();
     }
 
     /**
@@ -63,10 +125,70 @@ public class VisualManager {
 
     /**
      * Get all active notifications
-     * @return List of active notifications
+     * @return Unmodifiable snapshot of the active notifications, oldest first
      */
     public List<String> getActiveNotifications() {
-        return new ArrayList<>(activeNotifications);
+        expireNotifications(clock.getAsLong());
+        return notificationSnapshot;
+    }
+
+    /**
+     * Get the maximum number of notifications kept at once
+     * @return The notification capacity
+     */
+    public int getMaxNotifications() {
+        return notifications.length;
+    }
+
+    private void expireNotifications(long now) {
+        // No expiry can be due before the earliest one
+        if (!notificationsExpire || now - nextExpiryNanos < 0) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < notificationCount; i++) {
+            if (!isExpired(expiresAtNanos[i], now)) {
+                notifications[kept] = notifications[i];
+                expiresAtNanos[kept] = expiresAtNanos[i];
+                kept++;
+            }
+        }
+        Arrays.fill(notifications, kept, notificationCount, null);
+        notificationCount = kept;
+        updateNotifications();
+    }
+
+    private static boolean isExpired(long expiresAt, long now) {
+        return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+    }
+
+    private int indexOfNotification(String message) {
+        for (int i = 0; i < notificationCount; i++) {
+            if (Objects.equals(notifications[i], message)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeNotification(int index) {
+        int moved = notificationCount - index - 1;
+        System.arraycopy(notifications, index + 1, notifications, index, moved);
+        System.arraycopy(expiresAtNanos, index + 1, expiresAtNanos, index, moved);
+        notifications[--notificationCount] = null;
+    }
+
+    private void updateNotifications() {
+        notificationsExpire = false;
+        for (int i = 0; i < notificationCount; i++) {
+            long expiresAt = expiresAtNanos[i];
+            if (expiresAt != Long.MAX_VALUE && (!notificationsExpire || expiresAt - nextExpiryNanos < 0)) {
+                nextExpiryNanos = expiresAt;
+                notificationsExpire = true;
+            }
+        }
+        notificationSnapshot = notificationCount == 0 ? Collections.emptyList()
+            : Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(notifications, notificationCount)));
     }
 
     /**
@@ -77,7 +199,7 @@ public class VisualManager {
         if (!visualEnabled) {
             return;
         }
-        System.out.println("[VISUAL] Assistant icon showing emotion: " + emotion);
+        AssistantOutput.out("[VISUAL] Assistant icon showing emotion: " + emotion);
     }
 
     public boolean isVisualEnabled() {
@@ -0,0 +1,192 @@
+package com.adastrea.assistant;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Cooldown table that keeps the player from hearing the same warning over and
+ * over.
+ *
+ * Warning types are registered once and addressed by int id afterwards. Each
+ * type has its own cooldown and its next-allowed time on the monotonic
+ * {@link System#nanoTime()} clock, held in primitive arrays, so checking a
+ * warning is an array read and a clock read: no hashing and no allocation.
+ *
+ * Not thread-safe; GameStateIntegration drives it from the assistant's mailbox.
+ */
+public class WarningCooldowns {
+    /** Cooldown used when a type is registered without one */
+    public static final long DEFAULT_COOLDOWN_MS = 30000;
+
+    private final LongSupplier clock;
+    private final Map<String, Integer> ids;
+    private String[] names;
+    private long[] cooldownNanos;
+    private long[] readyAtNanos;
+    private int count;
+
+    public WarningCooldowns() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Create a cooldown table on a custom monotonic clock
+     * @param clock Source of the current time in nanoseconds
+     */
+    WarningCooldowns(LongSupplier clock) {
+        this.clock = clock;
+        this.ids = new HashMap<>();
+        this.names = new String[8];
+        this.cooldownNanos = new long[8];
+        this.readyAtNanos = new long[8];
+    }
+
+    /**
+     * Register a warning type with the default cooldown
+     * @param name The warning type (e.g. "oxygen")
+     * @return The type's id; the existing id if it is already registered
+     */
+    public int register(String name) {
+        return register(name, DEFAULT_COOLDOWN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register a warning type. A type that is already registered keeps its id
+     * and gets the new cooldown.
+     * @param name The warning type (e.g. "oxygen")
+     * @param cooldown Minimum time between two warnings of this type
+     * @param unit The unit of the cooldown
+     * @return The type's id
+     * @throws IllegalArgumentException If the cooldown is negative
+     */
+    public int register(String name, long cooldown, TimeUnit unit) {
+        checkCooldown(cooldown);
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            setCooldown(existing, cooldown, unit);
+            return existing;
+        }
+        if (count == names.length) {
+            names = Arrays.copyOf(names, count * 2);
+            cooldownNanos = Arrays.copyOf(cooldownNanos, count * 2);
+            readyAtNanos = Arrays.copyOf(readyAtNanos, count * 2);
+        }
+        int id = count++;
+        names[id] = name;
+        cooldownNanos[id] = unit.toNanos(cooldown);
+        // Ready straight away
+        readyAtNanos[id] = clock.getAsLong();
+        ids.put(name, id);
+        return id;
+    }
+
+    /**
+     * Look up a warning type's id
+     * @param name The warning type
+     * @return The id, or -1 if the type is not registered
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get a warning type's name
+     * @param id The type's id
+     * @return The name it was registered under
+     */
+    public String getName(int id) {
+        checkId(id);
+        return names[id];
+    }
+
+    /**
+     * Get the number of registered warning types
+     * @return The type count
+     */
+    public int getTypeCount() {
+        return count;
+    }
+
+    /**
+     * Check whether a warning may be given now, and if so start its cooldown
+     * @param id The type's id
+     * @return true if the warning is off cooldown
+     */
+    public boolean tryWarn(int id) {
+        checkId(id);
+        long now = clock.getAsLong();
+        // Compared by difference, so nanoTime wrap-around is harmless
+        if (now - readyAtNanos[id] < 0) {
+            return false;
+        }
+        readyAtNanos[id] = now + cooldownNanos[id];
+        return true;
+    }
+
+    /**
+     * Get the time left before a warning may be given again
+     * @param id The type's id
+     * @param unit The unit of the result
+     * @return The remaining cooldown, or 0 if the warning is ready
+     */
+    public long getRemaining(int id, TimeUnit unit) {
+        checkId(id);
+        return unit.convert(Math.max(0, readyAtNanos[id] - clock.getAsLong()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Change a warning type's cooldown. A cooldown already running keeps its end time.
+     * @param id The type's id
+     * @param cooldown Minimum time between two warnings of this type
+     * @param unit The unit of the cooldown
+     * @throws IllegalArgumentException If the cooldown is negative
+     */
+    public void setCooldown(int id, long cooldown, TimeUnit unit) {
+        checkId(id);
+        checkCooldown(cooldown);
+        cooldownNanos[id] = unit.toNanos(cooldown);
+    }
+
+    /**
+     * Get a warning type's cooldown
+     * @param id The type's id
+     * @param unit The unit of the result
+     * @return The cooldown
+     */
+    public long getCooldown(int id, TimeUnit unit) {
+        checkId(id);
+        return unit.convert(cooldownNanos[id], TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * End a warning type's cooldown so its next warning is given
+     * @param id The type's id
+     */
+    public void reset(int id) {
+        checkId(id);
+        readyAtNanos[id] = clock.getAsLong();
+    }
+
+    /**
+     * End every running cooldown
+     */
+    public void resetAll() {
+        Arrays.fill(readyAtNanos, 0, count, clock.getAsLong());
+    }
+
+    private static void checkCooldown(long cooldown) {
+        if (cooldown < 0) {
+            throw new IllegalArgumentException("Cooldown must not be negative: " + cooldown);
+        }
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= count) {
+            throw new IllegalArgumentException("Unknown warning type id: " + id);
+        }
+    }
+}
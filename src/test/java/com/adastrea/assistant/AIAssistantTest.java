@@ -2,6 +2,11 @@ package com.adastrea.assistant;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AIAssistantTest {
@@ -240,4 +245,22 @@ class AIAssistantTest {
         assertEquals(3, mittenz.getLearnedSystems().size());
         assertEquals(15, mittenz.getSkillLevel());
     }
+    
+    @Test
+    void testSpeakRoutesThroughSpeechScheduler() {
+        List<String> spoken = new ArrayList<>();
+        AIAssistant custom = new AIAssistant("Custom", new AudioManager() {
+            @Override
+            public CompletableFuture<Void> playVoiceAsync(String message, ContextTracker.EventSeverity severity) {
+                spoken.add(severity + ":" + message);
+                return CompletableFuture.completedFuture(null);
+            }
+        });
+        
+        custom.speak("Hello");
+        custom.speak("Oxygen critical!", ContextTracker.EventSeverity.CRITICAL);
+        
+        assertEquals(List.of("MEDIUM:Hello", "CRITICAL:Oxygen critical!"), spoken);
+        assertEquals(2, custom.getSpeechScheduler().getSpokenCount());
+    }
 }
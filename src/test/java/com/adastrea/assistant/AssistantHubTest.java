@@ -0,0 +1,175 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AssistantHub.
+ */
+class AssistantHubTest {
+    private AssistantHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new AssistantHub();
+    }
+
+    @Test
+    void testOpenGetAndClose() {
+        int first = hub.openSession("Nova");
+        int second = hub.openSession("Orion");
+
+        assertNotEquals(first, second);
+        assertEquals(2, hub.getSessionCount());
+        assertEquals("Nova", hub.getSession(first).getAssistantName());
+        assertEquals("Orion", hub.getSession(second).getAssistantName());
+
+        assertTrue(hub.closeSession(first));
+        assertFalse(hub.closeSession(first));
+        assertFalse(hub.isOpen(first));
+        assertEquals(1, hub.getSessionCount());
+        assertArrayEquals(new int[] {second}, hub.getSessionHandles());
+    }
+
+    @Test
+    void testStaleHandleIsRejectedAfterSlotReuse() {
+        int closed = hub.openSession("Nova");
+        hub.closeSession(closed);
+
+        int reused = hub.openSession("Orion");
+
+        assertNotEquals(closed, reused);
+        assertThrows(IllegalArgumentException.class, () -> hub.getSession(closed));
+        assertThrows(IllegalArgumentException.class, () -> hub.getSession(-1));
+        assertEquals("Orion", hub.getSession(reused).getAssistantName());
+    }
+
+    @Test
+    void testSessionsShareContentButNotState() {
+        AIAssistant a = hub.getSession(hub.openMittenzSession());
+        AIAssistant b = hub.getSession(hub.openMittenzSession());
+
+        assertSame(a.getTeachingSystem(), b.getTeachingSystem());
+        assertSame(a.getAudioManager().getAudioCache(), b.getAudioManager().getAudioCache());
+        assertSame(a.getProfile().getProfileCompanionDialogues(), b.getProfile().getProfileCompanionDialogues());
+
+        a.progressRelationshipStage();
+        a.getContextTracker().recordEvent("oxygen_low", "Oxygen at 20%", ContextTracker.EventSeverity.HIGH);
+
+        assertEquals(RelationshipStage.CURIOUS, a.getRelationshipStage());
+        assertEquals(RelationshipStage.HOSTILE, b.getRelationshipStage());
+        assertNotSame(a.getContextTracker(), b.getContextTracker());
+        assertTrue(b.getContextTracker().getRecentEvents().isEmpty());
+    }
+
+    @Test
+    void testSessionsUseConfiguredContextWindows() {
+        AssistantConfig config = new AssistantConfig();
+        config.setContextInteractionHistory(3);
+        AssistantHub configured = new AssistantHub(config, DialogueCorpus.getDefault());
+
+        AIAssistant assistant = configured.getSession(configured.openSession("Nova"));
+
+        assertEquals(3, assistant.getContextTracker().getInteractionHistoryCapacity());
+    }
+
+    @Test
+    void testFootprintGrowsWithSessionState() {
+        int handle = hub.openSession("Nova");
+        long empty = hub.getSessionFootprint(handle);
+
+        AIAssistant assistant = hub.getSession(handle);
+        assistant.getContextTracker().recordInteraction("Player", "How do I refill oxygen on this moon?",
+            ContextTracker.InteractionType.PLAYER_QUERY);
+        assistant.setReminder("Check the fuel tanks", 5);
+
+        long used = hub.getSessionFootprint(handle);
+        assertTrue(used > empty);
+        assertEquals(used, hub.getTotalFootprint());
+
+        hub.closeSession(handle);
+        assertThrows(IllegalArgumentException.class, () -> hub.getSessionFootprint(handle));
+        assertEquals(0, hub.getTotalFootprint());
+    }
+
+    @Test
+    void testFootprintIsMeasuredOnTheSessionMailbox() throws Exception {
+        ExecutorService drainer = Executors.newSingleThreadExecutor();
+        try {
+            AssistantHub pooled = new AssistantHub(new AssistantConfig(), DialogueCorpus.getDefault(),
+                new AudioCache(AudioManager.DEFAULT_CACHE_BYTES), drainer);
+            int handle = pooled.openSession("Nova");
+            AIAssistant assistant = pooled.getSession(handle);
+            CountDownLatch release = new CountDownLatch(1);
+            assistant.post(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assistant.setReminder("Check the fuel tanks", 5);
+            });
+
+            // Waits behind the queued task instead of reading its state mid-write
+            CompletableFuture<Long> footprint = CompletableFuture.supplyAsync(() -> pooled.getSessionFootprint(handle));
+            Thread.sleep(50);
+            assertFalse(footprint.isDone());
+            release.countDown();
+            long measured = footprint.get(5, TimeUnit.SECONDS);
+            assertEquals(measured, pooled.getTotalFootprint());
+
+            // Measuring from one of the session's own tasks runs inline
+            long inline = assistant.submit(() -> pooled.getSessionFootprint(handle)).get(5, TimeUnit.SECONDS);
+            assertEquals(measured, inline);
+        } finally {
+            drainer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSessionsCanShareOneTTSBackend() {
+        CoquiTTSAudioManager voice = new CoquiTTSAudioManager(System.getProperty("user.dir"), "python3", false);
+        try {
+            AssistantHub voiced = new AssistantHub(new AssistantConfig(), DialogueCorpus.getDefault(),
+                voice.getAudioCache(), Runnable::run, cache -> voice.newSession());
+
+            AudioManager first = voiced.getSession(voiced.openSession("Nova")).getAudioManager();
+            AudioManager second = voiced.getSession(voiced.openSession("Orion")).getAudioManager();
+
+            assertNotSame(first, second);
+            CoquiTTSAudioManager session = assertInstanceOf(CoquiTTSAudioManager.class, first);
+            assertSame(voice.getTtsExecutor(), session.getTtsExecutor());
+            assertSame(voice.getAudioCache(), second.getAudioCache());
+
+            // Session managers leave the shared backend running
+            session.shutdown();
+            assertFalse(voice.getTtsExecutor().isShutdown());
+        } finally {
+            voice.shutdown();
+        }
+        assertTrue(voice.getTtsExecutor().isShutdown());
+    }
+
+    @Test
+    void testThousandsOfSessions() {
+        int[] handles = new int[5000];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = hub.openMittenzSession();
+        }
+        assertEquals(5000, hub.getSessionCount());
+
+        for (int handle : handles) {
+            assertTrue(hub.closeSession(handle));
+        }
+        assertEquals(0, hub.getSessionCount());
+        assertEquals(0, hub.getSessionHandles().length);
+    }
+}
@@ -0,0 +1,146 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AssistantMailbox.
+ */
+class AssistantMailboxTest {
+
+    @Test
+    void testTasksRunInOrderOnCallingThread() {
+        AssistantMailbox mailbox = new AssistantMailbox();
+        List<Integer> order = new ArrayList<>();
+
+        mailbox.execute(() -> order.add(1));
+        mailbox.execute(() -> order.add(2));
+
+        assertEquals(List.of(1, 2), order);
+        assertTrue(mailbox.isIdle());
+    }
+
+    @Test
+    void testNestedTaskRunsAfterCurrentTask() {
+        AssistantMailbox mailbox = new AssistantMailbox();
+        List<String> order = new ArrayList<>();
+
+        mailbox.execute(() -> {
+            order.add("outer start");
+            mailbox.execute(() -> order.add("inner"));
+            assertTrue(mailbox.isDrainingThread());
+            order.add("outer end");
+        });
+
+        assertEquals(List.of("outer start", "outer end", "inner"), order);
+        assertFalse(mailbox.isDrainingThread());
+    }
+
+    @Test
+    void testConcurrentSubmittersAreSerialized() throws InterruptedException {
+        AssistantMailbox mailbox = new AssistantMailbox();
+        int threads = 8;
+        int tasksPerThread = 5000;
+        int[] counter = new int[1];
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < tasksPerThread; i++) {
+                    mailbox.execute(() -> {
+                        if (running.incrementAndGet() != 1) {
+                            overlaps.incrementAndGet();
+                        }
+                        counter[0]++; // Unsynchronized: only safe if tasks never overlap
+                        running.decrementAndGet();
+                    });
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, overlaps.get());
+        assertEquals(threads * tasksPerThread, (int) mailbox.submit(() -> counter[0]).join());
+    }
+
+    @Test
+    void testSubmitterDoesNotWaitForExecutorDrain() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AssistantMailbox mailbox = new AssistantMailbox(executor);
+            CountDownLatch release = new CountDownLatch(1);
+            mailbox.execute(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            CompletableFuture<String> result = mailbox.submit(() -> "done");
+            assertFalse(result.isDone());
+
+            release.countDown();
+            assertEquals("done", result.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopMailbox() {
+        AssistantMailbox mailbox = new AssistantMailbox();
+
+        mailbox.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Object> failed = mailbox.submit(() -> {
+            throw new IllegalArgumentException("bad");
+        });
+
+        assertThrows(ExecutionException.class, failed::get);
+        assertEquals(42, (int) mailbox.submit(() -> 42).join());
+        assertTrue(mailbox.isIdle());
+    }
+
+    @Test
+    void testTaskThrowingErrorDoesNotStopMailbox() {
+        AssistantMailbox mailbox = new AssistantMailbox();
+
+        mailbox.execute(() -> {
+            throw new AssertionError("boom");
+        });
+        CompletableFuture<Object> failed = mailbox.submit(() -> {
+            throw new AssertionError("bad");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(AssertionError.class, e.getCause());
+        assertTrue(mailbox.isIdle());
+        assertEquals(42, (int) mailbox.submit(() -> 42).join());
+    }
+}
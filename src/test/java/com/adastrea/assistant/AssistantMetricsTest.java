@@ -0,0 +1,113 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AssistantMetrics.
+ */
+class AssistantMetricsTest {
+
+    @Test
+    void testCountersAndGauges() {
+        AssistantMetrics metrics = new AssistantMetrics();
+        AssistantMetrics.Counter counter = metrics.counter("events");
+        counter.increment();
+        counter.add(4);
+        assertSame(counter, metrics.counter("events"));
+
+        long[] depth = {3};
+        LongSupplier gauge = () -> depth[0];
+        metrics.gauge("queue.depth", gauge);
+        AssistantMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(5, snapshot.getCounter("events"));
+        assertEquals(0, snapshot.getCounter("missing"));
+        assertEquals(3, (long) snapshot.getGauges().get("queue.depth"));
+
+        metrics.removeGauge("queue.depth", gauge);
+        assertTrue(metrics.snapshot().getGauges().isEmpty());
+    }
+
+    @Test
+    void testHistogramPercentilesAreWithinBucketPrecision() {
+        AssistantMetrics.Histogram histogram = new AssistantMetrics().histogram("latency.nanos");
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+        AssistantMetrics.HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(1_000_000, snapshot.getMax());
+        assertEquals(500_500.0, snapshot.getMean(), 0.001);
+        assertWithin(500_000, snapshot.getPercentile(50));
+        assertWithin(990_000, snapshot.getPercentile(99));
+        assertEquals(1_000_000, snapshot.getPercentile(100));
+        assertEquals(0, new AssistantMetrics().histogram("empty").snapshot().getPercentile(50));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 16, expected + " vs " + actual);
+    }
+
+    @Test
+    void testBucketsCoverTheWholeRange() {
+        for (long value = 0; value < 5000; value++) {
+            int index = AssistantMetrics.Histogram.bucketIndex(value);
+            assertTrue(AssistantMetrics.Histogram.bucketUpperBound(index) >= value);
+            if (index > 0) {
+                assertTrue(AssistantMetrics.Histogram.bucketUpperBound(index - 1) < value);
+            }
+        }
+        int last = AssistantMetrics.Histogram.bucketIndex(Long.MAX_VALUE);
+        assertEquals(AssistantMetrics.Histogram.BUCKET_COUNT - 1, last);
+        assertEquals(Long.MAX_VALUE, AssistantMetrics.Histogram.bucketUpperBound(last));
+    }
+
+    @Test
+    void testSnapshotExportsOneLinePerValue() {
+        AssistantMetrics metrics = new AssistantMetrics();
+        metrics.counter("b.count").increment();
+        metrics.counter("a.count").add(2);
+        metrics.histogram("c.nanos").record(7);
+
+        String text = metrics.snapshot().toString();
+
+        assertTrue(text.startsWith("a.count 2\nb.count 1\n"), text);
+        assertTrue(text.contains("c.nanos.count 1\n"), text);
+        assertTrue(text.contains("c.nanos.p99 7\n"), text);
+        assertTrue(text.contains("c.nanos.max 7\n"), text);
+    }
+
+    @Test
+    void testAssistantComponentsRecordToDefaultRegistry() {
+        AssistantMetrics.Snapshot before = AssistantMetrics.getDefault().snapshot();
+        AIAssistant assistant = new AIAssistant();
+        GameStateIntegration gameState = new GameStateIntegration(assistant);
+
+        assistant.respondToQuery("How does oxygen work?");
+        gameState.onLowHealth(40, "radiation");
+        gameState.onLowHealth(80, null);
+        gameState.onLowHealth(35, "radiation");
+        assistant.getReminderSystem().addReminder("Refuel", -1, TimeUnit.SECONDS);
+        assistant.checkReminders();
+
+        AssistantMetrics.Snapshot after = AssistantMetrics.getDefault().snapshot();
+        assertEquals(1, delta(before, after, "assistant.queries"));
+        assertEquals(3, delta(before, after, "assistant.speak"));
+        assertEquals(1, delta(before, after, "warnings.given"));
+        assertEquals(1, delta(before, after, "warnings.suppressed"));
+        assertEquals(1, delta(before, after, "reminders.added"));
+        assertEquals(1, delta(before, after, "reminders.fired"));
+        assertTrue(after.getHistograms().get("assistant.query.nanos").getCount() > 0);
+        assertTrue(after.getHistograms().get("reminders.lateness.nanos").getMax() >= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static long delta(AssistantMetrics.Snapshot before, AssistantMetrics.Snapshot after, String name) {
+        return after.getCounter(name) - before.getCounter(name);
+    }
+}
@@ -0,0 +1,132 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AsyncOutputSink and AssistantOutput.
+ */
+class AsyncOutputSinkTest {
+
+    private static List<String> lines(ByteArrayOutputStream bytes) {
+        String text = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split(System.lineSeparator()));
+    }
+
+    @Test
+    void testLinesReachTheirStreamsInOrder() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (AsyncOutputSink sink = new AsyncOutputSink(new PrintStream(out), new PrintStream(err), 64)) {
+            sink.out("[AUDIO] One");
+            sink.err("[WARNING] Two");
+            sink.out("[VISUAL] Three");
+            sink.flush();
+
+            assertEquals(List.of("[AUDIO] One", "[VISUAL] Three"), lines(out));
+            assertEquals(List.of("[WARNING] Two"), lines(err));
+        }
+    }
+
+    @Test
+    void testConcurrentWritersLoseNothingWhileThereIsRoom() throws InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncOutputSink sink = new AsyncOutputSink(new PrintStream(out), new PrintStream(new ByteArrayOutputStream()), 1 << 14);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int writer = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    sink.out(writer + ":" + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sink.close();
+
+        List<String> written = lines(out);
+        assertEquals(4000, written.size());
+        assertEquals(0, sink.getDroppedCount());
+        // Each writer's lines keep their order
+        for (int t = 0; t < threads.length; t++) {
+            List<String> own = new ArrayList<>();
+            for (String line : written) {
+                if (line.startsWith(t + ":")) {
+                    own.add(line);
+                }
+            }
+            for (int i = 0; i < own.size(); i++) {
+                assertEquals(t + ":" + i, own.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testFullRingDropsInsteadOfBlocking() {
+        // A stream that blocks until released keeps the drain thread busy
+        Object gate = new Object();
+        boolean[] released = new boolean[1];
+        PrintStream blocking = new PrintStream(new ByteArrayOutputStream()) {
+            @Override
+            public void print(Object obj) {
+                synchronized (gate) {
+                    while (!released[0]) {
+                        try {
+                            gate.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+            }
+        };
+        AsyncOutputSink sink = new AsyncOutputSink(blocking, blocking, 4);
+        assertEquals(4, sink.getCapacity());
+        for (int i = 0; i < 100; i++) {
+            sink.out("Line " + i);
+        }
+        assertTrue(sink.getDroppedCount() > 0);
+
+        synchronized (gate) {
+            released[0] = true;
+            gate.notifyAll();
+        }
+        sink.close();
+    }
+
+    @Test
+    void testManagersWriteThroughTheCurrentSink() {
+        List<String> captured = new ArrayList<>();
+        OutputSink previous = AssistantOutput.setSink(new OutputSink() {
+            @Override
+            public synchronized void out(String line) {
+                captured.add(line);
+            }
+
+            @Override
+            public synchronized void err(String line) {
+                captured.add(line);
+            }
+        });
+        AudioManager audio = new AudioManager();
+        try {
+            new VisualManager().showSubtitle("Hello");
+            audio.playSoundEffect("beep");
+        } finally {
+            AssistantOutput.setSink(previous);
+        }
+
+        assertEquals(List.of("[VISUAL] Subtitle: Hello", "[AUDIO] Playing sound: beep"), captured);
+        assertSame(previous, AssistantOutput.getSink());
+    }
+}
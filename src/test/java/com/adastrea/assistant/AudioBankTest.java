@@ -0,0 +1,162 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the AudioBank archive format.
+ */
+class AudioBankTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRoundTripThroughFile() throws IOException {
+        AudioBankWriter writer = new AudioBankWriter();
+        writer.add("tts_aaaa", clip(22050, 1, new byte[] {1, 2, 3, 4}));
+        writer.add("tts_bbbb", clip(44100, 2, new byte[] {5, 6}));
+        Path file = tempDir.resolve("dialogue.bank");
+        writer.write(file);
+
+        AudioBank bank = AudioBank.open(file);
+
+        assertEquals(2, bank.size());
+        SynthesizedAudio a = bank.get("tts_aaaa");
+        assertEquals(22050, a.getSampleRate());
+        assertEquals(1, a.getChannels());
+        assertArrayEquals(new byte[] {1, 2, 3, 4}, bytes(a));
+        SynthesizedAudio b = bank.get("tts_bbbb");
+        assertEquals(44100, b.getSampleRate());
+        assertEquals(2, b.getChannels());
+        assertArrayEquals(new byte[] {5, 6}, bytes(b));
+        assertNull(bank.get("missing"));
+        assertFalse(Files.exists(tempDir.resolve("dialogue.bank.tmp")));
+    }
+
+    @Test
+    void testEmptyBank() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new AudioBankWriter().write(out);
+
+        AudioBank bank = AudioBank.fromBuffer(ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(0, bank.size());
+    }
+
+    @Test
+    void testRejectsWrongMagic() {
+        assertThrows(IOException.class, () -> AudioBank.fromBuffer(ByteBuffer.wrap(new byte[16])));
+    }
+
+    @Test
+    void testTruncatedBank() throws IOException {
+        AudioBankWriter writer = new AudioBankWriter();
+        writer.add("tts_aaaa", clip(22050, 1, new byte[100]));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out);
+
+        // Clips are checked lazily: a cut-off clip is reported as missing
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 10);
+        AudioBank bank = AudioBank.fromBuffer(ByteBuffer.wrap(truncated));
+        assertTrue(bank.contains("tts_aaaa"));
+        assertNull(bank.get("tts_aaaa"));
+
+        // A cut-off slot table is rejected up front
+        byte[] header = Arrays.copyOf(out.toByteArray(), AudioBank.HEADER_BYTES + 4);
+        assertThrows(IOException.class, () -> AudioBank.fromBuffer(ByteBuffer.wrap(header)));
+    }
+
+    @Test
+    void testRejectsOtherVersion() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new AudioBankWriter().write(out);
+        byte[] image = out.toByteArray();
+        image[5] = 1;
+
+        assertThrows(IOException.class, () -> AudioBank.fromBuffer(ByteBuffer.wrap(image)));
+    }
+
+    @Test
+    void testManyKeysProbeCorrectly() throws IOException {
+        AudioBankWriter writer = new AudioBankWriter();
+        for (int i = 0; i < 500; i++) {
+            writer.add("clip_" + i, clip(22050, 1, new byte[] {(byte) i, (byte) (i >> 8)}));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out);
+
+        AudioBank bank = AudioBank.fromBuffer(ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(500, bank.size());
+        assertEquals(500, bank.keys().size());
+        for (int i = 0; i < 500; i++) {
+            assertArrayEquals(new byte[] {(byte) i, (byte) (i >> 8)}, bytes(bank.get("clip_" + i)));
+        }
+        assertFalse(bank.contains("clip_500"));
+    }
+
+    @Test
+    void testClipsAreViewsOfTheBank() throws IOException {
+        AudioBankWriter writer = new AudioBankWriter();
+        writer.add("greetings/hello", clip(44100, 1, new byte[] {9, 8, 7, 6}));
+        Path file = tempDir.resolve("clips.bank");
+        writer.write(file);
+
+        AudioBank bank = AudioBank.open(file);
+        SynthesizedAudio first = bank.get("greetings/hello");
+        SynthesizedAudio second = bank.get("greetings/hello");
+
+        // Reading one clip does not disturb another view of the same bytes
+        assertArrayEquals(new byte[] {9, 8, 7, 6}, bytes(first));
+        assertArrayEquals(new byte[] {9, 8, 7, 6}, bytes(second));
+        assertTrue(first.getPcm().isDirect(), "clip should be a slice of the mapping");
+    }
+
+    @Test
+    void testClipKey() {
+        assertEquals("greetings/hello", AudioBank.clipKey("src/main/resources/audio/greetings/hello.wav"));
+        assertEquals("sounds/beep", AudioBank.clipKey("audio\\sounds\\beep.wav"));
+        assertEquals("hello", AudioBank.clipKey("hello.wav"));
+    }
+
+    @Test
+    void testPackerPacksClipDirectories() throws IOException {
+        Path audioDir = tempDir.resolve("audio");
+        Files.createDirectories(audioDir.resolve("greetings"));
+        Files.createDirectories(audioDir.resolve("other"));
+        clip(44100, 1, new byte[] {1, 2}).writeWav(audioDir.resolve("greetings/hello.wav"));
+        clip(44100, 1, new byte[] {3, 4}).writeWav(audioDir.resolve("other/ignored.wav"));
+        Files.write(audioDir.resolve("greetings/readme.wav"), new byte[] {0});
+        Path output = tempDir.resolve("clips.bank");
+
+        assertEquals(1, AudioBankPacker.pack(audioDir, output));
+        AudioBank bank = AudioBank.open(output);
+        assertEquals(List.of("greetings/hello"), bank.keys());
+        assertArrayEquals(new byte[] {1, 2}, bytes(bank.get("greetings/hello")));
+    }
+
+    @Test
+    void testMissingResourceReturnsNull() throws IOException {
+        assertNull(AudioBank.loadResource("/audio/no_such.bank"));
+    }
+
+    private static SynthesizedAudio clip(int sampleRate, int channels, byte[] pcm) {
+        return new SynthesizedAudio(sampleRate, channels, 16, ByteBuffer.wrap(pcm));
+    }
+
+    private static byte[] bytes(SynthesizedAudio audio) {
+        ByteBuffer pcm = audio.getPcm();
+        byte[] bytes = new byte[pcm.remaining()];
+        pcm.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,188 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the two-tier AudioCache.
+ */
+class AudioCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testMemoryHitAndMissCounters() {
+        AudioCache cache = new AudioCache(1000);
+        cache.put("a", clip(100));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+
+        AudioCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getMemoryHits());
+        assertEquals(0, stats.getDiskHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.001);
+    }
+
+    @Test
+    void testMemoryTierEvictsLeastRecentlyUsedByBytes() {
+        AudioCache cache = new AudioCache(300);
+        cache.put("a", clip(100));
+        cache.put("b", clip(100));
+        cache.put("c", clip(100));
+        cache.get("a"); // "b" is now least recently used
+
+        cache.put("d", clip(100));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getStats().getMemoryEvictions());
+        assertEquals(300, cache.getStats().getMemoryBytes());
+    }
+
+    @Test
+    void testClipLargerThanMemoryBudgetIsNotKept() {
+        AudioCache cache = new AudioCache(50);
+        cache.put("big", clip(100));
+        assertNull(cache.get("big"));
+        assertEquals(0, cache.getStats().getMemoryBytes());
+    }
+
+    @Test
+    void testDiskTierServesAndPromotesAfterMemoryEviction() {
+        AudioCache cache = new AudioCache(100, tempDir, 10_000);
+        cache.put("a", clip(100));
+        cache.put("b", clip(100)); // pushes "a" out of memory
+
+        SynthesizedAudio a = cache.get("a");
+        assertNotNull(a);
+        assertEquals(100, a.getByteCount());
+        assertEquals(1, cache.getStats().getDiskHits());
+
+        // Promoted back into memory
+        cache.get("a");
+        assertEquals(1, cache.getStats().getMemoryHits());
+    }
+
+    @Test
+    void testDiskTierIsBoundedAndDeletesFiles() {
+        // Each clip is 100 PCM bytes + 44 header bytes on disk
+        AudioCache cache = new AudioCache(0, tempDir, 300);
+        cache.put("a", clip(100));
+        cache.put("b", clip(100));
+        cache.put("c", clip(100));
+
+        assertFalse(Files.exists(tempDir.resolve("a.wav")));
+        assertTrue(Files.exists(tempDir.resolve("b.wav")));
+        assertTrue(Files.exists(tempDir.resolve("c.wav")));
+        assertEquals(1, cache.getStats().getDiskEvictions());
+        assertEquals(2, cache.getStats().getDiskEntries());
+    }
+
+    @Test
+    void testDiskHitRefreshesRecency() {
+        AudioCache cache = new AudioCache(0, tempDir, 300);
+        cache.put("a", clip(100));
+        cache.put("b", clip(100));
+
+        // Re-reading "a" from disk makes "b" the least recently used file
+        assertNotNull(cache.get("a"));
+        cache.put("c", clip(100));
+
+        assertTrue(Files.exists(tempDir.resolve("a.wav")));
+        assertFalse(Files.exists(tempDir.resolve("b.wav")));
+        assertTrue(Files.exists(tempDir.resolve("c.wav")));
+    }
+
+    @Test
+    void testExistingFilesAreAdoptedOnStartup() throws IOException {
+        clip(100).writeWav(tempDir.resolve("tts_0123456789abcdef.wav"));
+
+        AudioCache cache = new AudioCache(1000, tempDir, 10_000);
+
+        assertTrue(cache.contains("tts_0123456789abcdef"));
+        assertNotNull(cache.get("tts_0123456789abcdef"));
+        assertEquals(1, cache.getStats().getDiskHits());
+    }
+
+    @Test
+    void testStartupTrimsToDiskBudget() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            clip(100).writeWav(tempDir.resolve("clip" + i + ".wav"));
+        }
+
+        AudioCache cache = new AudioCache(1000, tempDir, 300);
+
+        assertEquals(2, cache.getStats().getDiskEntries());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void testRegisteredFileIsPreloaded() throws IOException {
+        Path file = tempDir.resolve("greeting.wav");
+        clip(100).writeWav(file);
+
+        AudioCache cache = new AudioCache(1000);
+        cache.register("greeting", file.toString());
+
+        assertEquals(file.toString(), cache.getLocation("greeting"));
+        assertNotNull(cache.get("greeting"));
+        assertEquals(1, cache.getStats().getMemoryHits());
+    }
+
+    @Test
+    void testRegisteredMissingFileKeepsLocation() {
+        AudioCache cache = new AudioCache(1000);
+        cache.register("missing", "/path/to/audio.wav");
+
+        assertEquals("/path/to/audio.wav", cache.getLocation("missing"));
+        assertNull(cache.get("missing"));
+    }
+
+    @Test
+    void testClearMemoryKeepsDiskTier() {
+        AudioCache cache = new AudioCache(1000, tempDir, 10_000);
+        cache.put("a", clip(100));
+        cache.clearMemory();
+
+        assertEquals(0, cache.getStats().getMemoryEntries());
+        assertNotNull(cache.get("a"));
+        assertEquals(1, cache.getStats().getDiskHits());
+    }
+
+    @Test
+    void testBankServesClipsWithoutUsingMemoryBudget() throws IOException {
+        AudioBankWriter writer = new AudioBankWriter();
+        writer.add("greetings/hello", clip(100));
+        Path bankFile = tempDir.resolve("clips.bank");
+        writer.write(bankFile);
+
+        AudioCache cache = new AudioCache(1000);
+        cache.addBank(AudioBank.open(bankFile));
+        // The loose file is not shipped; the packed copy is used instead
+        cache.register("hello", "/missing/audio/greetings/hello.wav");
+
+        assertEquals(100, cache.get("hello").getByteCount());
+        assertNotNull(cache.get("greetings/hello"));
+        assertTrue(cache.contains("hello"));
+        AudioCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getBankHits());
+        assertEquals(0, stats.getMemoryEntries());
+        assertEquals(1.0, stats.getHitRate(), 0.001);
+    }
+
+    private static SynthesizedAudio clip(int bytes) {
+        return new SynthesizedAudio(22050, 1, 16, ByteBuffer.allocate(bytes));
+    }
+}
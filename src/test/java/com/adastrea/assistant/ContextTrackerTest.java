@@ -3,6 +3,7 @@ package com.adastrea.assistant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -59,6 +60,46 @@ class ContextTrackerTest {
         assertEquals(5, tracker.getRecentEvents().size());
     }
     
+    @Test
+    void testCustomWindowSizes() {
+        ContextTracker large = new ContextTracker(1000, 200);
+        for (int i = 0; i < 2500; i++) {
+            large.recordInteraction("Player", "Message " + i, ContextTracker.InteractionType.PLAYER_QUERY);
+            large.recordEvent("test", "Event " + i, ContextTracker.EventSeverity.INFO);
+        }
+        
+        assertEquals(1000, large.getInteractionHistory().size());
+        assertEquals("Message 1500", large.getInteractionHistory().get(0).getMessage());
+        assertEquals("Message 2499", large.getInteractionHistory().get(999).getMessage());
+        assertEquals(200, large.getRecentEvents().size());
+        assertEquals("Event 2499", large.getMostRecentEvent("test").getDescription());
+        assertEquals(1000, large.getInteractionHistoryCapacity());
+        assertEquals(200, large.getRecentEventsCapacity());
+    }
+    
+    @Test
+    void testWindowSizesFromConfig() {
+        AssistantConfig config = new AssistantConfig();
+        config.setContextInteractionHistory(50);
+        config.setContextRecentEvents(20);
+        
+        ContextTracker configured = new ContextTracker(config);
+        
+        assertEquals(50, configured.getInteractionHistoryCapacity());
+        assertEquals(20, configured.getRecentEventsCapacity());
+    }
+    
+    @Test
+    void testHistoryIsReadOnlyLiveView() {
+        List<ContextTracker.Interaction> history = tracker.getInteractionHistory();
+        tracker.recordInteraction("Player", "Hi", ContextTracker.InteractionType.PLAYER_QUERY);
+        
+        assertEquals(1, history.size());
+        assertSame(history, tracker.getInteractionHistory());
+        assertThrows(UnsupportedOperationException.class, () -> history.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> tracker.getRecentEvents().clear());
+    }
+    
     @Test
     void testUpdatePlayerState() {
         tracker.updatePlayerState("oxygen", 75);
@@ -107,6 +148,20 @@ class ContextTrackerTest {
         assertTrue(tracker.wasRecentlyDiscussed("OXYGEN"));
     }
     
+    @Test
+    void testEvictedInteractionIsNoLongerDiscussed() {
+        tracker.recordInteraction("Player", "Tell me about oxygen", ContextTracker.InteractionType.PLAYER_QUERY);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordInteraction("Player", "Tell me about fuel", ContextTracker.InteractionType.PLAYER_QUERY);
+        }
+        
+        assertFalse(tracker.wasRecentlyDiscussed("oxygen"));
+        assertTrue(tracker.wasRecentlyDiscussed("fuel"));
+        
+        tracker.clear();
+        assertFalse(tracker.wasRecentlyDiscussed("fuel"));
+    }
+    
     @Test
     void testHasRecentEvent() {
         tracker.recordEvent("oxygen_low", "Low oxygen", ContextTracker.EventSeverity.HIGH);
@@ -232,4 +287,18 @@ class ContextTrackerTest {
         assertEquals(50.5, states.get("fuel"));
         assertEquals("Mars Base", states.get("position"));
     }
+    
+    @Test
+    void testTypedPlayerStateInSummary() {
+        tracker.updatePlayerState(PlayerState.OXYGEN, 40);
+        tracker.updatePlayerState(PlayerState.TEMPERATURE, 21.5);
+        
+        ContextTracker.ContextSummary summary = tracker.getContextSummary();
+        tracker.updatePlayerState(PlayerState.OXYGEN, 10);
+        
+        assertEquals(40, summary.getPlayerStateSnapshot().getInt(PlayerState.OXYGEN, -1));
+        assertEquals(21.5, summary.getPlayerState().get("temperature"));
+        assertEquals(10, tracker.getPlayerState().getInt(PlayerState.OXYGEN, -1));
+        assertSame(summary.getPlayerState(), summary.getPlayerState());
+    }
 }
@@ -2,6 +2,18 @@ package com.adastrea.assistant;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -270,4 +282,216 @@ class CoquiTTSAudioManagerTest {
             });
         }
     }
+    
+    @Test
+    void testConcurrentIdenticalRequestsShareOneSynthesis(@TempDir Path tempDir) throws Exception {
+        BlockingTTSManager manager = new BlockingTTSManager(tempDir.toString());
+        
+        CompletableFuture<SynthesizedAudio> first = manager.synthesizeAsync("Hull breach", "worried", "critical", "cooperative");
+        assertTrue(manager.started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<SynthesizedAudio> second = manager.synthesizeAsync("Hull breach", "worried", "critical", "cooperative");
+        
+        assertEquals(1, manager.getInFlightCount());
+        assertEquals(1, manager.getCoalescedRequestCount());
+        
+        manager.release.countDown();
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, manager.calls.get());
+        assertEquals(0, manager.getInFlightCount());
+    }
+    
+    @Test
+    void testDifferentContextIsNotCoalesced(@TempDir Path tempDir) throws Exception {
+        BlockingTTSManager manager = new BlockingTTSManager(tempDir.toString());
+        manager.release.countDown();
+        
+        CompletableFuture<SynthesizedAudio> normal = manager.synthesizeAsync("Hello", "neutral", "normal", "cooperative");
+        CompletableFuture<SynthesizedAudio> urgent = manager.synthesizeAsync("Hello", "neutral", "critical", "cooperative");
+        CompletableFuture.allOf(normal, urgent).get(5, TimeUnit.SECONDS);
+        
+        assertEquals(2, manager.calls.get());
+        assertEquals(0, manager.getCoalescedRequestCount());
+    }
+    
+    @Test
+    void testCancellingOneCallerDoesNotAffectOthers(@TempDir Path tempDir) throws Exception {
+        BlockingTTSManager manager = new BlockingTTSManager(tempDir.toString());
+        
+        CompletableFuture<SynthesizedAudio> first = manager.synthesizeAsync("Hello", "neutral", "normal", "cooperative");
+        CompletableFuture<SynthesizedAudio> second = manager.synthesizeAsync("Hello", "neutral", "normal", "cooperative");
+        first.cancel(true);
+        
+        manager.release.countDown();
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void testLaterRequestIsServedFromCache(@TempDir Path tempDir) throws Exception {
+        BlockingTTSManager manager = new BlockingTTSManager(tempDir.toString());
+        manager.release.countDown();
+        
+        manager.synthesizeAsync("Hello", "neutral", "normal", "cooperative").get(5, TimeUnit.SECONDS);
+        manager.synthesizeAsync("Hello", "neutral", "normal", "cooperative").get(5, TimeUnit.SECONDS);
+        
+        assertEquals(1, manager.calls.get());
+        assertEquals(1, manager.getAudioCache().getStats().getMemoryHits());
+    }
+    
+    @Test
+    void testLongLineStartsPlayingBeforeLastSentenceIsSynthesized(@TempDir Path tempDir) throws Exception {
+        StreamingTTSManager manager = new StreamingTTSManager(tempDir.toString(), new AssistantConfig());
+        String last = "Adjust your play style accordingly.";
+        manager.gate(last);
+        
+        CompletableFuture<Void> playback = manager.playVoiceWithContext(
+            "Each celestial body has different gravity. Lower gravity allows higher jumps but affects movement speed. "
+                + last, "curious", "normal", "curious");
+        
+        manager.awaitPlayed(2);
+        assertFalse(playback.isDone());
+        assertEquals(List.of("Each celestial body has different gravity.",
+            "Lower gravity allows higher jumps but affects movement speed."), manager.played);
+        
+        manager.release(last);
+        playback.get(5, TimeUnit.SECONDS);
+        assertEquals(3, manager.played.size());
+        assertEquals(last, manager.played.get(2));
+    }
+    
+    @Test
+    void testCancellingStreamStopsRemainingSentences(@TempDir Path tempDir) throws Exception {
+        AssistantConfig config = new AssistantConfig();
+        config.setTtsExecutorThreads(1);
+        StreamingTTSManager manager = new StreamingTTSManager(tempDir.toString(), config);
+        String first = "Always check your life support systems before venturing out.";
+        manager.gate(first);
+        
+        CompletableFuture<Void> playback = manager.playVoiceWithContext(
+            first + " Carry backup oxygen and emergency supplies. Stay close to your ship on the first trip.",
+            "cooperative", "normal", "cooperative");
+        playback.cancel(true);
+        manager.release(first);
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((manager.synthesized.isEmpty() || manager.getInFlightCount() > 0)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        
+        assertTrue(manager.played.isEmpty());
+        // Only the sentence requested before cancelling was synthesized
+        assertEquals(List.of(first), manager.synthesized);
+    }
+    
+    @Test
+    void testCancellingSingleLineSkipsPlayback(@TempDir Path tempDir) throws Exception {
+        AssistantConfig config = new AssistantConfig();
+        config.setTtsExecutorThreads(1);
+        StreamingTTSManager manager = new StreamingTTSManager(tempDir.toString(), config);
+        String line = "Hello there pilot.";
+        manager.gate(line);
+        
+        CompletableFuture<Void> playback = manager.playVoiceWithContext(line, "cooperative", "normal", "cooperative");
+        playback.cancel(false);
+        manager.release(line);
+        
+        // The executor has one thread, so this line runs after the cancelled one completed
+        String next = "Systems nominal.";
+        manager.playVoiceWithContext(next, "cooperative", "normal", "cooperative").get(5, TimeUnit.SECONDS);
+        
+        assertEquals(List.of(line, next), manager.synthesized);
+        assertEquals(List.of(next), manager.played);
+    }
+    
+    @Test
+    void testStreamingCanBeDisabled(@TempDir Path tempDir) throws Exception {
+        AssistantConfig config = new AssistantConfig();
+        config.setTtsStreaming(false);
+        StreamingTTSManager manager = new StreamingTTSManager(tempDir.toString(), config);
+        String lesson = "Your spacecraft requires fuel to travel between planets. Make sure to stock up before long journeys.";
+        
+        manager.playVoiceWithContext(lesson, "cooperative", "normal", "cooperative").get(5, TimeUnit.SECONDS);
+        
+        assertEquals(List.of(lesson), manager.synthesized);
+        assertEquals(List.of(lesson), manager.played);
+    }
+    
+    /**
+     * Manager with an in-process backend that records what it synthesizes and
+     * plays. Synthesis of gated lines blocks until they are released.
+     */
+    private static class StreamingTTSManager extends CoquiTTSAudioManager {
+        final List<String> synthesized = new CopyOnWriteArrayList<>();
+        final List<String> played = new CopyOnWriteArrayList<>();
+        private final Set<String> gated = ConcurrentHashMap.newKeySet();
+        private final ConcurrentHashMap<SynthesizedAudio, String> texts = new ConcurrentHashMap<>();
+        
+        StreamingTTSManager(String projectRoot, AssistantConfig config) {
+            super(projectRoot, "python3", false, config);
+        }
+        
+        void gate(String text) {
+            gated.add(text);
+        }
+        
+        synchronized void release(String text) {
+            gated.remove(text);
+            notifyAll();
+        }
+        
+        synchronized void awaitPlayed(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (played.size() < count && System.currentTimeMillis() < deadline) {
+                wait(50);
+            }
+            assertEquals(count, played.size());
+        }
+        
+        @Override
+        public boolean isTTSAvailable() {
+            return true;
+        }
+        
+        @Override
+        protected SynthesizedAudio synthesize(String text, String emotion, String urgency, String relationshipStage)
+                throws InterruptedException {
+            synchronized (this) {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (gated.contains(text) && System.currentTimeMillis() < deadline) {
+                    wait(50);
+                }
+            }
+            synthesized.add(text);
+            SynthesizedAudio audio = new SynthesizedAudio(22050, 1, 16, ByteBuffer.allocate(100));
+            texts.put(audio, text);
+            return audio;
+        }
+        
+        @Override
+        protected synchronized void playAudio(SynthesizedAudio audio) {
+            played.add(texts.get(audio));
+            notifyAll();
+        }
+    }
+    
+    /**
+     * Manager whose synthesis blocks until released and counts its calls.
+     */
+    private static class BlockingTTSManager extends CoquiTTSAudioManager {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        
+        BlockingTTSManager(String projectRoot) {
+            super(projectRoot, "python3", false);
+        }
+        
+        @Override
+        protected SynthesizedAudio synthesize(String text, String emotion, String urgency, String relationshipStage)
+                throws InterruptedException {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new SynthesizedAudio(22050, 1, 16, ByteBuffer.allocate(100));
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the DialogueCorpus format and the shipped corpus.
+ */
+class DialogueCorpusTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static DialogueCorpus parse(String text) throws IOException {
+        return DialogueCorpus.fromBuffer(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testSectionsAreIndexedByProfileStageAndCategory() throws IOException {
+        DialogueCorpus corpus = parse(
+            "# Test pack\n"
+            + "[default/any/greeting]\n"
+            + "Hello!\n"
+            + "Hi there.\n"
+            + "\n"
+            + "[mittenz/hostile/companion]\n"
+            + "Who are you?\n");
+
+        assertEquals(2, corpus.getSectionCount());
+        assertEquals(List.of("Hello!", "Hi there."), corpus.getLines("default", "any", "greeting"));
+        assertEquals(List.of("Who are you?"), corpus.getLines("mittenz", RelationshipStage.HOSTILE, "companion"));
+        assertTrue(corpus.getLines("mittenz", RelationshipStage.CURIOUS, "companion").isEmpty());
+        assertTrue(corpus.contains("default", "any", "greeting"));
+        assertFalse(corpus.contains("default", "any", "farewell"));
+    }
+
+    @Test
+    void testLinesAreDecodedOnFirstRead() throws IOException {
+        DialogueCorpus corpus = parse("[a/any/one]\nFirst\nSecond\n[a/any/two]\nThird\n");
+
+        assertEquals(2, corpus.getLineCount("a", "any", "one"));
+        assertEquals(0, corpus.getDecodedSectionCount());
+
+        List<String> lines = corpus.getLines("a", "any", "one");
+        assertEquals(1, corpus.getDecodedSectionCount());
+        assertSame(lines, corpus.getLines("a", "any", "one"));
+        assertThrows(UnsupportedOperationException.class, () -> lines.add("Fourth"));
+    }
+
+    @Test
+    void testCommentsEscapesLineEndingsAndByteOrderMark() throws IOException {
+        DialogueCorpus corpus = parse(
+            "\uFEFF[a/any/lines]\r\n"
+            + "# not a line\r\n"
+            + "\\# hashtag\r\n"
+            + "\\[bracketed]   \r\n"
+            + "Café ★\r\n"
+            + "   \r\n");
+
+        assertEquals(List.of("# hashtag", "[bracketed]", "Café ★"), corpus.getLines("a", "any", "lines"));
+        assertEquals(3, corpus.getLineCount("a", "any", "lines"));
+    }
+
+    @Test
+    void testCategoriesKeepFileOrder() throws IOException {
+        DialogueCorpus corpus = parse("[d/any/lesson.b]\nB\n[d/any/lesson.a]\nA\n[d/curious/lesson.c]\nC\n");
+
+        assertEquals(List.of("lesson.b", "lesson.a"), corpus.getCategories("d", "any"));
+    }
+
+    @Test
+    void testInvalidCorpusIsRejected() {
+        assertThrows(IOException.class, () -> parse("Line before any header\n[a/any/b]\n"));
+        assertThrows(IOException.class, () -> parse("[a/any]\nLine\n"));
+        assertThrows(IOException.class, () -> parse("[a/any/b\nLine\n"));
+        assertThrows(IOException.class, () -> parse("[a/any/b]\nOne\n[a/any/b]\nTwo\n"));
+    }
+
+    @Test
+    void testOpenMapsFile() throws IOException {
+        Path file = tempDir.resolve("pack.txt");
+        Files.writeString(file, "[default/any/greeting]\nBonjour !\n", StandardCharsets.UTF_8);
+
+        DialogueCorpus corpus = DialogueCorpus.open(file);
+
+        assertEquals(List.of("Bonjour !"), corpus.getLines("default", "any", "greeting"));
+    }
+
+    @Test
+    void testShippedCorpusHasEveryDialogueSource() {
+        DialogueCorpus corpus = DialogueCorpus.getDefault();
+
+        assertSame(corpus, DialogueCorpus.getDefault());
+        assertEquals(3, corpus.getLineCount("default", "any", "greeting"));
+        assertEquals(20, corpus.getLineCount("mittenz", "any", "memory"));
+        for (RelationshipStage stage : RelationshipStage.values()) {
+            assertFalse(corpus.getLines("default", stage, "companion").isEmpty(), stage.name());
+            assertFalse(corpus.getLines("mittenz", stage, "companion").isEmpty(), stage.name());
+        }
+        assertTrue(corpus.getCategories("default", "any").contains("lesson.oxygen"));
+    }
+
+    @Test
+    void testSystemsReadFromCustomCorpus() throws IOException {
+        DialogueCorpus corpus = parse(
+            "[default/any/greeting]\nBonjour, explorateur !\n"
+            + "[default/hostile/companion]\nQui es-tu ?\n"
+            + "[default/any/lesson.oxygen]\nL'oxygène est essentiel.\nSurveille ta jauge.\n"
+            + "[mittenz/any/memory]\nJe me souviens du labo.\n");
+
+        DialogueSystem dialogue = new DialogueSystem(corpus);
+        assertEquals("Bonjour, explorateur !", dialogue.getGreeting());
+        assertEquals("Qui es-tu ?", dialogue.getRandomCompanionDialogue());
+
+        TeachingSystem teaching = new TeachingSystem(corpus);
+        assertEquals("L'oxygène est essentiel. Surveille ta jauge.", teaching.getLesson("Oxygen"));
+        assertFalse(teaching.hasLesson("gravity"));
+        assertArrayEquals(new String[] {"oxygen"}, teaching.getAvailableTopics());
+
+        assertEquals("Je me souviens du labo.", new MittenzProfile(corpus).getMemoryFragment());
+    }
+}
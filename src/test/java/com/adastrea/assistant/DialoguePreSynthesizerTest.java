@@ -0,0 +1,108 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the build-time DialoguePreSynthesizer.
+ */
+class DialoguePreSynthesizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCollectsEveryStaticSource() {
+        List<DialoguePreSynthesizer.Line> lines = DialoguePreSynthesizer.collectStaticLines("Astra");
+
+        assertTrue(containsText(lines, "Astra here! Hello there! I'm here to help you on your space adventure."));
+        assertTrue(containsText(lines, "Who the fuck are you?"));
+        assertTrue(containsText(lines, "Mittenz here! Hi! Mittenz here. I'm getting better at this. We can work together."));
+        assertTrue(containsText(lines, "These systems are like second nature now. I'm ready for anything."));
+        assertTrue(containsText(lines, MittenzProfile.getMemoryFragments().get(0)));
+        assertTrue(containsText(lines, new TeachingSystem().getLesson("oxygen")));
+        assertTrue(containsText(lines, TeachingSystem.UNKNOWN_TOPIC_LESSON));
+        assertTrue(containsText(lines, "Okay, I get it now. We need to work together."));
+    }
+
+    @Test
+    void testLinesUseRuntimeVoiceContext() {
+        List<DialoguePreSynthesizer.Line> lines = DialoguePreSynthesizer.collectStaticLines("Astra");
+        String lesson = new TeachingSystem().getLesson("gravity");
+
+        // Lessons can be spoken at any stage, so one render per stage
+        long renders = lines.stream().filter(line -> line.getText().equals(lesson)).count();
+        assertEquals(RelationshipStage.values().length, renders);
+
+        DialoguePreSynthesizer.Line hostile = lines.stream()
+            .filter(line -> line.getText().equals("Where is my dad?"))
+            .findFirst().orElseThrow();
+        assertEquals("hostile", hostile.getEmotion());
+        assertEquals("normal", hostile.getUrgency());
+        assertEquals("hostile", hostile.getRelationship());
+        assertEquals(CoquiTTSAudioManager.cacheKey("Where is my dad?", "hostile", "normal", "hostile"), hostile.getKey());
+    }
+
+    @Test
+    void testLinesAreUnique() {
+        List<DialoguePreSynthesizer.Line> lines = DialoguePreSynthesizer.collectStaticLines("Astra");
+        Set<String> keys = new HashSet<>();
+        for (DialoguePreSynthesizer.Line line : lines) {
+            assertTrue(keys.add(line.getKey()), "Duplicate line: " + line.getText());
+        }
+    }
+
+    @Test
+    void testRenderWritesBank() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CoquiTTSAudioManager tts = new CoquiTTSAudioManager(tempDir.toString(), "python3", false) {
+            @Override
+            protected SynthesizedAudio synthesize(String text, String emotion, String urgency, String relationshipStage)
+                    throws IOException {
+                calls.incrementAndGet();
+                if (text.equals("broken")) {
+                    throw new IOException("synthesis failed");
+                }
+                return new SynthesizedAudio(22050, 1, 16, ByteBuffer.allocate(text.length() * 2));
+            }
+        };
+        List<DialoguePreSynthesizer.Line> lines = List.of(
+            new DialoguePreSynthesizer.Line("one", "curious", "normal", "curious"),
+            new DialoguePreSynthesizer.Line("two", "curious", "normal", "curious"),
+            new DialoguePreSynthesizer.Line("broken", "curious", "normal", "curious"),
+            new DialoguePreSynthesizer.Line("three", "curious", "normal", "curious"));
+        Path output = tempDir.resolve("dialogue.bank");
+
+        int failures = DialoguePreSynthesizer.render(tts, lines, 2, output);
+        tts.shutdown();
+
+        assertEquals(1, failures);
+        assertEquals(4, calls.get());
+        AudioBank bank = AudioBank.open(output);
+        assertEquals(3, bank.size());
+        assertEquals(6, bank.get(lines.get(0).getKey()).getByteCount());
+        assertFalse(bank.contains(lines.get(2).getKey()));
+    }
+
+    @Test
+    void testStageVoiceMapping() {
+        assertEquals("hostile", CoquiTTSAudioManager.emotionFor(RelationshipStage.HOSTILE));
+        assertEquals("curious", CoquiTTSAudioManager.emotionFor(RelationshipStage.CURIOUS));
+        assertEquals("cooperative", CoquiTTSAudioManager.emotionFor(RelationshipStage.COOPERATIVE));
+        assertEquals("cooperative", CoquiTTSAudioManager.relationshipFor(RelationshipStage.COOPERATIVE));
+    }
+
+    private static boolean containsText(List<DialoguePreSynthesizer.Line> lines, String text) {
+        return lines.stream().anyMatch(line -> line.getText().equals(text));
+    }
+}
@@ -2,6 +2,14 @@ package com.adastrea.assistant;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -160,6 +168,219 @@ class GameStateIntegrationTest {
         assertTrue(assistant.isEnabled());
     }
     
+    @Test
+    void testWarningCooldownIsConfigurablePerType() {
+        WarningCooldowns cooldowns = gameState.getWarningCooldowns();
+        cooldowns.setCooldown(cooldowns.getId("oxygen"), 0, TimeUnit.MILLISECONDS);
+        
+        gameState.onLowOxygen(25, 120);
+        gameState.onLowOxygen(40, 300);
+        gameState.onLowOxygen(24, 115);
+        gameState.onLowResource("water", 10.0, 20.0);
+        gameState.onLowResource("water", 9.0, 20.0);
+        
+        long oxygenWarnings = assistant.getContextTracker().getRecentEvents().stream()
+            .filter(event -> event.getEventType().equals("oxygen_low"))
+            .count();
+        assertEquals(2, oxygenWarnings);
+        int water = cooldowns.getId("resource_water");
+        assertTrue(water >= 0);
+        assertTrue(cooldowns.getRemaining(water, TimeUnit.SECONDS) > 0);
+    }
+    
+    @Test
+    void testTelemetryBatchWarnsOnlyForThisPlayer() {
+        GameStateIntegration player = new GameStateIntegration(assistant, 42);
+        TelemetryBatch batch = new TelemetryBatch(8, "fuel");
+        batch.setResourceThreshold(0, 20.0);
+        batch.addSample(7, 5, 10, 10, 200.0);
+        int row = batch.addSample(42, 20, 60, 95, 20.0);
+        batch.setResourceAmount(row, 0, 3.0);
+        
+        player.onTelemetryBatch(batch);
+        
+        assertEquals(42, player.getPlayerId());
+        assertEquals(20, assistant.getContextTracker().getPlayerState("oxygen"));
+        // The other player's health and temperature never reached this assistant
+        assertEquals(95, assistant.getContextTracker().getPlayerState("health"));
+        assertEquals(20.0, assistant.getContextTracker().getPlayerState("temperature"));
+        assertTrue(player.getWarningCooldowns().getRemaining(
+            player.getWarningCooldowns().getId("resource_fuel"), TimeUnit.SECONDS) > 0);
+    }
+    
+    @Test
+    void testUnknownBatchTemperatureKeepsLevel() {
+        gameState.onTemperatureWarning(80.0, true);
+        assertEquals(AlertLevel.WARNING, gameState.getTemperatureLevel());
+        int spoken = assistant.getContextTracker().getInteractionHistory().size();
+        
+        TelemetryBatch batch = new TelemetryBatch(4);
+        batch.addSample(1, 95, 900, 100, Double.NaN);
+        gameState.onTelemetryBatch(batch);
+        
+        assertEquals(AlertLevel.WARNING, gameState.getTemperatureLevel());
+        assertEquals(spoken, assistant.getContextTracker().getInteractionHistory().size());
+        assertEquals(80.0, assistant.getContextTracker().getPlayerState("temperature"));
+    }
+    
+    @Test
+    void testMultiplayerBatchKeepsPlayersApart() {
+        AIAssistant other = new AIAssistant();
+        GameStateIntegration first = new GameStateIntegration(assistant, 1);
+        GameStateIntegration second = new GameStateIntegration(other, 2);
+        TelemetryBatch batch = new TelemetryBatch(4);
+        for (int tick = 0; tick < 5; tick++) {
+            batch.clear();
+            batch.addSample(1, 5, 20, 100, 20.0);
+            batch.addSample(2, 90, 900, 100, 20.0);
+            first.onTelemetryBatch(batch);
+            second.onTelemetryBatch(batch);
+        }
+        
+        long oxygenWarnings = assistant.getContextTracker().getRecentEvents().stream()
+            .filter(event -> event.getEventType().equals("oxygen_low"))
+            .count();
+        assertEquals(1, oxygenWarnings);
+        assertEquals(AlertLevel.CRITICAL, first.getOxygenLevel());
+        assertEquals(AlertLevel.NORMAL, second.getOxygenLevel());
+        assertFalse(other.getContextTracker().hasRecentEvent("oxygen_low"));
+        
+        // A single shared integration cannot tell the players apart
+        assertThrows(IllegalArgumentException.class, () -> gameState.onTelemetryBatch(batch));
+        assertEquals(AlertLevel.NORMAL, gameState.getOxygenLevel());
+    }
+    
+    @Test
+    void testQuietTelemetryOnlyUpdatesPlayerState() {
+        TelemetryBatch batch = new TelemetryBatch(4);
+        batch.addSample(1, 95, 900, 100, 22.0);
+        int speaks = assistant.getContextTracker().getInteractionHistory().size();
+        
+        gameState.onTelemetryBatch(batch);
+        
+        assertEquals(speaks, assistant.getContextTracker().getInteractionHistory().size());
+        assertFalse(assistant.getContextTracker().hasRecentEvent("oxygen_low"));
+        assertEquals(95, assistant.getContextTracker().getPlayerState("oxygen"));
+    }
+    
+    @Test
+    void testSteadyReadingsWarnOnlyOnTransitions() {
+        gameState.onLowOxygen(25, 120);
+        for (int level = 24; level > 15; level--) {
+            gameState.onLowOxygen(level, 100);
+        }
+        assertEquals(AlertLevel.WARNING, gameState.getOxygenLevel());
+        // Steady readings update the player state without warning again
+        assertEquals(16, assistant.getContextTracker().getPlayerState("oxygen"));
+        assertEquals(1, assistant.getContextTracker().getRecentEvents().stream()
+            .filter(event -> event.getEventType().equals("oxygen_low"))
+            .count());
+        
+        // Critical escalation is not held back by the warning cooldown
+        gameState.onLowOxygen(8, 20);
+        assertEquals(AlertLevel.CRITICAL, gameState.getOxygenLevel());
+        long oxygenWarnings = assistant.getContextTracker().getRecentEvents().stream()
+            .filter(event -> event.getEventType().equals("oxygen_low"))
+            .count();
+        assertEquals(2, oxygenWarnings);
+    }
+    
+    @Test
+    void testLatestReadingWinsWhileMailboxIsBusy() throws Exception {
+        ExecutorService drainer = Executors.newSingleThreadExecutor();
+        try {
+            AssistantHub hub = new AssistantHub(new AssistantConfig(), DialogueCorpus.getDefault(),
+                new AudioCache(AudioManager.DEFAULT_CACHE_BYTES), drainer);
+            AIAssistant session = hub.getSession(hub.openSession("Nova"));
+            GameStateIntegration integration = new GameStateIntegration(session);
+            CountDownLatch release = new CountDownLatch(1);
+            session.post(() -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            
+            for (int level = 95; level >= 85; level--) {
+                integration.onLowOxygen(level, 900);
+            }
+            release.countDown();
+            
+            assertEquals(85, session.submit(() -> session.getContextTracker().getPlayerState("oxygen"))
+                .get(5, TimeUnit.SECONDS));
+            assertEquals(AlertLevel.NORMAL, integration.getOxygenLevel());
+        } finally {
+            drainer.shutdownNow();
+        }
+    }
+    
+    @Test
+    void testSteadyReadingsPostNoMailboxTasks() {
+        AtomicInteger drains = new AtomicInteger();
+        AssistantHub hub = new AssistantHub(new AssistantConfig(), DialogueCorpus.getDefault(),
+            new AudioCache(AudioManager.DEFAULT_CACHE_BYTES), task -> {
+                drains.incrementAndGet();
+                task.run();
+            });
+        AIAssistant session = hub.getSession(hub.openSession("Nova"));
+        GameStateIntegration integration = new GameStateIntegration(session);
+        TelemetryBatch batch = new TelemetryBatch(1);
+        
+        // The first warning is a transition and is posted
+        integration.onLowOxygen(25, 120);
+        assertEquals(1, drains.get());
+        for (int i = 0; i < 100; i++) {
+            integration.onLowOxygen(20 + i % 5, 100);
+            integration.onLowHealth(90, null);
+            integration.onTemperatureWarning(20.0, false);
+            batch.clear();
+            batch.addSample(1, 24, 100, 90, 21.0);
+            integration.onTelemetryBatch(batch);
+        }
+        assertEquals(1, drains.get());
+        
+        // The readings are still visible through the player state
+        assertEquals(24, session.getContextTracker().getPlayerState("oxygen"));
+        assertEquals(90, session.getContextTracker().getPlayerState("health"));
+        assertEquals(21.0, session.getContextTracker().getPlayerState("temperature"));
+    }
+    
+    @Test
+    void testHysteresisKeepsLevelNearThreshold() {
+        gameState.onLowHealth(45, "radiation");
+        assertEquals(AlertLevel.WARNING, gameState.getHealthLevel());
+        
+        // Back over the threshold, but inside the hysteresis band
+        gameState.onLowHealth(52, null);
+        assertEquals(AlertLevel.WARNING, gameState.getHealthLevel());
+        gameState.onLowHealth(60, null);
+        assertEquals(AlertLevel.NORMAL, gameState.getHealthLevel());
+        assertEquals(60, assistant.getContextTracker().getPlayerState("health"));
+        
+        gameState.onTemperatureWarning(-120.0, true);
+        assertEquals(AlertLevel.CRITICAL, gameState.getTemperatureLevel());
+        gameState.onTemperatureWarning(-97.0, true);
+        assertEquals(AlertLevel.CRITICAL, gameState.getTemperatureLevel());
+        gameState.onTemperatureWarning(-60.0, false);
+        assertEquals(AlertLevel.WARNING, gameState.getTemperatureLevel());
+    }
+    
+    @Test
+    void testDangerousFlagWarnsInsideThresholds() {
+        gameState.onTemperatureWarning(80.0, true);
+        
+        assertEquals(AlertLevel.WARNING, gameState.getTemperatureLevel());
+        List<ContextTracker.Interaction> history = assistant.getContextTracker().getInteractionHistory();
+        int spoken = history.size();
+        assertTrue(history.get(spoken - 1).getMessage().startsWith("Temperature critical: 80.0 degrees"));
+        
+        // Clearing the flag recovers silently
+        gameState.onTemperatureWarning(80.0, false);
+        assertEquals(AlertLevel.NORMAL, gameState.getTemperatureLevel());
+        assertEquals(spoken, history.size());
+    }
+    
     @Test
     void testRelationshipStageProgression() {
         // Initial stage should be HOSTILE
@@ -210,4 +431,33 @@ class GameStateIntegrationTest {
         
         assertEquals(RelationshipStage.COOPERATIVE, mittenz.getRelationshipStage());
     }
+    
+    @Test
+    void testEventsFromManyThreadsAreSerialized() throws InterruptedException {
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int level = 20 + t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    gameState.onLowOxygen(level, 60);
+                    gameState.onLowHealth(40, "radiation");
+                    gameState.onDiscovery("mineral", "Crystal");
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        // Every event has been handled once the mailbox is drained
+        assistant.submit(() -> null).join();
+        assertTrue(assistant.getMailbox().isIdle());
+        // The cooldown let exactly one oxygen warning through
+        long oxygenWarnings = assistant.getContextTracker().getRecentEvents().stream()
+            .filter(event -> event.getEventType().equals("oxygen_low"))
+            .count();
+        assertEquals(1, oxygenWarnings);
+        assertEquals(40, assistant.getContextTracker().getPlayerState("health"));
+    }
 }
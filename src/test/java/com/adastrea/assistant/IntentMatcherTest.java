@@ -0,0 +1,82 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IntentMatcher.
+ */
+class IntentMatcherTest {
+
+    @Test
+    void testEarliestIntentWinsRegardlessOfPosition() {
+        IntentMatcher matcher = new IntentMatcher.Builder()
+            .addIntent("help", "help")
+            .addIntent("oxygen", "oxygen", "air")
+            .build("default");
+
+        assertEquals("help", matcher.match("oxygen is low, help!"));
+        assertEquals("oxygen", matcher.match("Is the AIR breathable?"));
+        assertEquals("default", matcher.match("What about fuel?"));
+        assertEquals(-1, matcher.indexOf("What about fuel?"));
+    }
+
+    @Test
+    void testMatchesInsideWordsLikeContains() {
+        IntentMatcher matcher = new IntentMatcher.Builder()
+            .addIntent("thanks", "thank")
+            .build("default");
+
+        assertEquals("thanks", matcher.match("Thankyou so much"));
+    }
+
+    @Test
+    void testOverlappingKeywordsUseFailureLinks() {
+        IntentMatcher matcher = new IntentMatcher.Builder()
+            .addIntent("first", "she")
+            .addIntent("second", "he")
+            .addIntent("third", "hers")
+            .build("default");
+
+        // "ushers" contains she, he and hers; the first intent wins
+        assertEquals(0, matcher.indexOf("ushers"));
+        assertEquals(1, matcher.indexOf("ahe"));
+        assertEquals(2, new IntentMatcher.Builder()
+            .addIntent("a", "xyz")
+            .addIntent("b", "abd")
+            .addIntent("c", "bc")
+            .build("default").indexOf("abc"));
+    }
+
+    @Test
+    void testManyIntentsMatchSameAsContainsChain() {
+        IntentMatcher.Builder builder = new IntentMatcher.Builder();
+        String[] keywords = new String[2000];
+        for (int i = 0; i < keywords.length; i++) {
+            keywords[i] = "kw" + Integer.toString(i * 7919, 36);
+            builder.addIntent("r" + i, keywords[i]);
+        }
+        IntentMatcher matcher = builder.build("none");
+
+        String[] queries = {"tell me about kw1ep and kw0", "nothing here", "KW3D5 please", "x kw2 y"};
+        for (String query : queries) {
+            String expected = "none";
+            String lower = query.toLowerCase();
+            for (int i = 0; i < keywords.length; i++) {
+                if (lower.contains(keywords[i])) {
+                    expected = "r" + i;
+                    break;
+                }
+            }
+            assertEquals(expected, matcher.match(query), query);
+        }
+        assertEquals(2000, matcher.getIntentCount());
+    }
+
+    @Test
+    void testRejectsEmptyKeywords() {
+        assertThrows(IllegalArgumentException.class, () -> new IntentMatcher.Builder().addIntent("r"));
+        assertThrows(IllegalArgumentException.class, () -> new IntentMatcher.Builder().addIntent("r", ""));
+    }
+}
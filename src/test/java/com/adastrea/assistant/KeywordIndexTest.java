@@ -0,0 +1,61 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for KeywordIndex.
+ */
+class KeywordIndexTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("low oxygen 25", KeywordIndex.normalize("  Low OXYGEN -- 25%!"));
+        assertEquals("", KeywordIndex.normalize("?!"));
+    }
+
+    @Test
+    void testMatchesWholeWordsOnly() {
+        KeywordIndex index = new KeywordIndex(4);
+        index.put(0, "Please repair the hull.");
+
+        assertTrue(index.containsTopic("Repair"));
+        assertFalse(index.containsTopic("air"));
+        assertFalse(index.containsTopic(""));
+    }
+
+    @Test
+    void testPhraseMustAppearInOrder() {
+        KeywordIndex index = new KeywordIndex(4);
+        index.put(0, "Check the life support systems");
+        index.put(1, "Support for life is offline");
+
+        assertTrue(index.containsTopic("life support"));
+        assertTrue(index.containsTopic("support for life"));
+        assertFalse(index.containsTopic("support life"));
+    }
+
+    @Test
+    void testReplacingSlotRemovesOldWords() {
+        KeywordIndex index = new KeywordIndex(2);
+        index.put(0, "oxygen is low");
+        index.put(1, "fuel is low");
+        index.put(0, "gravity is strange");
+
+        assertFalse(index.containsTopic("oxygen"));
+        assertTrue(index.containsTopic("low"));
+        assertTrue(index.containsTopic("gravity"));
+        assertEquals(5, index.getWordCount());
+    }
+
+    @Test
+    void testClear() {
+        KeywordIndex index = new KeywordIndex(2);
+        index.put(0, "oxygen");
+        index.clear();
+
+        assertFalse(index.containsTopic("oxygen"));
+        assertEquals(0, index.getWordCount());
+    }
+}
@@ -170,4 +170,52 @@ class MittenzProfileTest {
         // Should have collected all 20 unique memories
         assertEquals(20, uniqueMemories.size(), "Should have 20 unique memory fragments");
     }
+    
+    @Test
+    void testCompanionDialoguesArePrecomputedPerSkillBand() {
+        mittenz.setRelationshipStage(RelationshipStage.COOPERATIVE);
+        mittenz.increaseSkillLevel(50);
+        List<String> capable = mittenz.getProfileCompanionDialogues();
+        
+        // Same band: the same immutable list, not a copy
+        mittenz.increaseSkillLevel(29);
+        assertSame(capable, mittenz.getProfileCompanionDialogues());
+        assertThrows(UnsupportedOperationException.class, () -> capable.add("extra"));
+        
+        // Next band: lines change
+        mittenz.increaseSkillLevel(1);
+        List<String> expert = mittenz.getProfileCompanionDialogues();
+        assertNotSame(capable, expert);
+        assertTrue(expert.contains("I've come so far from that confused girl who first woke up here."));
+        assertFalse(capable.contains("I've come so far from that confused girl who first woke up here."));
+        
+        // Profiles built from the same corpus share the tables
+        MittenzProfile other = new MittenzProfile();
+        other.setRelationshipStage(RelationshipStage.COOPERATIVE);
+        other.increaseSkillLevel(80);
+        assertSame(expert, other.getProfileCompanionDialogues());
+    }
+    
+    @Test
+    void testIndexedCompanionAccessorMatchesList() {
+        mittenz.setRelationshipStage(RelationshipStage.CURIOUS);
+        mittenz.increaseSkillLevel(25);
+        List<String> dialogues = mittenz.getProfileCompanionDialogues();
+        
+        assertEquals(dialogues.size(), mittenz.getProfileCompanionDialogueCount());
+        for (int i = 0; i < dialogues.size(); i++) {
+            assertEquals(dialogues.get(i), mittenz.getProfileCompanionDialogue(i));
+        }
+    }
+    
+    @Test
+    void testSkillBand() {
+        assertEquals(0, MittenzProfile.skillBand(0));
+        assertEquals(0, MittenzProfile.skillBand(19));
+        assertEquals(1, MittenzProfile.skillBand(20));
+        assertEquals(2, MittenzProfile.skillBand(30));
+        assertEquals(3, MittenzProfile.skillBand(79));
+        assertEquals(4, MittenzProfile.skillBand(80));
+        assertEquals(4, MittenzProfile.skillBand(100));
+    }
 }
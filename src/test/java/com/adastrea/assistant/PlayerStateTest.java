@@ -0,0 +1,94 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for PlayerState.
+ */
+class PlayerStateTest {
+
+    @Test
+    void testTypedValues() {
+        PlayerState state = new PlayerState();
+        state.set(PlayerState.OXYGEN, 42);
+        state.set(PlayerState.TEMPERATURE, -73.5);
+
+        assertEquals(42, state.getInt(PlayerState.OXYGEN, -1));
+        assertEquals(-73.5, state.getDouble(PlayerState.TEMPERATURE, 0.0), 0.0);
+        assertEquals(-1, state.getInt(PlayerState.HEALTH, -1));
+        assertFalse(state.isSet(PlayerState.HEALTH));
+    }
+
+    @Test
+    void testNamedAccessUsesTypedSlots() {
+        PlayerState state = new PlayerState();
+        state.set("oxygen", 75);
+        state.set("position", "Mars Base");
+
+        assertEquals(75, state.getInt(PlayerState.OXYGEN, -1));
+        assertEquals(75, state.get("oxygen"));
+        assertEquals("Mars Base", state.get("position"));
+        assertNull(state.get("missing"));
+    }
+
+    @Test
+    void testMismatchedNamedValueIsKeptAsObject() {
+        PlayerState state = new PlayerState();
+        state.set(PlayerState.OXYGEN, 75);
+        state.set("oxygen", "full");
+
+        assertEquals("full", state.get("oxygen"));
+        assertFalse(state.isSet(PlayerState.OXYGEN));
+
+        state.set(PlayerState.OXYGEN, 10);
+        assertEquals(10, state.get("oxygen"));
+        assertEquals(1, state.snapshot().asMap().size());
+    }
+
+    @Test
+    void testKeysAreInternedAndTyped() {
+        assertSame(PlayerState.OXYGEN, PlayerState.Key.intKey("oxygen"));
+        assertThrows(IllegalArgumentException.class, () -> PlayerState.Key.doubleKey("oxygen"));
+        assertThrows(IllegalArgumentException.class, () -> new PlayerState().set(PlayerState.TEMPERATURE, 5));
+    }
+
+    @Test
+    void testKeyRegisteredAfterStoreCreation() {
+        PlayerState state = new PlayerState();
+        PlayerState.Key radiation = PlayerState.Key.doubleKey("test_radiation_" + System.nanoTime());
+        state.set(radiation, 0.25);
+
+        assertEquals(0.25, state.getDouble(radiation, 0.0), 0.0);
+    }
+
+    @Test
+    void testSnapshotIsImmutableCopy() {
+        PlayerState state = new PlayerState();
+        state.set(PlayerState.HEALTH, 90);
+        state.set("position", "Mars Base");
+        PlayerState.Snapshot snapshot = state.snapshot();
+
+        state.set(PlayerState.HEALTH, 20);
+        state.set("position", "Europa");
+
+        assertEquals(90, snapshot.getInt(PlayerState.HEALTH, -1));
+        Map<String, Object> map = snapshot.asMap();
+        assertEquals(Map.of("health", 90, "position", "Mars Base"), map);
+        assertThrows(UnsupportedOperationException.class, () -> map.put("fuel", 1));
+    }
+
+    @Test
+    void testClear() {
+        PlayerState state = new PlayerState();
+        state.set(PlayerState.OXYGEN, 42);
+        state.set("position", "Mars Base");
+        state.clear();
+
+        assertNull(state.get("oxygen"));
+        assertTrue(state.snapshot().asMap().isEmpty());
+    }
+}
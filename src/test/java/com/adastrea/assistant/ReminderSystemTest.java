@@ -3,6 +3,10 @@ package com.adastrea.assistant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ReminderSystemTest {
@@ -46,4 +50,77 @@ class ReminderSystemTest {
         List<String> dueReminders = reminderSystem.checkDueReminders();
         assertEquals(0, dueReminders.size());
     }
+
+    @Test
+    void testDueRemindersComeOutInDeadlineOrder() {
+        AtomicLong now = new AtomicLong(Long.MAX_VALUE - 1000);
+        ReminderSystem reminders = new ReminderSystem(now::get);
+        reminders.addReminder("Third", 3000, TimeUnit.NANOSECONDS);
+        reminders.addReminder("First", 1000, TimeUnit.NANOSECONDS);
+        reminders.addReminder("Second", 1000, TimeUnit.NANOSECONDS);
+        reminders.addReminder("Later", 1, TimeUnit.HOURS);
+
+        assertTrue(reminders.checkDueReminders().isEmpty());
+
+        // Deadlines past the nanoTime wrap-around still order correctly
+        now.addAndGet(3000);
+        assertEquals(List.of("First", "Second", "Third"), reminders.checkDueReminders());
+        assertEquals(1, reminders.getReminderCount());
+        assertEquals("Later", reminders.getAllReminders().get(0).getMessage());
+    }
+
+    @Test
+    void testTimeUntilNextReminder() {
+        AtomicLong now = new AtomicLong();
+        ReminderSystem reminders = new ReminderSystem(now::get);
+        assertEquals(-1, reminders.getTimeUntilNextReminder(TimeUnit.SECONDS));
+
+        reminders.addReminder("Later", 10, TimeUnit.MINUTES);
+        reminders.addReminder("Soon", 90, TimeUnit.SECONDS);
+        assertEquals(90, reminders.getTimeUntilNextReminder(TimeUnit.SECONDS));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertEquals(0, reminders.getTimeUntilNextReminder(TimeUnit.SECONDS));
+        assertEquals(List.of("Soon"), reminders.checkDueReminders());
+        assertEquals(8, reminders.getTimeUntilNextReminder(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void testDueCallbackFiresWithoutPolling() throws InterruptedException {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+        timer.setRemoveOnCancelPolicy(true);
+        try {
+            CountDownLatch due = new CountDownLatch(1);
+            reminderSystem.setDueCallback(timer, due::countDown);
+            reminderSystem.addReminder("Later", 1, TimeUnit.HOURS);
+            reminderSystem.addReminder("Soon", 10, TimeUnit.MILLISECONDS);
+
+            assertTrue(due.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of("Soon"), reminderSystem.checkDueReminders());
+
+            // Only the hour-long timer remains armed, and clearing cancels it
+            reminderSystem.clearAllReminders();
+            assertEquals(0, timer.getQueue().size());
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAssistantSpeaksPushedReminders() throws InterruptedException {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+        try {
+            AIAssistant assistant = new AIAssistant("Test Assistant");
+            assistant.enableReminderPush(timer);
+            assistant.getReminderSystem().addReminder("Check your oxygen", 10, TimeUnit.MILLISECONDS);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (assistant.getReminderSystem().getReminderCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, assistant.getReminderSystem().getReminderCount());
+        } finally {
+            timer.shutdownNow();
+        }
+    }
 }
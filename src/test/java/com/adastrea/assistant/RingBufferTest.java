@@ -0,0 +1,85 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RingBuffer.
+ */
+class RingBufferTest {
+
+    @Test
+    void testKeepsInsertionOrderUntilFull() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.add("a");
+        buffer.add("b");
+
+        assertEquals(List.of("a", "b"), buffer);
+        assertFalse(buffer.isFull());
+        assertEquals(3, buffer.capacity());
+    }
+
+    @Test
+    void testOverwritesOldestWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        for (int i = 0; i < 7; i++) {
+            buffer.add(i);
+        }
+
+        assertTrue(buffer.isFull());
+        assertEquals(List.of(4, 5, 6), buffer);
+        assertEquals(4, (int) buffer.get(0));
+        assertEquals(6, (int) buffer.get(2));
+    }
+
+    @Test
+    void testIndexOutOfRange() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(-1));
+    }
+
+    @Test
+    void testClear() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+        buffer.clear();
+
+        assertTrue(buffer.isEmpty());
+        buffer.add("d");
+        assertEquals(List.of("d"), buffer);
+    }
+
+    @Test
+    void testIteratorFailsFastOnAdd() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+        Iterator<String> iterator = buffer.iterator();
+        buffer.add("b");
+
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void testOnlyAddAndClearModify() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+
+        assertThrows(UnsupportedOperationException.class, () -> buffer.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> buffer.set(0, "b"));
+    }
+
+    @Test
+    void testRejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(0));
+    }
+}
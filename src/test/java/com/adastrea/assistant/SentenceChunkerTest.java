@@ -0,0 +1,54 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SentenceChunker.
+ */
+class SentenceChunkerTest {
+
+    @Test
+    void testSplitsLessonIntoSentences() {
+        List<String> chunks = SentenceChunker.split(
+            "Oxygen is essential for survival in space. Monitor your oxygen meter and refill at oxygen stations.");
+
+        assertEquals(List.of("Oxygen is essential for survival in space.",
+            "Monitor your oxygen meter and refill at oxygen stations."), chunks);
+    }
+
+    @Test
+    void testSingleSentenceIsOneChunk() {
+        assertEquals(List.of("Exploration is rewarded!"), SentenceChunker.split("  Exploration is rewarded!  "));
+    }
+
+    @Test
+    void testEmptyTextHasNoChunks() {
+        assertTrue(SentenceChunker.split("   ").isEmpty());
+    }
+
+    @Test
+    void testEllipsisInsideSentenceDoesNotSplit() {
+        String memory = "I remember... my father's worried face. He was always working late in the lab.";
+
+        assertEquals(List.of("I remember... my father's worried face.", "He was always working late in the lab."),
+            SentenceChunker.split(memory));
+    }
+
+    @Test
+    void testShortSentencesAreMerged() {
+        List<String> chunks = SentenceChunker.split("Hi! I'm Mittenz. Your suit is leaking oxygen, so find a station now. Ok?");
+
+        assertEquals(List.of("Hi! I'm Mittenz. Your suit is leaking oxygen, so find a station now. Ok?"), chunks);
+    }
+
+    @Test
+    void testClosingQuotesStayWithSentence() {
+        List<String> chunks = SentenceChunker.split("He said \"never give up on her.\" And he never did, not once.", 10);
+
+        assertEquals(List.of("He said \"never give up on her.\"", "And he never did, not once."), chunks);
+    }
+}
@@ -0,0 +1,142 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SpeechScheduler priority lanes, preemption and deadlines.
+ */
+class SpeechSchedulerTest {
+
+    private ManualAudioManager audio;
+    private SpeechScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        audio = new ManualAudioManager();
+        scheduler = new SpeechScheduler(audio);
+    }
+
+    @Test
+    void testIdleSchedulerStartsLineImmediately() {
+        scheduler.submit("Hello", ContextTracker.EventSeverity.INFO);
+
+        assertEquals(List.of("Hello"), audio.started);
+        assertTrue(scheduler.isSpeaking());
+    }
+
+    @Test
+    void testLinesAreSpokenOneAtATimeByPriority() {
+        scheduler.submit("first", ContextTracker.EventSeverity.INFO);
+        scheduler.submit("chatter", ContextTracker.EventSeverity.INFO);
+        scheduler.submit("warning", ContextTracker.EventSeverity.HIGH);
+        scheduler.submit("note", ContextTracker.EventSeverity.MEDIUM);
+        assertEquals(1, audio.started.size());
+
+        audio.finishCurrent();
+        audio.finishCurrent();
+        audio.finishCurrent();
+
+        assertEquals(List.of("first", "warning", "note", "chatter"), audio.started);
+    }
+
+    @Test
+    void testCriticalPreemptsChatter() {
+        CompletableFuture<Void> inFlight = scheduler.submit("idle chat", ContextTracker.EventSeverity.INFO);
+        CompletableFuture<Void> queuedLow = scheduler.submit("nice view", ContextTracker.EventSeverity.LOW);
+        CompletableFuture<Void> queuedMedium = scheduler.submit("reminder", ContextTracker.EventSeverity.MEDIUM);
+
+        scheduler.submit("Oxygen critical!", ContextTracker.EventSeverity.CRITICAL);
+
+        assertTrue(inFlight.isCancelled());
+        assertTrue(audio.playbacks.get(0).isCancelled());
+        assertTrue(queuedLow.isCancelled());
+        assertFalse(queuedMedium.isDone());
+        assertEquals("Oxygen critical!", audio.started.get(1));
+        assertEquals(1, scheduler.getPreemptedCount());
+        assertEquals(1, scheduler.getDroppedCount());
+
+        audio.finishCurrent();
+        assertEquals("reminder", audio.started.get(2));
+    }
+
+    @Test
+    void testCriticalDoesNotCancelImportantLine() {
+        scheduler.submit("Health low", ContextTracker.EventSeverity.HIGH);
+        scheduler.submit("Oxygen critical!", ContextTracker.EventSeverity.CRITICAL);
+
+        assertEquals(List.of("Health low"), audio.started);
+        audio.finishCurrent();
+        assertEquals("Oxygen critical!", audio.started.get(1));
+    }
+
+    @Test
+    void testStaleLinesAreDropped() {
+        scheduler.submit("busy", ContextTracker.EventSeverity.MEDIUM);
+        CompletableFuture<Void> stale = scheduler.submit("old news", ContextTracker.EventSeverity.LOW, -1);
+        scheduler.submit("fresh", ContextTracker.EventSeverity.LOW);
+
+        audio.finishCurrent();
+
+        assertTrue(stale.isCancelled());
+        assertEquals(List.of("busy", "fresh"), audio.started);
+        assertEquals(1, scheduler.getDroppedCount());
+    }
+
+    @Test
+    void testSynchronousAudioManagerDrainsQueue() {
+        List<String> spoken = new ArrayList<>();
+        SpeechScheduler direct = new SpeechScheduler(new AudioManager() {
+            @Override
+            public void playVoice(String message) {
+                spoken.add(message);
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(direct.submit("line " + i, ContextTracker.EventSeverity.INFO).isDone());
+        }
+
+        assertEquals(List.of("line 0", "line 1", "line 2"), spoken);
+        assertEquals(3, direct.getSpokenCount());
+        assertFalse(direct.isSpeaking());
+    }
+
+    @Test
+    void testLaneOverflowDropsOldest() {
+        scheduler.submit("busy", ContextTracker.EventSeverity.HIGH);
+        CompletableFuture<Void> oldest = scheduler.submit("chat 0", ContextTracker.EventSeverity.INFO);
+        for (int i = 1; i <= 8; i++) {
+            scheduler.submit("chat " + i, ContextTracker.EventSeverity.INFO);
+        }
+
+        assertTrue(oldest.isCancelled());
+        assertEquals(8, scheduler.getQueuedCount());
+    }
+
+    /**
+     * Audio manager whose lines finish only when the test says so.
+     */
+    private static class ManualAudioManager extends AudioManager {
+        final List<String> started = new ArrayList<>();
+        final List<CompletableFuture<Void>> playbacks = new ArrayList<>();
+
+        @Override
+        public CompletableFuture<Void> playVoiceAsync(String message, ContextTracker.EventSeverity severity) {
+            CompletableFuture<Void> playback = new CompletableFuture<>();
+            started.add(message);
+            playbacks.add(playback);
+            return playback;
+        }
+
+        void finishCurrent() {
+            playbacks.get(playbacks.size() - 1).complete(null);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SynthesizedAudio PCM handling and WAV conversion.
+ */
+class SynthesizedAudioTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testDurationFromSampleCount() {
+        // One second of 16-bit mono at 22050 Hz
+        SynthesizedAudio audio = new SynthesizedAudio(22050, 1, 16, ByteBuffer.allocate(44100));
+        assertEquals(1000, audio.getDurationMillis());
+        assertEquals(44100, audio.getByteCount());
+    }
+
+    @Test
+    void testPcmViewsAreIndependent() {
+        SynthesizedAudio audio = new SynthesizedAudio(22050, 1, 16, samples((short) 5, (short) -5));
+
+        ByteBuffer first = audio.getPcm();
+        first.getShort();
+        assertEquals(5, audio.getPcm().getShort());
+        assertTrue(first.isReadOnly());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, first.order());
+    }
+
+    @Test
+    void testWavRoundTrip() throws IOException {
+        SynthesizedAudio audio = new SynthesizedAudio(16000, 1, 16, samples((short) 1, (short) -2, (short) 300));
+        Path file = tempDir.resolve("clip.wav");
+
+        audio.writeWav(file);
+        assertEquals(44 + 6, Files.size(file));
+
+        SynthesizedAudio read = SynthesizedAudio.readWav(file);
+        assertEquals(16000, read.getSampleRate());
+        assertEquals(1, read.getChannels());
+        assertEquals(16, read.getBitsPerSample());
+        assertEquals(audio.getPcm(), read.getPcm());
+    }
+
+    @Test
+    void testWriteLeavesNoTemporaryFiles() throws IOException {
+        new SynthesizedAudio(16000, 1, 16, samples((short) 1)).writeWav(tempDir.resolve("clip.wav"));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testRejectsNonWavData() {
+        assertThrows(IOException.class, () -> SynthesizedAudio.fromWav(ByteBuffer.wrap(new byte[64])));
+    }
+
+    private static ByteBuffer samples(short... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (short value : values) {
+            buffer.putShort(value);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,143 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded TTSExecutor.
+ */
+class TTSExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TTSExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testJobsRunOnNamedExecutorThreads() throws Exception {
+        executor = new TTSExecutor(1, 4, TTSExecutor.RejectionPolicy.ABORT, false);
+        String name = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+        assertTrue(name.startsWith("tts-executor-"));
+    }
+
+    @Test
+    void testAbortFailsJobWhenQueueIsFull() throws Exception {
+        executor = saturated(TTSExecutor.RejectionPolicy.ABORT);
+
+        CompletableFuture<String> rejected = executor.submit(() -> "late");
+
+        assertRejected(rejected);
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(1, executor.getQueueDepth());
+    }
+
+    @Test
+    void testCallerRunsExecutesOnSubmittingThread() throws Exception {
+        executor = saturated(TTSExecutor.RejectionPolicy.CALLER_RUNS);
+
+        String caller = Thread.currentThread().getName();
+        assertEquals(caller, executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS));
+        assertEquals(0, executor.getRejectedCount());
+    }
+
+    @Test
+    void testDiscardOldestFailsQueuedJob() throws Exception {
+        executor = new TTSExecutor(1, 1, TTSExecutor.RejectionPolicy.DISCARD_OLDEST, false);
+        executor.submit(this::block);
+        waitUntilActive();
+        CompletableFuture<String> oldest = executor.submit(() -> "oldest");
+
+        CompletableFuture<String> newest = executor.submit(() -> "newest");
+        assertRejected(oldest);
+
+        release.countDown();
+        assertEquals("newest", newest.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    @Test
+    void testShutdownFailsQueuedJobs() throws Exception {
+        executor = new TTSExecutor(1, 4, TTSExecutor.RejectionPolicy.ABORT, false);
+        executor.submit(this::block);
+        waitUntilActive();
+        CompletableFuture<String> queued = executor.submit(() -> "never");
+
+        executor.shutdown();
+
+        assertRejected(queued);
+        assertRejected(executor.submit(() -> "after"));
+        assertTrue(executor.isShutdown());
+    }
+
+    @Test
+    void testVirtualThreadsFallBackWhenUnavailable() throws Exception {
+        executor = new TTSExecutor(1, 4, TTSExecutor.RejectionPolicy.ABORT, true);
+        assertEquals("ok", executor.submit(() -> "ok").get(5, TimeUnit.SECONDS));
+        if (Runtime.version().feature() < 21) {
+            assertFalse(executor.isVirtualThreads());
+        }
+    }
+
+    @Test
+    void testRejectionPolicyParsing() {
+        assertEquals(TTSExecutor.RejectionPolicy.CALLER_RUNS, TTSExecutor.RejectionPolicy.fromString("caller-runs"));
+        assertEquals(TTSExecutor.RejectionPolicy.DISCARD_OLDEST, TTSExecutor.RejectionPolicy.fromString("Discard_Oldest"));
+        assertEquals(TTSExecutor.RejectionPolicy.ABORT, TTSExecutor.RejectionPolicy.fromString("bogus"));
+        assertEquals(TTSExecutor.RejectionPolicy.ABORT, TTSExecutor.RejectionPolicy.fromString(null));
+    }
+
+    @Test
+    void testConfigDefaults() {
+        AssistantConfig config = new AssistantConfig();
+        executor = new TTSExecutor(config);
+        assertEquals(2, executor.getThreadCount());
+        assertEquals(32, executor.getQueueCapacity());
+        assertEquals(TTSExecutor.RejectionPolicy.ABORT, executor.getRejectionPolicy());
+    }
+
+    /**
+     * One thread busy and one job queued, so the next submission is rejected.
+     */
+    private TTSExecutor saturated(TTSExecutor.RejectionPolicy policy) throws InterruptedException {
+        TTSExecutor saturated = new TTSExecutor(1, 1, policy, false);
+        executor = saturated;
+        saturated.submit(this::block);
+        waitUntilActive();
+        saturated.submit(this::block);
+        return saturated;
+    }
+
+    private String block() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private void waitUntilActive() throws InterruptedException {
+        for (int i = 0; i < 500 && executor.getActiveCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,97 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary framing used between Java and the TTS worker.
+ */
+class TTSProtocolTest {
+
+    @Test
+    void testSynthesizeRequestLayout() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        TTSProtocol.writeSynthesizeRequest(new DataOutputStream(bytes), "Hi ☆", "curious", "high", "hostile");
+
+        ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        assertEquals(frame.capacity() - 4, frame.getInt());
+        assertEquals(TTSProtocol.REQUEST_SYNTHESIZE, frame.get());
+        assertEquals("Hi ☆", readString(frame));
+        assertEquals("curious", readString(frame));
+        assertEquals("high", readString(frame));
+        assertEquals("hostile", readString(frame));
+        assertFalse(frame.hasRemaining());
+    }
+
+    @Test
+    void testReadReadyFrame() throws IOException {
+        TTSProtocol.Response response = TTSProtocol.readResponse(input(frame(TTSProtocol.RESPONSE_READY, new byte[0])));
+        assertEquals(TTSProtocol.RESPONSE_READY, response.getType());
+    }
+
+    @Test
+    void testReadAudioFrame() throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(12);
+        body.putInt(22050).putShort((short) 1).putShort((short) 16);
+        body.put(new byte[] {1, 0, (byte) 0xFF, 0x7F});
+
+        TTSProtocol.Response response = TTSProtocol.readResponse(input(frame(TTSProtocol.RESPONSE_AUDIO, body.array())));
+
+        SynthesizedAudio audio = response.getAudio();
+        assertEquals(22050, audio.getSampleRate());
+        assertEquals(1, audio.getChannels());
+        assertEquals(16, audio.getBitsPerSample());
+        assertEquals(4, audio.getByteCount());
+        assertEquals(1, audio.getPcm().getShort());
+        assertEquals(Short.MAX_VALUE, audio.getPcm().getShort(2));
+    }
+
+    @Test
+    void testReadErrorFrame() throws IOException {
+        byte[] message = "model exploded".getBytes(StandardCharsets.UTF_8);
+        TTSProtocol.Response response = TTSProtocol.readResponse(input(frame(TTSProtocol.RESPONSE_ERROR, message)));
+
+        assertEquals(TTSProtocol.RESPONSE_ERROR, response.getType());
+        assertEquals("model exploded", response.getErrorMessage());
+    }
+
+    @Test
+    void testRejectsOversizedFrame() {
+        byte[] bogus = ByteBuffer.allocate(4).putInt(TTSProtocol.MAX_FRAME_BYTES + 1).array();
+        assertThrows(IOException.class, () -> TTSProtocol.readResponse(input(bogus)));
+    }
+
+    @Test
+    void testRejectsUnknownFrameType() {
+        assertThrows(IOException.class, () -> TTSProtocol.readResponse(input(frame((byte) 9, new byte[0]))));
+    }
+
+    @Test
+    void testEndOfStreamIsReported() {
+        assertThrows(EOFException.class, () -> TTSProtocol.readResponse(input(new byte[0])));
+    }
+
+    private static byte[] frame(byte type, byte[] body) {
+        return ByteBuffer.allocate(5 + body.length).putInt(body.length + 1).put(type).put(body).array();
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
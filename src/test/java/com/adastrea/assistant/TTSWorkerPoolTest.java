@@ -0,0 +1,137 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for TTSWorkerPool using a stand-in worker script that speaks the
+ * same framed stdin/stdout protocol as tts_generate_human.py --server.
+ */
+class TTSWorkerPoolTest {
+
+    // Speaks the binary framing from TTSProtocol; the PCM payload is the UTF-8 text itself.
+    // "fail" is a request error, "crash" kills the worker.
+    private static final String FAKE_WORKER =
+        "import sys, struct\n" +
+        "out = sys.stdout.buffer\n" +
+        "def frame(kind, body=b''):\n" +
+        "    out.write(struct.pack('>IB', len(body) + 1, kind) + body)\n" +
+        "    out.flush()\n" +
+        "def read(n):\n" +
+        "    data = sys.stdin.buffer.read(n)\n" +
+        "    if len(data) < n:\n" +
+        "        sys.exit(0)\n" +
+        "    return data\n" +
+        "frame(0)\n" +
+        "while True:\n" +
+        "    (length,) = struct.unpack('>I', read(4))\n" +
+        "    payload = read(length)\n" +
+        "    (size,) = struct.unpack_from('>I', payload, 1)\n" +
+        "    text = payload[5:5 + size]\n" +
+        "    if text == b'crash':\n" +
+        "        sys.exit(3)\n" +
+        "    if text == b'fail':\n" +
+        "        frame(2, b'bad request')\n" +
+        "        continue\n" +
+        "    frame(1, struct.pack('>IHH', 22050, 1, 16) + text)\n";
+
+    @TempDir
+    Path tempDir;
+
+    private TTSWorkerPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(pythonAvailable(), "python3 is required for worker pool tests");
+        Path script = tempDir.resolve("fake_worker.py");
+        Files.writeString(script, FAKE_WORKER);
+        pool = new TTSWorkerPool("python3", script.toString(), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSynthesizeReturnsPcm() throws Exception {
+        SynthesizedAudio audio = pool.synthesize("Hello \"there\"\nfriend", "neutral", "normal", "cooperative");
+
+        assertEquals(22050, audio.getSampleRate());
+        assertEquals(1, audio.getChannels());
+        assertEquals(16, audio.getBitsPerSample());
+        assertEquals("Hello \"there\"\nfriend", pcmAsString(audio));
+    }
+
+    @Test
+    void testWorkerIsReusedAcrossRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            SynthesizedAudio audio = pool.synthesize("Line " + i, "neutral", "normal", "cooperative");
+            assertEquals("Line " + i, pcmAsString(audio));
+        }
+        assertEquals(0, pool.getRestartCount());
+    }
+
+    @Test
+    void testRequestErrorDoesNotRestartWorker() throws Exception {
+        TTSWorkerPool.TTSRequestException error = assertThrows(TTSWorkerPool.TTSRequestException.class, () ->
+            pool.synthesize("fail", "neutral", "normal", "cooperative"));
+        assertEquals("bad request", error.getMessage());
+
+        assertEquals("ok", pcmAsString(pool.synthesize("ok", "neutral", "normal", "cooperative")));
+        assertEquals(0, pool.getRestartCount());
+    }
+
+    @Test
+    void testCrashedWorkerIsRestarted() throws Exception {
+        assertThrows(IOException.class, () ->
+            pool.synthesize("crash", "neutral", "normal", "cooperative"));
+
+        assertEquals("ok", pcmAsString(pool.synthesize("ok", "neutral", "normal", "cooperative")));
+        assertEquals(1, pool.getRestartCount());
+    }
+
+    @Test
+    void testShutdownRejectsRequests() {
+        pool.shutdown();
+        assertThrows(IOException.class, () ->
+            pool.synthesize("late", "neutral", "normal", "cooperative"));
+    }
+
+    @Test
+    void testPoolSizeAtLeastOne() {
+        TTSWorkerPool empty = new TTSWorkerPool("python3", "missing.py", 0);
+        assertEquals(1, empty.getSize());
+        empty.shutdown();
+    }
+
+    private static String pcmAsString(SynthesizedAudio audio) {
+        ByteBuffer pcm = audio.getPcm();
+        byte[] bytes = new byte[pcm.remaining()];
+        pcm.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean pythonAvailable() {
+        try {
+            Process p = new ProcessBuilder("python3", "--version").start();
+            return p.waitFor(5, TimeUnit.SECONDS) && p.exitValue() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
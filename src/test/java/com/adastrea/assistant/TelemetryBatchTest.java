@@ -0,0 +1,104 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TelemetryBatch and the default batch handling on GameStateListener.
+ */
+class TelemetryBatchTest {
+
+    @Test
+    void testRowsAreStoredByColumn() {
+        TelemetryBatch batch = new TelemetryBatch(1, "fuel", "water");
+        batch.setResourceThreshold(0, 20.0);
+        int first = batch.addSample(7, 80, 600, 90, 21.5);
+        int second = batch.addSample(9, 25, 90, -1, Double.NaN);
+        batch.setResourceAmount(second, 0, 12.5);
+
+        assertEquals(2, batch.size());
+        assertEquals(9, batch.getPlayerId(second));
+        assertEquals(25, batch.getOxygen(second));
+        assertEquals(90, batch.getOxygenSecondsRemaining(second));
+        assertEquals(21.5, batch.getTemperature(first));
+        assertEquals(12.5, batch.getResourceAmount(second, 0));
+        assertTrue(Double.isNaN(batch.getResourceAmount(first, 1)));
+        assertEquals("water", batch.getResourceType(1));
+
+        batch.clear();
+        assertEquals(0, batch.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.getOxygen(0));
+    }
+
+    @Test
+    void testThresholdsIgnoreUnknownValues() {
+        TelemetryBatch batch = new TelemetryBatch(4, "fuel", "water");
+        batch.setResourceThreshold(0, 20.0);
+        int low = batch.addSample(1, 10, 30, 15, 160.0);
+        batch.setResourceAmount(low, 0, 5.0);
+        batch.setResourceAmount(low, 1, 0.0);
+        int unknown = batch.addSample(2, -1, 0, -1, Double.NaN);
+        int hot = batch.addSample(3, 100, 0, 100, 120.0);
+
+        assertTrue(batch.isOxygenLow(low));
+        assertTrue(batch.isHealthLow(low));
+        assertTrue(batch.isTemperatureDangerous(low));
+        assertTrue(batch.isResourceLow(low, 0));
+        // No threshold was set for water
+        assertFalse(batch.isResourceLow(low, 1));
+
+        assertFalse(batch.isOxygenLow(unknown));
+        assertFalse(batch.isHealthLow(unknown));
+        assertFalse(batch.isTemperatureExtreme(unknown));
+        assertFalse(batch.isResourceLow(unknown, 0));
+
+        assertTrue(batch.isTemperatureExtreme(hot));
+        assertFalse(batch.isTemperatureDangerous(hot));
+    }
+
+    @Test
+    void testDefaultListenerReceivesOnlyWarnings() {
+        List<String> calls = new ArrayList<>();
+        GameStateListener listener = new GameStateListener() {
+            @Override
+            public void onLowOxygen(int oxygenLevel, int timeRemaining) {
+                calls.add("oxygen " + oxygenLevel + " " + timeRemaining);
+            }
+
+            @Override
+            public void onTemperatureWarning(double temperature, boolean isDangerous) {
+                calls.add("temperature " + temperature + " " + isDangerous);
+            }
+
+            @Override
+            public void onLowResource(String resourceType, double amount, double threshold) {
+                calls.add(resourceType + " " + amount + " " + threshold);
+            }
+
+            @Override
+            public void onLowHealth(int healthLevel, String damageSource) {
+                calls.add("health " + healthLevel + " " + damageSource);
+            }
+
+            @Override public void onLocationEntered(String locationName, String locationType) { }
+            @Override public void onDiscovery(String discoveryType, String discoveryName) { }
+            @Override public void onAchievement(String achievementName, String description) { }
+            @Override public void onEmergency(String emergencyType, int severity) { }
+            @Override public void onItemCrafted(String itemName, boolean isFirstTime) { }
+            @Override public void onIdleCheck(int minutesSinceLastInteraction, String currentActivity) { }
+        };
+        TelemetryBatch batch = new TelemetryBatch(4, "fuel");
+        batch.setResourceThreshold(0, 20.0);
+        batch.addSample(1, 90, 900, 95, 20.0);
+        int row = batch.addSample(2, 12, 45, 30, -120.0);
+        batch.setResourceAmount(row, 0, 8.0);
+
+        listener.onTelemetryBatch(batch);
+
+        assertEquals(List.of("oxygen 12 45", "temperature -120.0 true", "fuel 8.0 20.0", "health 30 null"), calls);
+    }
+}
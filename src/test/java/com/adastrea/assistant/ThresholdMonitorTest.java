@@ -0,0 +1,64 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ThresholdMonitor.
+ */
+class ThresholdMonitorTest {
+
+    @Test
+    void testFallingMonitorEscalatesAndRecoversWithHysteresis() {
+        ThresholdMonitor oxygen = ThresholdMonitor.falling(30, 10, 5);
+        assertEquals(AlertLevel.NORMAL, oxygen.getLevel());
+
+        assertEquals(AlertLevel.NORMAL, oxygen.update(29));
+        assertEquals(AlertLevel.WARNING, oxygen.getLevel());
+        assertFalse(oxygen.isTransition(32));
+        assertTrue(oxygen.isTransition(9));
+
+        oxygen.update(9);
+        assertEquals(AlertLevel.CRITICAL, oxygen.getLevel());
+        assertEquals(AlertLevel.CRITICAL, oxygen.evaluate(14));
+        assertEquals(AlertLevel.WARNING, oxygen.evaluate(15));
+        // A full recovery skips straight to NORMAL
+        assertEquals(AlertLevel.NORMAL, oxygen.evaluate(35));
+    }
+
+    @Test
+    void testRisingMonitorMirrorsThresholds() {
+        ThresholdMonitor heat = ThresholdMonitor.rising(100, 150, 5);
+
+        heat.update(151);
+        assertEquals(AlertLevel.CRITICAL, heat.getLevel());
+        heat.update(146);
+        assertEquals(AlertLevel.CRITICAL, heat.getLevel());
+        heat.update(120);
+        assertEquals(AlertLevel.WARNING, heat.getLevel());
+        heat.update(96);
+        assertEquals(AlertLevel.WARNING, heat.getLevel());
+        heat.update(95);
+        assertEquals(AlertLevel.NORMAL, heat.getLevel());
+    }
+
+    @Test
+    void testUnknownReadingKeepsLevel() {
+        ThresholdMonitor cold = ThresholdMonitor.falling(-50, -100, 5);
+        cold.update(-70);
+
+        assertFalse(cold.isTransition(Double.NaN));
+        cold.update(Double.NaN);
+        assertEquals(AlertLevel.WARNING, cold.getLevel());
+        cold.reset();
+        assertEquals(AlertLevel.NORMAL, cold.getLevel());
+    }
+
+    @Test
+    void testInvalidThresholdsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ThresholdMonitor.falling(10, 30, 5));
+        assertThrows(IllegalArgumentException.class, () -> ThresholdMonitor.rising(150, 100, 5));
+        assertThrows(IllegalArgumentException.class, () -> ThresholdMonitor.falling(30, 10, -1));
+    }
+}
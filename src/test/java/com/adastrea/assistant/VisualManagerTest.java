@@ -3,6 +3,8 @@ package com.adastrea.assistant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import static org.junit.jupiter.api.Assertions.*;
 
 class VisualManagerTest {
@@ -102,11 +104,57 @@ class VisualManagerTest {
     }
 
     @Test
-    void testGetActiveNotificationsReturnsDefensiveCopy() {
+    void testGetActiveNotificationsReturnsUnmodifiableSnapshot() {
         visualManager.showNotification("Test");
         List<String> notifications = visualManager.getActiveNotifications();
-        notifications.clear();
+        assertThrows(UnsupportedOperationException.class, notifications::clear);
         // Original should still have the notification
         assertEquals(1, visualManager.getActiveNotifications().size());
+        // Reading again does not copy; a change leaves the old snapshot alone
+        assertSame(notifications, visualManager.getActiveNotifications());
+        visualManager.showNotification("Other");
+        assertEquals(List.of("Test"), notifications);
+    }
+
+    @Test
+    void testNotificationsExpireAfterSubtitleDuration() {
+        AtomicLong now = new AtomicLong();
+        VisualManager visual = new VisualManager(4, now::get);
+        visual.setSubtitleDuration(5000);
+        visual.showNotification("Oxygen low");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        visual.showNotification("Storm approaching");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(List.of("Storm approaching"), visual.getActiveNotifications());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertTrue(visual.getActiveNotifications().isEmpty());
+    }
+
+    @Test
+    void testDuplicateNotificationIsRefreshed() {
+        AtomicLong now = new AtomicLong();
+        VisualManager visual = new VisualManager(4, now::get);
+        visual.showNotification("Oxygen low");
+        visual.showNotification("Storm approaching");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        visual.showNotification("Oxygen low");
+
+        assertEquals(List.of("Storm approaching", "Oxygen low"), visual.getActiveNotifications());
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(List.of("Oxygen low"), visual.getActiveNotifications());
+    }
+
+    @Test
+    void testOldestNotificationIsDroppedWhenFull() {
+        VisualManager visual = new VisualManager(3);
+        for (int i = 1; i <= 5; i++) {
+            visual.showNotification("Notification " + i);
+        }
+
+        assertEquals(3, visual.getMaxNotifications());
+        assertEquals(List.of("Notification 3", "Notification 4", "Notification 5"),
+            visual.getActiveNotifications());
+        assertThrows(IllegalArgumentException.class, () -> new VisualManager(0));
     }
 }
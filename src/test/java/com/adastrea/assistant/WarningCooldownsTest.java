@@ -0,0 +1,69 @@
+package com.adastrea.assistant;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for WarningCooldowns.
+ */
+class WarningCooldownsTest {
+
+    @Test
+    void testWarningIsSuppressedUntilCooldownEnds() {
+        AtomicLong now = new AtomicLong(Long.MAX_VALUE - TimeUnit.SECONDS.toNanos(10));
+        WarningCooldowns cooldowns = new WarningCooldowns(now::get);
+        int oxygen = cooldowns.register("oxygen", 30, TimeUnit.SECONDS);
+
+        assertTrue(cooldowns.tryWarn(oxygen));
+        assertFalse(cooldowns.tryWarn(oxygen));
+        assertEquals(30, cooldowns.getRemaining(oxygen, TimeUnit.SECONDS));
+
+        // The cooldown ends across the nanoTime wrap-around
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        assertFalse(cooldowns.tryWarn(oxygen));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(cooldowns.tryWarn(oxygen));
+    }
+
+    @Test
+    void testTypesHaveSeparateCooldowns() {
+        AtomicLong now = new AtomicLong();
+        WarningCooldowns cooldowns = new WarningCooldowns(now::get);
+        int oxygen = cooldowns.register("oxygen", 30, TimeUnit.SECONDS);
+        int health = cooldowns.register("health", 5, TimeUnit.SECONDS);
+
+        assertTrue(cooldowns.tryWarn(oxygen));
+        assertTrue(cooldowns.tryWarn(health));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertTrue(cooldowns.tryWarn(health));
+        assertFalse(cooldowns.tryWarn(oxygen));
+
+        cooldowns.reset(oxygen);
+        assertTrue(cooldowns.tryWarn(oxygen));
+        cooldowns.resetAll();
+        assertEquals(0, cooldowns.getRemaining(oxygen, TimeUnit.NANOSECONDS));
+        assertEquals(0, cooldowns.getRemaining(health, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void testRegistrationIsByName() {
+        WarningCooldowns cooldowns = new WarningCooldowns();
+        int first = cooldowns.register("resource_water");
+        for (int i = 0; i < 20; i++) {
+            cooldowns.register("resource_" + i);
+        }
+
+        assertEquals(first, cooldowns.register("resource_water", 1, TimeUnit.MINUTES));
+        assertEquals(first, cooldowns.getId("resource_water"));
+        assertEquals("resource_water", cooldowns.getName(first));
+        assertEquals(60, cooldowns.getCooldown(first, TimeUnit.SECONDS));
+        assertEquals(21, cooldowns.getTypeCount());
+        assertEquals(-1, cooldowns.getId("radiation"));
+        assertThrows(IllegalArgumentException.class, () -> cooldowns.tryWarn(21));
+        assertThrows(IllegalArgumentException.class, () -> cooldowns.setCooldown(first, -1, TimeUnit.SECONDS));
+    }
+}